@@ -19,15 +19,10 @@
 package org.batoo.common.util;
 
 import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.Collection;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
-import java.util.Random;
-import java.util.UUID;
 
 import org.apache.commons.lang.StringUtils;
 
@@ -41,9 +36,7 @@ import com.google.common.collect.Maps;
  */
 public class BatooUtils {
 
-    private static final UUID uuid = UUID.randomUUID();
-
-    /**
+	/**
 	 * Returns the acronym of the name
 	 *
 	 * @param name
@@ -108,7 +101,7 @@ public class BatooUtils {
 		return "\t" + str.replaceAll("\n", "\n\t");
 	}
 
-    /**
+	/**
      * Load Batoo runtime properties
      *
      * @return runtime properties
@@ -223,33 +216,4 @@ public class BatooUtils {
 	public static String upper(String string) {
 		return string != null ? string.toUpperCase() : null;
 	}
-
-    public static void gaBoot(final Map<String, Object> prop){
-        new Thread(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    ga(prop);
-                } catch (Exception e) {
-                }
-            }
-        }).start();
-    }
-
-    private static int ga(final Map<String, Object> prop) throws Exception {
-        final String state = prop.get("batoojpa.state") != null ? ""+prop.get("batoojpa.state") : "boot";
-        final String version = "&av="+prop.get("batoojpa.version");
-        final String lang = "&ul="+Locale.getDefault().getLanguage();
-        final String z = "&z="+ new Random().nextInt();
-        final String ua="User-Agent: Java/"+prop.get("java.version")
-                + " (" +prop.get("os.name")
-                + " )" + "batoo/"+prop.get("batoojpa.build");
-        String payload="v=1&tid=UA-41772675-2&cid="+ uuid +"&t=appview&cd="+state+"&an=batoo-jpa"+version+lang+z;
-        String url="http://www.google-analytics.com/collect?"+payload;
-        ////////
-        URL obj = new URL(url);
-        HttpURLConnection con = (HttpURLConnection) obj.openConnection();
-        con.setRequestProperty("User-Agent", ua);
-        return con.getResponseCode();
-    }
 }
@@ -35,6 +35,24 @@ public interface BJPASettings {
 	 */
 	String DROP_ON_CLOSE = "org.batoo.jpa.dropOnClose";
 
+	/**
+	 * String value, entity manager factory or entity manager property indicating when the connection of the entity manager is released
+	 * back to the datasource, AFTER_STATEMENT | AFTER_TRANSACTION | ON_CLOSE (*).
+	 * <p>
+	 * AFTER_STATEMENT releases the connection after each query that runs outside a transaction, so that read mostly entity managers do not
+	 * hold a pooled connection between the operations. The connection is reacquired on demand, for instance by lazy loads.
+	 */
+	String CONNECTION_RELEASE_MODE = "org.batoo.jpa.connection_release_mode";
+
+	/**
+	 * Integer value, entity manager factory or entity manager property indicating the number of instances the session of an entity manager
+	 * may hold before it is flushed and its clean instances are evicted, 0 (*) disables.
+	 * <p>
+	 * Meant for bulk batch jobs that persist large numbers of entities in a single transaction so that the session and the snapshots of
+	 * the instances do not grow unbounded. The instances evicted become detached.
+	 */
+	String SESSION_HIGH_WATER_MARK = "org.batoo.jpa.session_high_water_mark";
+
 	/**
 	 * String value, indicating how the sql statements should be printed, NONE | STDOUT | STDERR.
 	 * <p>
@@ -79,6 +97,11 @@ public interface BJPASettings {
 	 */
 	Integer DEFAULT_REMOVE_BATCH_SIZE = 10;
 
+	/**
+	 * The default for {@link #QUERY_CACHE_SIZE} that is 1000.
+	 */
+	Integer DEFAULT_QUERY_CACHE_SIZE = 1000;
+
 	/**
 	 * The default for {@link #STATEMENT_CACHE_SIZE} that is 50.
 	 */
@@ -140,4 +163,36 @@ public interface BJPASettings {
 	 * Hint for the the pluggable data source
 	 */
 	String DATASOURCE_NAME = "org.batoo.jdbc.datasource.name";
+
+	/**
+	 * Boolean value, query hint or entity manager property indicating that the entities loaded by the queries are read only.
+	 * <p>
+	 * No snapshots are taken for the read only entities and their changes are not flushed.
+	 */
+	String READ_ONLY = "org.batoo.jpa.readOnly";
+
+	/**
+	 * Boolean value, query hint indicating that the results of the query should be cached.
+	 * <p>
+	 * Only the results of the queries that select basic attributes are cached.
+	 */
+	String QUERY_CACHE = "org.batoo.jpa.queryCache";
+
+	/**
+	 * The max number of query results cached, 0 disables the query cache.
+	 */
+	String QUERY_CACHE_SIZE = "org.batoo.jpa.query_cache_size";
+
+	/**
+	 * Boolean value, query hint indicating that a pessimistic lock query should skip the rows locked by other transactions.
+	 */
+	String SKIP_LOCKED = "org.batoo.jpa.skipLocked";
+
+	/**
+	 * Boolean value, query hint or entity manager property indicating that the expanded <code>IN</code> list parameters should be padded
+	 * to the next power of two by repeating their last value.
+	 * <p>
+	 * Padding caps the number of distinct SQL statements generated for the varying list sizes, improving the statement cache hit ratio.
+	 */
+	String IN_LIST_PADDING = "org.batoo.jpa.inListPadding";
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.batoo.jpa.core;
+
+import java.io.UnsupportedEncodingException;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.lang.instrument.Instrumentation;
+import java.security.ProtectionDomain;
+
+import javax.persistence.Embeddable;
+import javax.persistence.Entity;
+import javax.persistence.MappedSuperclass;
+
+import org.batoo.common.log.BLogger;
+import org.batoo.common.log.BLoggerFactory;
+import org.batoo.jpa.core.impl.instance.Weaver;
+import org.objectweb.asm.Type;
+
+/**
+ * The java agent that weaves the persistent classes in place as they are loaded.
+ * <p>
+ * The agent is enabled with <code>-javaagent:batoo-jpa.jar</code>. The classes woven at the build time by the maven plugin need not
+ * the agent.
+ * 
+ * @see Weaver
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public class BatooAgent implements ClassFileTransformer {
+
+	private static final BLogger LOG = BLoggerFactory.getLogger(BatooAgent.class);
+
+	private static final byte[][] PERSISTENT_ANNOTATIONS = new byte[][] { //
+		BatooAgent.toBytes(Entity.class), //
+		BatooAgent.toBytes(MappedSuperclass.class), //
+		BatooAgent.toBytes(Embeddable.class) };
+
+	/**
+	 * The entry point of the agent when the agent is loaded into a running VM.
+	 * 
+	 * @param agentArgs
+	 *            the agent arguments
+	 * @param instrumentation
+	 *            the instrumentation
+	 * 
+	 * @since 2.0.1
+	 */
+	public static void agentmain(String agentArgs, Instrumentation instrumentation) {
+		BatooAgent.premain(agentArgs, instrumentation);
+	}
+
+	private static boolean contains(byte[] classfileBuffer, byte[] value) {
+		final int last = classfileBuffer.length - value.length;
+
+		for (int i = 0; i <= last; i++) {
+			int j = 0;
+			while ((j < value.length) && (classfileBuffer[i + j] == value[j])) {
+				j++;
+			}
+
+			if (j == value.length) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns if the class refers to one of the persistent annotations.
+	 * <p>
+	 * The descriptors of the annotations of a class are in its constant pool, so the byte code is searched for them without parsing the
+	 * class.
+	 * 
+	 * @param classfileBuffer
+	 *            the byte code of the class
+	 * @return true if the class may be persistent, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	private static boolean isPersistent(byte[] classfileBuffer) {
+		for (final byte[] annotation : BatooAgent.PERSISTENT_ANNOTATIONS) {
+			if (BatooAgent.contains(classfileBuffer, annotation)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * The entry point of the agent when the agent is specified on the command line.
+	 * 
+	 * @param agentArgs
+	 *            the agent arguments
+	 * @param instrumentation
+	 *            the instrumentation
+	 * 
+	 * @since 2.0.1
+	 */
+	public static void premain(String agentArgs, Instrumentation instrumentation) {
+		BatooAgent.LOG.info("Batoo agent installed, persistent classes will be woven");
+
+		instrumentation.addTransformer(new BatooAgent());
+	}
+
+	private static byte[] toBytes(Class<?> annotation) {
+		try {
+			return Type.getDescriptor(annotation).getBytes("UTF-8");
+		}
+		catch (final UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain,
+		byte[] classfileBuffer) throws IllegalClassFormatException {
+		// the shape of the already loaded classes cannot be changed
+		if ((classBeingRedefined != null) || (className == null) || className.startsWith("java/") || className.startsWith("javax/")
+			|| className.startsWith("sun/")) {
+			return null;
+		}
+
+		// only the classes annotated with @Entity, @MappedSuperclass or @Embeddable are inspected
+		if (!BatooAgent.isPersistent(classfileBuffer)) {
+			return null;
+		}
+
+		try {
+			final byte[] weaved = Weaver.weave(classfileBuffer);
+			if (weaved != null) {
+				BatooAgent.LOG.debug("Weaved class {0}", className);
+			}
+
+			return weaved;
+		}
+		catch (final Throwable e) {
+			BatooAgent.LOG.debug(e, "Unable to weave class {0}, dirty tracking falls back to snapshots", className);
+
+			return null;
+		}
+	}
+}
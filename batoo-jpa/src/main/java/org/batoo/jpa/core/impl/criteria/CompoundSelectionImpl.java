@@ -145,6 +145,15 @@ public class CompoundSelectionImpl<X> extends AbstractSelection<X> implements Co
 		return this.aliases;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public List<Selection<?>> getCompoundSelectionItems() {
+		return Lists.<Selection<?>> newArrayList(this.selections);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -167,16 +176,7 @@ public class CompoundSelectionImpl<X> extends AbstractSelection<X> implements Co
 			values[i] = this.selections.get(i).handle(query, session, row);
 		}
 
-		if (this.getJavaType() == Tuple.class) {
-			return (X) new TupleImpl(this.getAliases(), this.selections, values);
-		}
-
-		try {
-			return (X) (this.constructor != null ? this.constructor.newInstance(values) : values);
-		}
-		catch (final Exception e) {
-			throw new PersistenceException("Cannot construct result object", e);
-		}
+		return this.newInstance(values);
 	}
 
 	/**
@@ -193,4 +193,27 @@ public class CompoundSelectionImpl<X> extends AbstractSelection<X> implements Co
 
 		return true;
 	}
+
+	/**
+	 * Creates the result object from the values of the selections.
+	 * 
+	 * @param values
+	 *            the values of the selections
+	 * @return the result object
+	 * 
+	 * @since 2.0.1
+	 */
+	@SuppressWarnings("unchecked")
+	public X newInstance(Object[] values) {
+		if (this.getJavaType() == Tuple.class) {
+			return (X) new TupleImpl(this.getAliases(), this.selections, values);
+		}
+
+		try {
+			return (X) (this.constructor != null ? this.constructor.newInstance(values) : values);
+		}
+		catch (final Exception e) {
+			throw new PersistenceException("Cannot construct result object", e);
+		}
+	}
 }
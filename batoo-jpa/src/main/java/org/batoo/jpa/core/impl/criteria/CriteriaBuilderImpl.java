@@ -25,6 +25,7 @@ import java.sql.Date;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -34,6 +35,7 @@ import javax.persistence.criteria.CompoundSelection;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Predicate.BooleanOperator;
 import javax.persistence.criteria.Selection;
@@ -62,6 +64,7 @@ import org.batoo.jpa.core.impl.criteria.expression.ExistsExpression;
 import org.batoo.jpa.core.impl.criteria.expression.ExpressionConverter;
 import org.batoo.jpa.core.impl.criteria.expression.FunctionExpression;
 import org.batoo.jpa.core.impl.criteria.expression.IsEmptyExpression;
+import org.batoo.jpa.core.impl.criteria.expression.KeysetExpression;
 import org.batoo.jpa.core.impl.criteria.expression.LikeExpression;
 import org.batoo.jpa.core.impl.criteria.expression.LocateExpression;
 import org.batoo.jpa.core.impl.criteria.expression.MemberOfExpression;
@@ -80,10 +83,9 @@ import org.batoo.jpa.core.impl.criteria.path.BasicPath;
 import org.batoo.jpa.core.impl.instance.EnhancedInstance;
 import org.batoo.jpa.core.impl.model.MetamodelImpl;
 import org.batoo.jpa.core.impl.model.TypeImpl;
-import org.batoo.jpa.core.impl.model.attribute.BasicAttribute;
+import org.batoo.jpa.core.impl.model.mapping.BasicMappingImpl;
 import org.batoo.jpa.jdbc.DateTimeFunctionType;
 import org.batoo.jpa.jdbc.NumericFunctionType;
-import org.batoo.jpa.jdbc.ValueConverter;
 
 /**
  * Used to construct criteria queries, compound selections, expressions, predicates, orderings.
@@ -205,13 +207,8 @@ public class CriteriaBuilderImpl implements CriteriaBuilder {
 		final AbstractExpression<Y> constExpX;
 		final AbstractExpression<Y> constExpY;
 		if (v instanceof BasicPath) {
-			final BasicAttribute<?, ?> model = ((BasicPath<?>) v).getModel();
-			final Y toJdbcX = (Y) ValueConverter.toJdbc(x, model.getJavaType(), model.getTemporalType(), model.getEnumType(), model.isLob());
-			constExpX = this.createConstant(toJdbcX, model.getJavaType());
-
-			final Y toJdbcY = (Y) ValueConverter.toJdbc(y, model.getJavaType(), model.getTemporalType(), model.getEnumType(), model.isLob());
-			constExpY = this.createConstant(toJdbcY, model.getJavaType());
-
+			constExpX = this.createJdbcConstant((BasicPath<?>) v, x);
+			constExpY = this.createJdbcConstant((BasicPath<?>) v, y);
 		}
 		else {
 			constExpX = this.createConstant(x);
@@ -373,6 +370,30 @@ public class CriteriaBuilderImpl implements CriteriaBuilder {
 		return type.getPersistenceType() == PersistenceType.BASIC ? new SimpleConstantExpression<X>(type, x) : new EntityConstantExpression<X>(type, x);
 	}
 
+	/**
+	 * Creates a constant to compare with the basic path.
+	 * <p>
+	 * The value is converted by the converter of the column of the path, so that enums, temporals and the converted attributes are
+	 * compared in their database representation.
+	 * 
+	 * @param path
+	 *            the basic path
+	 * @param value
+	 *            the value of the constant
+	 * @return the constant expression
+	 * @param <X>
+	 *            the type of the constant
+	 * 
+	 * @since 2.0.1
+	 */
+	@SuppressWarnings("unchecked")
+	private <X> AbstractExpression<X> createJdbcConstant(BasicPath<?> path, Object value) {
+		final BasicMappingImpl<?, ?> mapping = path.getMapping();
+		final X toJdbc = (X) mapping.getColumn().convertValue(null, value);
+
+		return this.createConstant(toJdbc, mapping.getAttribute().getColumnJavaType());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -508,9 +529,7 @@ public class CriteriaBuilderImpl implements CriteriaBuilder {
 
 		final AbstractExpression<Object> constExp;
 		if (x instanceof BasicPath) {
-			final BasicAttribute<?, ?> model = ((BasicPath<?>) x).getModel();
-			final Object toJdbc = ValueConverter.toJdbc(y, model.getJavaType(), model.getTemporalType(), model.getEnumType(), model.isLob());
-			constExp = this.createConstant(toJdbc, model.getJavaType());
+			constExp = this.createJdbcConstant((BasicPath<?>) x, y);
 		}
 		else {
 			constExp = this.createConstant(y);
@@ -587,9 +606,7 @@ public class CriteriaBuilderImpl implements CriteriaBuilder {
 
 		final AbstractExpression<Y> constExp;
 		if (x instanceof BasicPath) {
-			final BasicAttribute<?, ?> model = ((BasicPath<?>) x).getModel();
-			final Y toJdbc = (Y) ValueConverter.toJdbc(y, model.getJavaType(), model.getTemporalType(), model.getEnumType(), model.isLob());
-			constExp = this.createConstant(toJdbc, model.getJavaType());
+			constExp = this.createJdbcConstant((BasicPath<?>) x, y);
 		}
 		else {
 			constExp = this.createConstant(y);
@@ -620,9 +637,7 @@ public class CriteriaBuilderImpl implements CriteriaBuilder {
 
 		final AbstractExpression<Y> constExp;
 		if (x instanceof BasicPath) {
-			final BasicAttribute<?, ?> model = ((BasicPath<?>) x).getModel();
-			final Y toJdbc = (Y) ValueConverter.toJdbc(y, model.getJavaType(), model.getTemporalType(), model.getEnumType(), model.isLob());
-			constExp = this.createConstant(toJdbc, model.getJavaType());
+			constExp = this.createJdbcConstant((BasicPath<?>) x, y);
 		}
 		else {
 			constExp = this.createConstant(y);
@@ -766,6 +781,65 @@ public class CriteriaBuilderImpl implements CriteriaBuilder {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * Create a keyset predicate that restricts the rows to the ones that come after the row with the key values in the order of the
+	 * query.
+	 * <p>
+	 * Unlike the pagination by the first result, the database seeks directly to the next page using the index on the ordered expressions,
+	 * which must be unique together and not nullable.
+	 * 
+	 * @param orderList
+	 *            the order list of the query
+	 * @param values
+	 *            the values of the ordered expressions of the last row of the previous page
+	 * @return the keyset predicate
+	 * 
+	 * @since 2.0.1
+	 */
+	public PredicateImpl keyset(List<Order> orderList, Expression<?>... values) {
+		return new PredicateImpl(new KeysetExpression(orderList, values));
+	}
+
+	/**
+	 * Create a keyset predicate that restricts the rows to the ones that come after the row with the key values in the order of the
+	 * query.
+	 * 
+	 * @param orderList
+	 *            the order list of the query
+	 * @param values
+	 *            the values of the ordered expressions of the last row of the previous page
+	 * @return the keyset predicate
+	 * 
+	 * @see #keyset(List, Expression...)
+	 * 
+	 * @since 2.0.1
+	 */
+	public PredicateImpl keyset(List<Order> orderList, Object... values) {
+		if (orderList.size() != values.length) {
+			throw new IllegalArgumentException("Keyset requires a key value for each order, orders: " + orderList.size() + ", values: "
+				+ values.length);
+		}
+
+		final Expression<?>[] expressions = new Expression<?>[values.length];
+
+		for (int i = 0; i < values.length; i++) {
+			final Expression<?> x = orderList.get(i).getExpression();
+			final Object y = values[i];
+
+			if (y instanceof Expression) {
+				expressions[i] = (Expression<?>) y;
+			}
+			else if (x instanceof BasicPath) {
+				expressions[i] = this.createJdbcConstant((BasicPath<?>) x, y);
+			}
+			else {
+				expressions[i] = this.createConstant(y);
+			}
+		}
+
+		return this.keyset(orderList, expressions);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -824,9 +898,7 @@ public class CriteriaBuilderImpl implements CriteriaBuilder {
 
 		final AbstractExpression<Y> constExp;
 		if (x instanceof BasicPath) {
-			final BasicAttribute<?, ?> model = ((BasicPath<?>) x).getModel();
-			final Y toJdbc = (Y) ValueConverter.toJdbc(y, model.getJavaType(), model.getTemporalType(), model.getEnumType(), model.isLob());
-			constExp = this.createConstant(toJdbc, model.getJavaType());
+			constExp = this.createJdbcConstant((BasicPath<?>) x, y);
 		}
 		else {
 			constExp = this.createConstant(y);
@@ -857,9 +929,7 @@ public class CriteriaBuilderImpl implements CriteriaBuilder {
 
 		final AbstractExpression<Y> constExp;
 		if (x instanceof BasicPath) {
-			final BasicAttribute<?, ?> model = ((BasicPath<?>) x).getModel();
-			final Y toJdbc = (Y) ValueConverter.toJdbc(y, model.getJavaType(), model.getTemporalType(), model.getEnumType(), model.isLob());
-			constExp = this.createConstant(toJdbc, model.getJavaType());
+			constExp = this.createJdbcConstant((BasicPath<?>) x, y);
 		}
 		else {
 			constExp = this.createConstant(y);
@@ -1081,9 +1151,7 @@ public class CriteriaBuilderImpl implements CriteriaBuilder {
 
 		final AbstractExpression<Object> constExp;
 		if (x instanceof BasicPath) {
-			final BasicAttribute<?, ?> model = ((BasicPath<?>) x).getModel();
-			final Object toJdbc = ValueConverter.toJdbc(y, model.getJavaType(), model.getTemporalType(), model.getEnumType(), model.isLob());
-			constExp = this.createConstant(toJdbc, model.getJavaType());
+			constExp = this.createJdbcConstant((BasicPath<?>) x, y);
 		}
 		else {
 			constExp = this.createConstant(y);
@@ -1169,9 +1237,7 @@ public class CriteriaBuilderImpl implements CriteriaBuilder {
 
 		final AbstractExpression<Y> constExp;
 		if (x instanceof BasicPath) {
-			final BasicAttribute<?, ?> model = ((BasicPath<?>) x).getModel();
-			final Y toJdbc = (Y) ValueConverter.toJdbc(y, model.getJavaType(), model.getTemporalType(), model.getEnumType(), model.isLob());
-			constExp = this.createConstant(toJdbc, model.getJavaType());
+			constExp = this.createJdbcConstant((BasicPath<?>) x, y);
 		}
 		else {
 			constExp = this.createConstant(y);
@@ -23,6 +23,9 @@ import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Predicate;
 
 import org.apache.commons.lang.StringUtils;
+import org.batoo.jpa.core.impl.instance.ManagedInstance;
+import org.batoo.jpa.core.impl.manager.SessionImpl;
+import org.batoo.jpa.core.impl.model.EntityTypeImpl;
 import org.batoo.jpa.core.impl.model.MetamodelImpl;
 
 /**
@@ -99,6 +102,26 @@ public class CriteriaDeleteImpl<T> extends CriteriaModify<T> {
 		return false;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The row of the instance is deleted, so the instance is evicted from the session whatever its pending changes are.
+	 * 
+	 */
+	@Override
+	protected void updateInstance(QueryImpl<?> query, SessionImpl session, ManagedInstance<?> instance) {
+		session.evictDeleted(instance);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	protected void updateInstances(SessionImpl session, EntityTypeImpl<?> type) {
+		session.evictDeleted(type);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -19,18 +19,35 @@
 
 package org.batoo.jpa.core.impl.criteria;
 
+import java.sql.SQLException;
+import java.util.Set;
+
+import javax.persistence.PersistenceException;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.metamodel.EntityType;
 
 import org.apache.commons.lang.StringUtils;
+import org.batoo.common.reflect.ReflectHelper;
 import org.batoo.jpa.core.impl.criteria.expression.AbstractExpression;
+import org.batoo.jpa.core.impl.criteria.expression.BooleanExpression;
+import org.batoo.jpa.core.impl.criteria.expression.ComparisonExpression;
+import org.batoo.jpa.core.impl.criteria.expression.ComparisonExpression.Comparison;
+import org.batoo.jpa.core.impl.criteria.expression.NullExpression;
+import org.batoo.jpa.core.impl.criteria.expression.ParameterExpressionImpl;
 import org.batoo.jpa.core.impl.criteria.expression.PredicateImpl;
+import org.batoo.jpa.core.impl.criteria.expression.SimpleConstantExpression;
+import org.batoo.jpa.core.impl.criteria.path.BasicPath;
+import org.batoo.jpa.core.impl.instance.ManagedId;
+import org.batoo.jpa.core.impl.instance.ManagedInstance;
+import org.batoo.jpa.core.impl.manager.QueryCache;
+import org.batoo.jpa.core.impl.manager.SessionImpl;
 import org.batoo.jpa.core.impl.model.EntityTypeImpl;
 import org.batoo.jpa.core.impl.model.MetamodelImpl;
 
 import com.google.common.base.Joiner;
+import com.google.common.collect.Sets;
 
 /**
  * Base class for for the update and delete criterias.
@@ -154,6 +171,77 @@ public abstract class CriteriaModify<T> extends BaseQueryImpl<T> {
 		}
 	}
 
+	/**
+	 * Returns the names of the tables the query may modify, that is the tables of the root entity and its subtypes.
+	 * 
+	 * @param queryCache
+	 *            the query cache
+	 * @return the names of the tables
+	 * 
+	 * @since 2.0.1
+	 */
+	public Set<String> getModifiedTableNames(QueryCache queryCache) {
+		final Set<String> tableNames = Sets.newHashSet();
+
+		final Class<T> javaType = this.getRoot().getEntity().getJavaType();
+		for (final EntityType<?> entity : this.getMetamodel().getEntities()) {
+			if (javaType.isAssignableFrom(entity.getJavaType())) {
+				tableNames.addAll(queryCache.getTableNames((EntityTypeImpl<?>) entity));
+			}
+		}
+
+		return tableNames;
+	}
+
+	/**
+	 * Returns the id the restriction of the query restricts to.
+	 * 
+	 * @param query
+	 *            the query
+	 * @param session
+	 *            the session
+	 * @return the id if the restriction is a simple id predicate, <code>null</code> otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	private Object getRestrictedId(QueryImpl<?> query, SessionImpl session) {
+		if (!this.getRoot().getEntity().getRootType().hasSingleIdAttribute()) {
+			return null;
+		}
+
+		// unwrap the single expression of the restriction
+		Expression<Boolean> expression = this.restriction;
+		while (expression instanceof BooleanExpression) {
+			if (expression instanceof PredicateImpl) {
+				final PredicateImpl predicate = (PredicateImpl) expression;
+				if (predicate.isNegated() || (predicate.getExpressions().size() != 1)) {
+					return null;
+				}
+
+				expression = predicate.getExpressions().get(0);
+			}
+			else {
+				expression = ((BooleanExpression) expression).getInner();
+			}
+		}
+
+		if (!(expression instanceof ComparisonExpression)) {
+			return null;
+		}
+
+		final ComparisonExpression comparison = (ComparisonExpression) expression;
+		if ((comparison.getComparison() != Comparison.EQUAL) || !(comparison.getX() instanceof BasicPath)) {
+			return null;
+		}
+
+		final BasicPath<?> path = (BasicPath<?>) comparison.getX();
+		if ((path.getParentPath() != this.getRoot()) || !path.getModel().isId() || !this.isSimpleValue(comparison.getY())) {
+			return null;
+		}
+
+		return this.getValue(query, session, path, comparison.getY());
+	}
+
 	/**
 	 * Return the predicate that corresponds to the where clause restriction(s), or null if no restrictions have been specified.
 	 * 
@@ -165,6 +253,36 @@ public abstract class CriteriaModify<T> extends BaseQueryImpl<T> {
 		return this.restriction;
 	}
 
+	/**
+	 * Returns the value of the simple value expression converted to the type of the path.
+	 * 
+	 * @param query
+	 *            the query
+	 * @param session
+	 *            the session
+	 * @param path
+	 *            the path
+	 * @param expression
+	 *            the simple value expression
+	 * @return the value
+	 * 
+	 * @since 2.0.1
+	 */
+	protected Object getValue(QueryImpl<?> query, SessionImpl session, BasicPath<?> path, AbstractExpression<?> expression) {
+		try {
+			final Object value = expression.handle(query, session, null);
+			if (value instanceof Number) {
+				return ReflectHelper.convertNumber((Number) value, path.getJavaType());
+			}
+
+			return value;
+		}
+		catch (final SQLException e) {
+			// simple values do not read from the result set
+			throw new PersistenceException(e);
+		}
+	}
+
 	/**
 	 * Return the query root.
 	 * 
@@ -174,6 +292,20 @@ public abstract class CriteriaModify<T> extends BaseQueryImpl<T> {
 		return this.root;
 	}
 
+	/**
+	 * Returns if the expression is a constant, a parameter or null.
+	 * 
+	 * @param expression
+	 *            the expression
+	 * @return true if the expression is a simple value, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	protected boolean isSimpleValue(AbstractExpression<?> expression) {
+		return (expression instanceof SimpleConstantExpression) || (expression instanceof ParameterExpressionImpl)
+			|| (expression instanceof NullExpression);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -199,6 +331,61 @@ public abstract class CriteriaModify<T> extends BaseQueryImpl<T> {
 		return new SubqueryImpl<U>(this.getMetamodel(), this, type);
 	}
 
+	/**
+	 * Updates the managed instance affected by the modification.
+	 * 
+	 * @param query
+	 *            the query
+	 * @param session
+	 *            the session
+	 * @param instance
+	 *            the managed instance
+	 * 
+	 * @since 2.0.1
+	 */
+	protected abstract void updateInstance(QueryImpl<?> query, SessionImpl session, ManagedInstance<?> instance);
+
+	/**
+	 * Updates the managed instances of the type and its subtypes that may have been affected by the modification.
+	 * 
+	 * @param session
+	 *            the session
+	 * @param type
+	 *            the entity type
+	 * 
+	 * @since 2.0.1
+	 */
+	protected abstract void updateInstances(SessionImpl session, EntityTypeImpl<?> type);
+
+	/**
+	 * Brings the session in line with the modification executed in the database.
+	 * <p>
+	 * If the restriction is a simple id predicate then only the managed instance with that id is updated, otherwise all the managed
+	 * instances of the root entity and its subtypes are.
+	 * 
+	 * @param query
+	 *            the query
+	 * @param session
+	 *            the session
+	 * 
+	 * @since 2.0.1
+	 */
+	public void updateSession(QueryImpl<?> query, SessionImpl session) {
+		final EntityTypeImpl<T> entity = this.getRoot().getEntity();
+
+		final Object id = this.getRestrictedId(query, session);
+		if (id == null) {
+			this.updateInstances(session, entity);
+
+			return;
+		}
+
+		final ManagedInstance<?> instance = session.get(new ManagedId<T>(id, entity));
+		if ((instance != null) && entity.getJavaType().isAssignableFrom(instance.getType().getJavaType())) {
+			this.updateInstance(query, session, instance);
+		}
+	}
+
 	/**
 	 * Modify the query to restrict the target of the deletion according to the specified boolean expression. Replaces the previously added
 	 * restriction(s), if any.
@@ -21,18 +21,23 @@ package org.batoo.jpa.core.impl.criteria;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
 
+import javax.persistence.LockModeType;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Selection;
 
+import org.batoo.common.util.FinalWrapper;
 import org.batoo.jpa.core.impl.model.MetamodelImpl;
+import org.batoo.jpa.jdbc.adapter.JdbcAdaptor;
 
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 /**
  * Base of the {@link CriteriaQueryImpl} that performs the SQL generations.
@@ -46,6 +51,8 @@ import com.google.common.collect.Lists;
 public class CriteriaQueryImpl<T> extends AbstractCriteriaQueryImpl<T> implements CriteriaQuery<T> {
 
 	private final ArrayList<OrderImpl> orderList = Lists.newArrayList();
+	private FinalWrapper<ProjectionPlan<T>> projectionPlan;
+	private final ConcurrentMap<String, String> sqlVariants = Maps.newConcurrentMap();
 
 	/**
 	 * @param metamodel
@@ -81,6 +88,15 @@ public class CriteriaQueryImpl<T> extends AbstractCriteriaQueryImpl<T> implement
 		super(metamodel, qlString);
 	}
 
+	private String applyLock(String sql, boolean hasLock, LockModeType lockMode, Integer lockTimeout, boolean skipLocked) {
+		if (!hasLock) {
+			return sql;
+		}
+
+		// the lock is applied after the pagination as the databases expect the lock clause last
+		return this.getJdbcAdaptor().applyLock(sql, lockMode, lockTimeout, skipLocked);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -148,6 +164,81 @@ public class CriteriaQueryImpl<T> extends AbstractCriteriaQueryImpl<T> implement
 		return orderList;
 	}
 
+	/**
+	 * Returns the projection plan of the query.
+	 * 
+	 * @return the projection plan or <code>null</code> if the query does not select only basic attributes
+	 * 
+	 * @since 2.0.1
+	 */
+	public ProjectionPlan<T> getProjectionPlan() {
+		FinalWrapper<ProjectionPlan<T>> wrapper = this.projectionPlan;
+
+		if (wrapper == null) {
+			// the field aliases are assigned during the SQL generation
+			this.getSql();
+
+			synchronized (this) {
+				if (this.projectionPlan == null) {
+					this.projectionPlan = new FinalWrapper<ProjectionPlan<T>>(ProjectionPlan.create(this.getSelection()));
+				}
+
+				wrapper = this.projectionPlan;
+			}
+		}
+
+		return wrapper.value;
+	}
+
+	/**
+	 * Returns the SQL of the query with the pagination and the pessimistic lock applied.
+	 * <p>
+	 * The variants are cached by the presence of the offset and the limit and by the lock, so that the same SQL is used for every page.
+	 * The variants of the adaptors that inline the pagination values into the SQL are not cached.
+	 * 
+	 * @param startPosition
+	 *            the start position
+	 * @param maxResult
+	 *            the max results
+	 * @param lockMode
+	 *            the lock mode, may be <code>null</code>
+	 * @param lockTimeout
+	 *            the lock timeout in milliseconds or <code>null</code>
+	 * @param skipLocked
+	 *            true if the locked rows should be skipped
+	 * @return the SQL
+	 * 
+	 * @since 2.0.1
+	 */
+	public String getSql(int startPosition, int maxResult, LockModeType lockMode, Integer lockTimeout, boolean skipLocked) {
+		final boolean hasOffset = startPosition != 0;
+		final boolean hasLimit = maxResult != Integer.MAX_VALUE;
+		final boolean hasLock = (lockMode == LockModeType.PESSIMISTIC_READ) || (lockMode == LockModeType.PESSIMISTIC_WRITE)
+			|| (lockMode == LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+
+		if (!hasOffset && !hasLimit && !hasLock) {
+			return this.getSql();
+		}
+
+		final JdbcAdaptor jdbcAdaptor = this.getJdbcAdaptor();
+
+		if ((hasOffset || hasLimit) && !jdbcAdaptor.parameterizedPagination()) {
+			return this.applyLock(jdbcAdaptor.applyPagination(this.getSql(), startPosition, maxResult), hasLock, lockMode, lockTimeout, skipLocked);
+		}
+
+		final String key = hasOffset + ":" + hasLimit + (hasLock ? ":" + lockMode + ":" + lockTimeout + ":" + skipLocked : "");
+
+		String sql = this.sqlVariants.get(key);
+		if (sql == null) {
+			sql = (hasOffset || hasLimit) ? jdbcAdaptor.applyPagination(this.getSql(), startPosition, maxResult) : this.getSql();
+			sql = this.applyLock(sql, hasLock, lockMode, lockTimeout, skipLocked);
+
+			this.sqlVariants.put(key, sql);
+		}
+
+		return sql;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -26,10 +26,16 @@ import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 
+import org.apache.commons.lang.ClassUtils;
 import org.apache.commons.lang.StringUtils;
 import org.batoo.jpa.core.impl.criteria.expression.AbstractExpression;
 import org.batoo.jpa.core.impl.criteria.path.AbstractPath;
+import org.batoo.jpa.core.impl.criteria.path.BasicPath;
+import org.batoo.jpa.core.impl.instance.ManagedInstance;
+import org.batoo.jpa.core.impl.manager.SessionImpl;
+import org.batoo.jpa.core.impl.model.EntityTypeImpl;
 import org.batoo.jpa.core.impl.model.MetamodelImpl;
+import org.batoo.jpa.core.impl.model.mapping.AbstractMapping;
 
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
@@ -138,6 +144,60 @@ public class CriteriaUpdateImpl<T> extends CriteriaModify<T> {
 		return this;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If all the set items assign simple values to the basic attributes of the root then the values are applied to the instance and to
+	 * its snapshot, otherwise the instance is marked stale so that its state is reloaded when it is next fetched. An instance with pending
+	 * changes is left as is so that the changes are not overwritten before they are flushed.
+	 * 
+	 */
+	@Override
+	protected void updateInstance(QueryImpl<?> query, SessionImpl session, ManagedInstance<?> instance) {
+		if (!session.isEvictable(instance)) {
+			return;
+		}
+
+		final AbstractMapping<?, ?, ?>[] mappings = new AbstractMapping[this.updates.size()];
+		final Object[] values = new Object[this.updates.size()];
+
+		int i = 0;
+		for (final Entry<AbstractPath<?>, AbstractExpression<?>> update : this.updates.entrySet()) {
+			if (!(update.getKey() instanceof BasicPath) || !this.isSimpleValue(update.getValue())) {
+				instance.setStale(true);
+
+				return;
+			}
+
+			final BasicPath<?> path = (BasicPath<?>) update.getKey();
+			final Object value = this.getValue(query, session, path, update.getValue());
+
+			if ((path.getParentPath() != this.getRoot()) || path.getModel().isId()
+				|| !((value != null) ? ClassUtils.primitiveToWrapper(path.getJavaType()).isInstance(value) : !path.getJavaType().isPrimitive())) {
+				instance.setStale(true);
+
+				return;
+			}
+
+			mappings[i] = path.getMapping();
+			values[i++] = value;
+		}
+
+		instance.applyUpdates(mappings, values);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The managed instances are kept in the session so that their identity is preserved, but marked stale so that their state is reloaded
+	 * when they are next fetched.
+	 * 
+	 */
+	@Override
+	protected void updateInstances(SessionImpl session, EntityTypeImpl<?> type) {
+		session.markStale(type);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.impl.criteria;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.criteria.Selection;
+
+import org.batoo.jpa.core.impl.criteria.expression.ExpressionConverter;
+import org.batoo.jpa.core.impl.criteria.path.BasicPath;
+import org.batoo.jpa.jdbc.BasicColumn;
+
+/**
+ * The plan to build the results of a query that selects only basic attributes.
+ * <p>
+ * The results are built straight from the result set, without going through the session.
+ * 
+ * @param <X>
+ *            the type of the result
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public class ProjectionPlan<X> {
+
+	private static Object copy(Object value) {
+		if (value instanceof Date) {
+			return ((Date) value).clone();
+		}
+
+		if (value instanceof Calendar) {
+			return ((Calendar) value).clone();
+		}
+
+		if (value instanceof byte[]) {
+			return ((byte[]) value).clone();
+		}
+
+		if (value instanceof char[]) {
+			return ((char[]) value).clone();
+		}
+
+		if (value instanceof Object[]) {
+			return ((Object[]) value).clone();
+		}
+
+		return value;
+	}
+
+	/**
+	 * Creates the projection plan for the selection.
+	 * 
+	 * @param selection
+	 *            the selection
+	 * @param <X>
+	 *            the type of the result
+	 * @return the projection plan or <code>null</code> if the selection is not a projection of basic attributes
+	 * 
+	 * @since 2.0.1
+	 */
+	@SuppressWarnings("unchecked")
+	public static <X> ProjectionPlan<X> create(AbstractSelection<X> selection) {
+		if (selection instanceof BasicPath) {
+			return new ProjectionPlan<X>(null, new BasicPath[] { (BasicPath<?>) selection });
+		}
+
+		if (!(selection instanceof CompoundSelectionImpl)) {
+			return null;
+		}
+
+		final List<Selection<?>> items = selection.getCompoundSelectionItems();
+
+		final BasicPath<?>[] paths = new BasicPath[items.size()];
+		for (int i = 0; i < paths.length; i++) {
+			if (!(items.get(i) instanceof BasicPath)) {
+				return null;
+			}
+
+			paths[i] = (BasicPath<?>) items.get(i);
+		}
+
+		return new ProjectionPlan<X>((CompoundSelectionImpl<X>) selection, paths);
+	}
+
+	private final CompoundSelectionImpl<X> compound;
+	private final BasicPath<?>[] paths;
+	private final BasicColumn[] columns;
+	private final ExpressionConverter<?>[] converters;
+
+	private ProjectionPlan(CompoundSelectionImpl<X> compound, BasicPath<?>[] paths) {
+		super();
+
+		this.compound = compound;
+		this.paths = paths;
+
+		this.columns = new BasicColumn[paths.length];
+		this.converters = new ExpressionConverter[paths.length];
+
+		for (int i = 0; i < paths.length; i++) {
+			this.columns[i] = paths[i].getMapping().getColumn();
+			this.converters[i] = paths[i].getConverter();
+		}
+	}
+
+	/**
+	 * Creates the result from the values read by {@link #read(ResultSet, int[])}.
+	 * <p>
+	 * The rows may be shared with the query cache, so the result is built from a copy of the row and of its mutable values.
+	 * 
+	 * @param values
+	 *            the values of the row
+	 * @return the result
+	 * 
+	 * @since 2.0.1
+	 */
+	@SuppressWarnings("unchecked")
+	public X newInstance(Object[] values) {
+		if (this.compound == null) {
+			return (X) ProjectionPlan.copy(values[0]);
+		}
+
+		final Object[] copy = new Object[values.length];
+		for (int i = 0; i < values.length; i++) {
+			copy[i] = ProjectionPlan.copy(values[i]);
+		}
+
+		return this.compound.newInstance(copy);
+	}
+
+	/**
+	 * Reads the values of the current row of the result set.
+	 * 
+	 * @param row
+	 *            the result set positioned on the row
+	 * @param indexes
+	 *            the column indexes resolved by {@link #resolve(ResultSet)}
+	 * @return the values of the row
+	 * @throws SQLException
+	 *             thrown in case of an underlying SQL error
+	 * 
+	 * @since 2.0.1
+	 */
+	public Object[] read(ResultSet row, int[] indexes) throws SQLException {
+		final Object[] values = new Object[indexes.length];
+
+		for (int i = 0; i < indexes.length; i++) {
+			final Object value = this.columns[i].convertValueForSet(row.getObject(indexes[i]));
+
+			values[i] = this.converters[i] != null ? this.converters[i].convert(value) : value;
+		}
+
+		return values;
+	}
+
+	/**
+	 * Resolves the column indexes of the selected attributes in the result set.
+	 * 
+	 * @param rs
+	 *            the result set
+	 * @return the array of column indexes
+	 * @throws SQLException
+	 *             thrown in case of an underlying SQL error
+	 * 
+	 * @since 2.0.1
+	 */
+	public int[] resolve(ResultSet rs) throws SQLException {
+		final int[] indexes = new int[this.paths.length];
+
+		for (int i = 0; i < this.paths.length; i++) {
+			indexes[i] = rs.findColumn(this.paths[i].getFieldAlias());
+		}
+
+		return indexes;
+	}
+}
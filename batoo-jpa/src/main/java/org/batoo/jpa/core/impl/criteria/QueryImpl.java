@@ -50,11 +50,14 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.mutable.MutableInt;
 import org.batoo.common.log.BLogger;
 import org.batoo.common.log.BLoggerFactory;
+import org.batoo.jpa.BJPASettings;
+import org.batoo.jpa.JPASettings;
 import org.batoo.jpa.core.impl.criteria.expression.AbstractParameterExpressionImpl;
 import org.batoo.jpa.core.impl.criteria.expression.EntityConstantExpression;
 import org.batoo.jpa.core.impl.criteria.expression.ParameterExpressionImpl;
 import org.batoo.jpa.core.impl.instance.ManagedInstance;
 import org.batoo.jpa.core.impl.manager.EntityManagerImpl;
+import org.batoo.jpa.core.impl.manager.QueryCache;
 import org.batoo.jpa.core.impl.manager.SessionImpl;
 import org.batoo.jpa.core.impl.model.MetamodelImpl;
 import org.batoo.jpa.jdbc.PreparedStatementProxy;
@@ -83,6 +86,7 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 	private final EntityManagerImpl em;
 	private final BaseQuery<X> q;
 	private String sql;
+	private String executedSql;
 	private final Map<String, Object> hints = Maps.newHashMap();
 	private int startPosition = 0;
 	private int maxResult = Integer.MAX_VALUE;
@@ -94,6 +98,7 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 	private LockModeType lockMode;
 
 	private final List<Object[]> data = Lists.newArrayList();
+	private List<Object[]> rows;
 	private ResultSetMetaData md;
 	private String[] labels;
 
@@ -131,12 +136,6 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 			}
 		}
 
-		if ((this.startPosition != 0) || (this.maxResult != Integer.MAX_VALUE)) {
-			QueryImpl.LOG.debug("Rows restricted to {0} / {1}", this.startPosition, this.maxResult);
-
-			this.sql = this.q.getMetamodel().getJdbcAdaptor().applyPagination(this.sql, this.startPosition, this.maxResult);
-		}
-
 		final MetamodelImpl metamodel = this.em.getMetamodel();
 
 		final List<AbstractParameterExpressionImpl<?>> sqlParameters = this.q.getSqlParameters();
@@ -296,27 +295,27 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 			final String _sql = this.sql;
 
 			final Map<Integer, Integer> repeat = Maps.newHashMap();
+			final boolean inListPadding = this.isInListPadding();
 
 			int sqlParamNo = 0;
 			for (final Object parameter : parameters) {
 				if (parameter != null) {
 					if (parameter instanceof Collection) {
-						repeat.put(sqlParamNo, ((Collection<?>) parameter).size());
+						final int size = ((Collection<?>) parameter).size();
+						repeat.put(sqlParamNo, inListPadding ? this.getInListSize(size) : size);
 					}
-					else if (parameter.getClass().isArray()) {
-						repeat.put(sqlParamNo, ((Object[]) parameter).length);
+					else if (parameter instanceof Object[]) {
+						final int size = ((Object[]) parameter).length;
+						repeat.put(sqlParamNo, inListPadding ? this.getInListSize(size) : size);
 					}
 				}
 
 				sqlParamNo++;
 			}
 
-			if (repeat.size() > 0) {
-				statement = connection.prepareStatement(this.expandParams(_sql, repeat));
-			}
-			else {
-				statement = connection.prepareStatement(_sql);
-			}
+			this.executedSql = repeat.size() > 0 ? this.expandParams(_sql, repeat) : _sql;
+
+			statement = connection.prepareStatement(this.executedSql);
 
 			this.fillStatement(statement, parameters, repeat);
 
@@ -417,7 +416,16 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 		try {
 			this.em.assertTransaction();
 
-			return new QueryRunner(this.em.getJdbcAdaptor(), false).update(connection, this.sql, parameters);
+			final int result = new QueryRunner(this.em.getJdbcAdaptor(), false).update(connection, this.sql, parameters);
+
+			// bring the managed instances and the query cache in line with the modification
+			if (this.q instanceof CriteriaModify) {
+				this.em.getSession().addModifiedTables(
+					((CriteriaModify<?>) this.q).getModifiedTableNames(this.em.getEntityManagerFactory().getQueryCache()));
+				((CriteriaModify<?>) this.q).updateSession(this, this.em.getSession());
+			}
+
+			return result;
 		}
 		catch (final SQLException e) {
 			QueryImpl.LOG.error(e, "Query failed" + QueryImpl.LOG.lazyBoxed(this.sql, parameters));
@@ -470,7 +478,7 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 						left--;
 					}
 
-					sqlIndex += repeatCount;
+					sqlIndex++;
 				}
 				else {
 					sqlIndex++;
@@ -532,18 +540,31 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 				if (repeat.containsKey(i)) {
 					final Object paramValue = parameters[i];
 
+					int left = repeat.get(i);
+					Object lastValue = null;
+
 					if (paramValue instanceof Collection) {
 						final Collection<?> collection = (Collection<?>) paramValue;
 						for (final Object subParamValue : collection) {
 							statement.setObject(index++, subParamValue);
+							lastValue = subParamValue;
+							left--;
 						}
 					}
 					else {
 						final Object[] array = (Object[]) paramValue;
 						for (final Object subParamValue : array) {
 							statement.setObject(index++, subParamValue);
+							lastValue = subParamValue;
+							left--;
 						}
 					}
+
+					// fill the padding with the last value
+					while (left > 0) {
+						statement.setObject(index++, lastValue);
+						left--;
+					}
 				}
 				else {
 					statement.setObject(index++, parameters[i]);
@@ -579,6 +600,17 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 		return this.q;
 	}
 
+	/**
+	 * Returns the SQL of the last execution of the query, with the collection and array parameters expanded.
+	 * 
+	 * @return the SQL of the last execution of the query or <code>null</code> if the query has not been executed yet
+	 * 
+	 * @since 2.0.1
+	 */
+	public String getExecutedSql() {
+		return this.executedSql;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -588,6 +620,33 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 		return this.startPosition;
 	}
 
+	/**
+	 * Returns the projection plan of the query if the query is marked to be cached and its results can be cached.
+	 * 
+	 * @param lockMode
+	 *            the lock mode of the query
+	 * @return the projection plan or <code>null</code> if the results of the query are not cached
+	 * 
+	 * @since 2.0.1
+	 */
+	private ProjectionPlan<X> getCacheableProjectionPlan(LockModeType lockMode) {
+		final Object cache = this.hints.get(BJPASettings.QUERY_CACHE);
+		if ((cache == null) || !Boolean.valueOf(cache.toString())) {
+			return null;
+		}
+
+		if (((lockMode != null) && (lockMode != LockModeType.NONE)) || !(this.q instanceof CriteriaQueryImpl)) {
+			return null;
+		}
+
+		final ProjectionPlan<X> projectionPlan = ((CriteriaQueryImpl<X>) this.q).getProjectionPlan();
+		if (projectionPlan == null) {
+			QueryImpl.LOG.debug("Query selects entities, results will not be cached: {0}", this.q.getJpql());
+		}
+
+		return projectionPlan;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -597,6 +656,25 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 		return this.flushMode;
 	}
 
+	/**
+	 * Returns the value of the hint of the query, or if the query does not have the hint the value of the property of the entity manager.
+	 * 
+	 * @param name
+	 *            the name of the hint
+	 * @return the value of the hint or <code>null</code>
+	 * 
+	 * @since 2.0.1
+	 */
+	private Object getHintOrProperty(String name) {
+		final Object value = this.hints.get(name);
+
+		if ((value == null) && (this.em.getProperties() != null)) {
+			return this.em.getProperties().get(name);
+		}
+
+		return value;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -606,6 +684,25 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 		return Maps.newHashMap(this.hints);
 	}
 
+	/**
+	 * Returns the padded size of the <code>IN</code> list, that is the next power of two capped by the maximum <code>IN</code> list size of
+	 * the database.
+	 * 
+	 * @param size
+	 *            the actual size of the list
+	 * @return the padded size of the list
+	 * 
+	 * @since 2.0.1
+	 */
+	private int getInListSize(int size) {
+		final int maxSize = this.em.getJdbcAdaptor().getMaxInListSize();
+		if ((size <= 1) || (size >= maxSize)) {
+			return size;
+		}
+
+		return Math.min(Integer.highestOneBit(size - 1) << 1, maxSize);
+	}
+
 	/**
 	 * Returns the JPQL that representing the query.
 	 * 
@@ -626,6 +723,24 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 		return this.lockMode;
 	}
 
+	/**
+	 * Returns the pessimistic lock timeout, either by the hint of the query or by the property of the entity manager.
+	 * 
+	 * @return the lock timeout in milliseconds or <code>null</code> if there is no timeout
+	 * 
+	 * @since 2.0.1
+	 */
+	private Integer getLockTimeout() {
+		final Object lockTimeout = this.getHintOrProperty(JPASettings.LOCK_TIMEOUT);
+		if (lockTimeout == null) {
+			return null;
+		}
+
+		final int value = lockTimeout instanceof Number ? ((Number) lockTimeout).intValue() : Integer.parseInt(lockTimeout.toString());
+
+		return value >= 0 ? value : null;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -748,28 +863,73 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 	}
 
 	private List<X> getResultListImpl() {
+		final LockModeType lockMode = this.getLockMode();
+
+		if ((this.startPosition != 0) || (this.maxResult != Integer.MAX_VALUE)) {
+			QueryImpl.LOG.debug("Rows restricted to {0} / {1}", this.startPosition, this.maxResult);
+		}
+
+		this.sql = ((CriteriaQueryImpl<X>) this.q).getSql(this.startPosition, this.maxResult, lockMode, this.getLockTimeout(),
+			this.isSkipLocked());
+
+		// the cache is looked up before a connection is acquired, binding the parameters does not need the connection
+		Object[] parameters = null;
+		final ProjectionPlan<X> projectionPlan = this.getCacheableProjectionPlan(lockMode);
+		if (projectionPlan != null) {
+			parameters = this.applyParameters(null);
+
+			final List<Object[]> cachedRows = this.em.getEntityManagerFactory().getQueryCache().get(this.sql, parameters, this.em.getSession());
+			if (cachedRows != null) {
+				return this.handle(cachedRows, projectionPlan);
+			}
+		}
+
+		final boolean readOnly = this.isReadOnly();
+
 		this.em.getSession().setLoadTracker();
+		if (readOnly) {
+			this.em.getSession().setReadOnlyTracker();
+		}
 
 		final Connection connection = this.em.getConnection();
 		try {
-			final LockModeType lockMode = this.getLockMode();
-			final boolean hasLock = (lockMode == LockModeType.PESSIMISTIC_READ) || (lockMode == LockModeType.PESSIMISTIC_WRITE)
-				|| (lockMode == LockModeType.PESSIMISTIC_FORCE_INCREMENT);
-			if (hasLock) {
-				this.sql = this.em.getJdbcAdaptor().applyLock(this.sql, lockMode);
+			if (parameters == null) {
+				parameters = this.applyParameters(connection);
 			}
 
-			final Object[] parameters = this.applyParameters(connection);
+			if (projectionPlan != null) {
+				return this.getResultListCached(connection, parameters, projectionPlan);
+			}
 
 			return this.buildResultSet(connection, parameters);
 		}
 		finally {
 			this.em.getSession().releaseLoadTracker();
 
+			if (readOnly) {
+				this.em.getSession().releaseReadOnlyTracker();
+			}
+
 			this.em.closeConnectionIfNecessary();
 		}
 	}
 
+	private List<X> getResultListCached(Connection connection, Object[] parameters, ProjectionPlan<X> projectionPlan) {
+		final QueryCache queryCache = this.em.getEntityManagerFactory().getQueryCache();
+
+		final long stamp = queryCache.getStamp();
+
+		this.rows = null;
+		final List<X> resultList = this.buildResultSet(connection, parameters);
+
+		// results read after the session modified the tables may contain uncommitted changes
+		if ((this.rows != null) && !this.em.getSession().hasModifiedTables()) {
+			queryCache.put(this.sql, parameters, this.rows, stamp);
+		}
+
+		return resultList;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -811,6 +971,12 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 
 		this.results = Lists.newArrayList();
 
+		// projections of basic attributes are built straight from the resultset, SELECT DISTINCT already removes the duplicate rows
+		final ProjectionPlan<X> projectionPlan = cq.getProjectionPlan();
+		if ((projectionPlan != null) && !debug) {
+			return this.handle(rs, projectionPlan);
+		}
+
 		final SessionImpl session = this.em.getSession();
 
 		// process the resultset
@@ -825,12 +991,7 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 			}
 		}
 
-		final LockModeType lockMode = this.getLockMode();
-		if (lockMode != null) {
-			for (int i = 0; i < this.results.size(); i++) {
-				this.em.lock(session.get(this.results.get(i)), lockMode, null);
-			}
-		}
+		this.lockResults(cq, session);
 
 		if (debug) {
 			this.dumpResultSet();
@@ -839,6 +1000,51 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 		return this.results;
 	}
 
+	/**
+	 * Handles and returns the values created from the result set using the projection plan.
+	 * 
+	 * @param rs
+	 *            the result set
+	 * @param projectionPlan
+	 *            the projection plan
+	 * @return the values created from the result set
+	 * @throws SQLException
+	 *             thrown in case of an underlying SQL error
+	 * 
+	 * @since 2.0.1
+	 */
+	private List<X> handle(ResultSet rs, ProjectionPlan<X> projectionPlan) throws SQLException {
+		final int[] indexes = projectionPlan.resolve(rs);
+
+		this.rows = Lists.newArrayList();
+		while (rs.next()) {
+			this.rows.add(projectionPlan.read(rs, indexes));
+		}
+
+		return this.handle(this.rows, projectionPlan);
+	}
+
+	/**
+	 * Handles and returns the values created from the rows using the projection plan.
+	 * 
+	 * @param rows
+	 *            the rows
+	 * @param projectionPlan
+	 *            the projection plan
+	 * @return the values created from the rows
+	 * 
+	 * @since 2.0.1
+	 */
+	private List<X> handle(List<Object[]> rows, ProjectionPlan<X> projectionPlan) {
+		this.results = Lists.newArrayListWithCapacity(rows.size());
+
+		for (int i = 0; i < rows.size(); i++) {
+			this.results.add(projectionPlan.newInstance(rows.get(i)));
+		}
+
+		return this.results;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -848,6 +1054,81 @@ public class QueryImpl<X> implements TypedQuery<X>, Query {
 		return this.parameters.containsKey(param);
 	}
 
+	/**
+	 * Returns if the expanded <code>IN</code> lists should be padded, either by the hint of the query or by the property of the entity manager
+	 * or the entity manager factory.
+	 * 
+	 * @return true if the <code>IN</code> lists should be padded, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	private boolean isInListPadding() {
+		Object inListPadding = this.getHintOrProperty(BJPASettings.IN_LIST_PADDING);
+		if (inListPadding == null) {
+			inListPadding = this.em.getEntityManagerFactory().getProperty(BJPASettings.IN_LIST_PADDING);
+		}
+
+		return (inListPadding != null) && Boolean.valueOf(inListPadding.toString());
+	}
+
+	/**
+	 * Returns if the entities loaded by the query are read only, either by the hint of the query or by the property of the entity manager.
+	 * 
+	 * @return true if the query is read only, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	private boolean isReadOnly() {
+		final Object readOnly = this.getHintOrProperty(BJPASettings.READ_ONLY);
+
+		return (readOnly != null) && Boolean.valueOf(readOnly.toString());
+	}
+
+	/**
+	 * Returns if the pessimistic lock should skip the locked rows, either by the hint of the query or by the property of the entity manager.
+	 * 
+	 * @return true if the locked rows should be skipped, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	private boolean isSkipLocked() {
+		final Object skipLocked = this.getHintOrProperty(BJPASettings.SKIP_LOCKED);
+
+		return (skipLocked != null) && Boolean.valueOf(skipLocked.toString());
+	}
+
+	/**
+	 * Locks the entities returned by the query.
+	 * <p>
+	 * The pessimistic locks are already obtained by the select, so only the version updates are applied, which are deferred to the flush.
+	 * 
+	 * @param cq
+	 *            the criteria query
+	 * @param session
+	 *            the session
+	 * 
+	 * @since 2.0.1
+	 */
+	private void lockResults(CriteriaQueryImpl<X> cq, SessionImpl session) {
+		final LockModeType lockMode = this.getLockMode();
+		if ((lockMode == null) || (lockMode == LockModeType.NONE) || (lockMode == LockModeType.PESSIMISTIC_READ)
+			|| (lockMode == LockModeType.PESSIMISTIC_WRITE)) {
+			return;
+		}
+
+		// only the entity results are locked
+		if (this.em.getMetamodel().entity(cq.getResultType()) == null) {
+			return;
+		}
+
+		for (int i = 0; i < this.results.size(); i++) {
+			final X result = this.results.get(i);
+			if (result != null) {
+				this.em.lock(session.get(result), lockMode, null);
+			}
+		}
+	}
+
 	private int max(int length1, int length2) {
 		return Math.min(QueryImpl.MAX_COL_LENGTH, Math.max(length1, length2));
 	}
@@ -80,7 +80,8 @@ public class RootImpl<X> extends AbstractFrom<X, X> implements Root<X> {
 		final EntityTable primaryTable = this.entity.getRootType().getPrimaryTable();
 
 		if (query.isQuery()) {
-			return primaryTable.getQName() + " " + this.getFetchRoot().getTableAlias(query, primaryTable);
+			return primaryTable.getQName() + " " + this.getFetchRoot().getTableAlias(query, primaryTable) //
+				+ query.getJdbcAdaptor().getLockHintMarker();
 		}
 
 		return primaryTable.getQName();
@@ -20,6 +20,9 @@
 package org.batoo.jpa.core.impl.criteria.expression;
 
 import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 import javax.persistence.metamodel.Type.PersistenceType;
 
@@ -32,6 +35,10 @@ import org.batoo.jpa.core.impl.model.MetamodelImpl;
 import org.batoo.jpa.core.impl.model.TypeImpl;
 import org.batoo.jpa.core.impl.model.attribute.SingularAttributeImpl;
 import org.batoo.jpa.jdbc.AbstractColumn;
+import org.batoo.jpa.jdbc.BasicColumn;
+import org.batoo.jpa.jdbc.mapping.BasicMapping;
+
+import com.google.common.collect.Lists;
 
 /**
  * Type of criteria query parameter expressions.
@@ -44,6 +51,7 @@ import org.batoo.jpa.jdbc.AbstractColumn;
 public abstract class AbstractParameterExpressionImpl<T> extends AbstractExpression<T> {
 
 	private TypeImpl<?> type;
+	private AbstractColumn column;
 
 	/**
 	 * @param type
@@ -148,6 +156,50 @@ public abstract class AbstractParameterExpressionImpl<T> extends AbstractExpress
 		return restrictions;
 	}
 
+	private static boolean isSameRepresentation(AbstractColumn column1, AbstractColumn column2) {
+		if (column1 == column2) {
+			return true;
+		}
+
+		if (!(column1 instanceof BasicColumn) || !(column2 instanceof BasicColumn)) {
+			return false;
+		}
+
+		final BasicMapping<?, ?> mapping1 = ((BasicColumn) column1).getMapping();
+		final BasicMapping<?, ?> mapping2 = ((BasicColumn) column2).getMapping();
+
+		final Class<?> converter1 = mapping1.getConverter() != null ? mapping1.getConverter().getClass() : null;
+		final Class<?> converter2 = mapping2.getConverter() != null ? mapping2.getConverter().getClass() : null;
+
+		return (mapping1.getJavaType() == mapping2.getJavaType()) //
+			&& (mapping1.getEnumType() == mapping2.getEnumType()) //
+			&& (mapping1.getTemporalType() == mapping2.getTemporalType()) //
+			&& (mapping1.isLob() == mapping2.isLob()) //
+			&& (converter1 == converter2);
+	}
+
+	/**
+	 * Sets the column the parameter is compared with.
+	 * <p>
+	 * The basic values of the parameter are converted by the converter of the column before they are bound. A parameter is converted
+	 * once for all its uses, so it cannot be compared with columns that represent the values differently.
+	 * 
+	 * @param column
+	 *            the column
+	 * @throws IllegalArgumentException
+	 *             thrown if the parameter is already compared with a column that represents the values differently
+	 * 
+	 * @since 2.0.1
+	 */
+	public void setColumn(AbstractColumn column) {
+		if ((this.column != null) && !AbstractParameterExpressionImpl.isSameRepresentation(this.column, column)) {
+			throw new IllegalArgumentException("Parameter " + this.getAlias() + " is compared with the columns " + this.column.getName() + " and "
+				+ column.getName() + " that represent the values differently");
+		}
+
+		this.column = column;
+	}
+
 	private void setParameter(Connection connection, Object[] parameters, MutableInt sqlIndex, Object value, final EmbeddableTypeImpl<?> type) {
 		final SingularAttributeImpl<?, ?>[] attributes = type.getSingularMappings();
 
@@ -220,7 +272,7 @@ public abstract class AbstractParameterExpressionImpl<T> extends AbstractExpress
 			this.ensureTypeResolved(metamodel);
 
 			if ((this.type == null) || (this.type.getPersistenceType() == PersistenceType.BASIC)) {
-				parameters[sqlIndex.intValue()] = value;
+				parameters[sqlIndex.intValue()] = this.toJdbc(connection, value);
 
 				sqlIndex.increment();
 			}
@@ -244,4 +296,24 @@ public abstract class AbstractParameterExpressionImpl<T> extends AbstractExpress
 			}
 		}
 	}
+
+	private Object toJdbc(Connection connection, Object value) {
+		if ((this.column == null) || (value == null)) {
+			return value;
+		}
+
+		// the in lists are expanded while the statement is prepared
+		if ((value instanceof Collection) || (value instanceof Object[])) {
+			final Collection<?> values = value instanceof Collection ? (Collection<?>) value : Arrays.asList((Object[]) value);
+
+			final List<Object> converted = Lists.newArrayListWithCapacity(values.size());
+			for (final Object item : values) {
+				converted.add(this.column.convertValue(connection, item));
+			}
+
+			return converted;
+		}
+
+		return this.column.convertValue(connection, value);
+	}
 }
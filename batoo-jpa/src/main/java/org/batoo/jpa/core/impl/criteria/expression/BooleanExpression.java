@@ -95,6 +95,17 @@ public class BooleanExpression extends AbstractExpression<Boolean> {
 		return this.inner.generateSqlSelect(query, selected);
 	}
 
+	/**
+	 * Returns the inner expression.
+	 * 
+	 * @return the inner expression
+	 * 
+	 * @since 2.0.1
+	 */
+	public AbstractExpression<Boolean> getInner() {
+		return this.inner;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
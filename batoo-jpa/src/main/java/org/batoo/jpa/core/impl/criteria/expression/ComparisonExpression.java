@@ -31,7 +31,9 @@ import org.apache.commons.lang.StringUtils;
 import org.batoo.jpa.core.impl.criteria.AbstractCriteriaQueryImpl;
 import org.batoo.jpa.core.impl.criteria.BaseQueryImpl;
 import org.batoo.jpa.core.impl.criteria.QueryImpl;
+import org.batoo.jpa.core.impl.criteria.path.BasicPath;
 import org.batoo.jpa.core.impl.manager.SessionImpl;
+import org.batoo.jpa.jdbc.AbstractColumn;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.Lists;
@@ -121,6 +123,19 @@ public class ComparisonExpression extends AbstractExpression<Boolean> {
 		}
 
 		this.z = (AbstractExpression<?>) z;
+
+		// the parameters compared with a basic path are bound in the representation of its column
+		if (this.x instanceof BasicPath) {
+			final AbstractColumn column = ((BasicPath<?>) this.x).getMapping().getColumn();
+
+			if (this.y instanceof ParameterExpressionImpl) {
+				((ParameterExpressionImpl<?>) this.y).setColumn(column);
+			}
+
+			if (this.z instanceof ParameterExpressionImpl) {
+				((ParameterExpressionImpl<?>) this.z).setColumn(column);
+			}
+		}
 	}
 
 	/**
@@ -169,6 +184,17 @@ public class ComparisonExpression extends AbstractExpression<Boolean> {
 		return this.getSqlRestrictionFragments(query)[0];
 	}
 
+	/**
+	 * Returns the comparison type of the expression.
+	 * 
+	 * @return the comparison type of the expression
+	 * 
+	 * @since 2.0.1
+	 */
+	public Comparison getComparison() {
+		return this.comparison;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -193,6 +219,39 @@ public class ComparisonExpression extends AbstractExpression<Boolean> {
 		return new String[] { Joiner.on(" AND ").join(restrictions) };
 	}
 
+	/**
+	 * Returns the left side expression.
+	 * 
+	 * @return the left side expression
+	 * 
+	 * @since 2.0.1
+	 */
+	public AbstractExpression<?> getX() {
+		return this.x;
+	}
+
+	/**
+	 * Returns the first right side expression.
+	 * 
+	 * @return the first right side expression
+	 * 
+	 * @since 2.0.1
+	 */
+	public AbstractExpression<?> getY() {
+		return this.y;
+	}
+
+	/**
+	 * Returns the second right side expression.
+	 * 
+	 * @return the second right side expression or <code>null</code>
+	 * 
+	 * @since 2.0.1
+	 */
+	public AbstractExpression<?> getZ() {
+		return this.z;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
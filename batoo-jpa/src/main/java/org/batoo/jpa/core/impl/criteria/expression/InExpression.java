@@ -23,6 +23,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import javax.persistence.criteria.Expression;
 
@@ -30,6 +31,7 @@ import org.apache.commons.lang.StringUtils;
 import org.batoo.jpa.core.impl.criteria.AbstractCriteriaQueryImpl;
 import org.batoo.jpa.core.impl.criteria.BaseQueryImpl;
 import org.batoo.jpa.core.impl.criteria.QueryImpl;
+import org.batoo.jpa.core.impl.criteria.path.BasicPath;
 import org.batoo.jpa.core.impl.manager.SessionImpl;
 
 import com.google.common.base.Function;
@@ -64,7 +66,7 @@ public class InExpression extends AbstractExpression<Boolean> {
 
 		this.inner = inner;
 		for (final Expression<?> expression : values) {
-			this.values.add((AbstractExpression<?>) expression);
+			this.add((AbstractExpression<?>) expression);
 		}
 		this.not = not;
 
@@ -86,7 +88,7 @@ public class InExpression extends AbstractExpression<Boolean> {
 		this.inner = (AbstractExpression<?>) inner;
 		for (final Object value : values) {
 			if (value instanceof AbstractExpression) {
-				this.values.add((AbstractExpression<?>) value);
+				this.add((AbstractExpression<?>) value);
 			}
 			else {
 				this.values.add(new EntityConstantExpression<Object>(null, value));
@@ -105,6 +107,11 @@ public class InExpression extends AbstractExpression<Boolean> {
 	 */
 	public void add(AbstractExpression<?> expression) {
 		this.values.add(expression);
+
+		// the parameters compared with a basic path are bound in the representation of its column
+		if ((this.inner instanceof BasicPath) && (expression instanceof ParameterExpressionImpl)) {
+			((ParameterExpressionImpl<?>) expression).setColumn(((BasicPath<?>) this.inner).getMapping().getColumn());
+		}
 	}
 
 	/**
@@ -156,6 +163,17 @@ public class InExpression extends AbstractExpression<Boolean> {
 		return this.getSqlRestrictionFragments(query)[0];
 	}
 
+	/**
+	 * Returns the inner expression of the in expression.
+	 * 
+	 * @return the inner expression of the in expression
+	 * 
+	 * @since 2.0.1
+	 */
+	public AbstractExpression<?> getInner() {
+		return this.inner;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -178,6 +196,17 @@ public class InExpression extends AbstractExpression<Boolean> {
 		return new String[] { inner + " IN (" + values + ")" };
 	}
 
+	/**
+	 * Returns the values of the in expression.
+	 * 
+	 * @return the values of the in expression
+	 * 
+	 * @since 2.0.1
+	 */
+	public List<AbstractExpression<?>> getValues() {
+		return this.values;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -186,4 +215,15 @@ public class InExpression extends AbstractExpression<Boolean> {
 	public Boolean handle(QueryImpl<?> query, SessionImpl session, ResultSet row) throws SQLException {
 		return (Boolean) row.getObject(this.alias);
 	}
+
+	/**
+	 * Returns if the in expression is negated.
+	 * 
+	 * @return true if the in expression is negated, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isNot() {
+		return this.not;
+	}
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.batoo.jpa.core.impl.criteria.expression;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+
+import org.apache.commons.lang.StringUtils;
+import org.batoo.jpa.core.impl.criteria.AbstractCriteriaQueryImpl;
+import org.batoo.jpa.core.impl.criteria.BaseQueryImpl;
+import org.batoo.jpa.core.impl.criteria.QueryImpl;
+import org.batoo.jpa.core.impl.manager.SessionImpl;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+
+/**
+ * Expression for keyset predicates, that restrict the rows to the ones that come after the row with the key values in the order of the
+ * query.
+ * <p>
+ * If the orders are in the same direction and the database supports row values the predicate is generated as
+ * <code>(a, b) &gt; (?, ?)</code>, otherwise in its expanded form <code>(a &gt; ?) OR (a = ? AND b &gt; ?)</code>. The ordered expressions
+ * are expected to be unique together and not nullable.
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public class KeysetExpression extends AbstractExpression<Boolean> {
+
+	private final List<Order> orders = Lists.newArrayList();
+	private final List<AbstractExpression<?>> values = Lists.newArrayList();
+	private String alias;
+
+	/**
+	 * @param orders
+	 *            the orders of the query
+	 * @param values
+	 *            the key values of the last row
+	 * 
+	 * @since 2.0.1
+	 */
+	public KeysetExpression(List<Order> orders, Expression<?>[] values) {
+		super(Boolean.class);
+
+		if (orders.size() != values.length) {
+			throw new IllegalArgumentException("Keyset requires a key value for each order, orders: " + orders.size() + ", values: "
+				+ values.length);
+		}
+
+		this.orders.addAll(orders);
+		for (final Expression<?> value : values) {
+			this.values.add((AbstractExpression<?>) value);
+		}
+	}
+
+	private String generate(String[] keys, Iterator<String> values, boolean rowValues) {
+		if (rowValues) {
+			final String comparison = this.orders.get(0).isAscending() ? " > " : " < ";
+
+			return "(" + Joiner.on(", ").join(keys) + ")" + comparison + "(" + Joiner.on(", ").join(values) + ")";
+		}
+
+		final List<String> disjunctions = Lists.newArrayList();
+
+		for (int i = 0; i < keys.length; i++) {
+			final List<String> conjunctions = Lists.newArrayList();
+
+			for (int j = 0; j < i; j++) {
+				conjunctions.add(keys[j] + " = " + values.next());
+			}
+
+			conjunctions.add(keys[i] + (this.orders.get(i).isAscending() ? " > " : " < ") + values.next());
+
+			disjunctions.add("(" + Joiner.on(" AND ").join(conjunctions) + ")");
+		}
+
+		return "(" + Joiner.on(" OR ").join(disjunctions) + ")";
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public String generateJpqlRestriction(BaseQueryImpl<?> query) {
+		final String[] keys = new String[this.orders.size()];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = ((AbstractExpression<?>) this.orders.get(i).getExpression()).generateJpqlRestriction(query);
+		}
+
+		final List<String> values = Lists.newArrayList();
+		for (int i = 0; i < keys.length; i++) {
+			for (int j = 0; j <= i; j++) {
+				values.add(this.values.get(j).generateJpqlRestriction(query));
+			}
+		}
+
+		return this.generate(keys, values.iterator(), false).replace(" OR ", " or ").replace(" AND ", " and ");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public String generateJpqlSelect(AbstractCriteriaQueryImpl<?> query, boolean selected) {
+		if (selected && StringUtils.isNotBlank(this.getAlias())) {
+			return this.generateJpqlRestriction(query) + " as " + this.getAlias();
+		}
+
+		return this.generateJpqlRestriction(query);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public String generateSqlSelect(AbstractCriteriaQueryImpl<?> query, boolean selected) {
+		this.alias = query.getAlias(this);
+
+		if (selected) {
+			return this.getSqlRestrictionFragments(query)[0] + " AS " + this.alias;
+		}
+
+		return this.getSqlRestrictionFragments(query)[0];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public String[] getSqlRestrictionFragments(BaseQueryImpl<?> query) {
+		final String[] keys = new String[this.orders.size()];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = ((AbstractExpression<?>) this.orders.get(i).getExpression()).getSqlRestrictionFragments(query)[0];
+		}
+
+		final boolean rowValues = this.isRowValues(query);
+
+		// the parameters are registered in the order they appear in the SQL, so the expanded form repeats them
+		final List<String> values = Lists.newArrayList();
+		for (int i = 0; i < keys.length; i++) {
+			if (rowValues) {
+				values.add(this.values.get(i).getSqlRestrictionFragments(query)[0]);
+			}
+			else {
+				for (int j = 0; j <= i; j++) {
+					values.add(this.values.get(j).getSqlRestrictionFragments(query)[0]);
+				}
+			}
+		}
+
+		return new String[] { this.generate(keys, values.iterator(), rowValues) };
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public Boolean handle(QueryImpl<?> query, SessionImpl session, ResultSet row) throws SQLException {
+		return (Boolean) row.getObject(this.alias);
+	}
+
+	private boolean isRowValues(BaseQueryImpl<?> query) {
+		if ((this.orders.size() < 2) || !query.getMetamodel().getJdbcAdaptor().supportsRowValues()) {
+			return false;
+		}
+
+		final boolean ascending = this.orders.get(0).isAscending();
+		for (final Order order : this.orders) {
+			if (order.isAscending() != ascending) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
@@ -105,6 +105,17 @@ public class SimpleConstantExpression<T> extends AbstractExpression<T> {
 		}
 	}
 
+	/**
+	 * Returns the value of the constant.
+	 * 
+	 * @return the value of the constant
+	 * 
+	 * @since 2.0.1
+	 */
+	public T getValue() {
+		return this.value;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -19,10 +19,13 @@
 
 package org.batoo.jpa.core.impl.criteria.join;
 
+import java.lang.ref.WeakReference;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,21 +34,35 @@ import java.util.Set;
 
 import javax.persistence.criteria.Fetch;
 import javax.persistence.criteria.FetchParent;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate.BooleanOperator;
 import javax.persistence.metamodel.Attribute.PersistentAttributeType;
 import javax.persistence.metamodel.PluralAttribute;
 import javax.persistence.metamodel.SingularAttribute;
 import javax.persistence.metamodel.Type.PersistenceType;
 
 import org.apache.commons.lang.StringUtils;
+import org.batoo.common.log.BLogger;
+import org.batoo.common.log.BLoggerFactory;
 import org.batoo.jpa.core.impl.collections.ManagedCollection;
 import org.batoo.jpa.core.impl.criteria.AbstractCriteriaQueryImpl;
 import org.batoo.jpa.core.impl.criteria.BaseQueryImpl;
 import org.batoo.jpa.core.impl.criteria.EntryImpl;
+import org.batoo.jpa.core.impl.criteria.expression.AbstractExpression;
+import org.batoo.jpa.core.impl.criteria.expression.BooleanExpression;
+import org.batoo.jpa.core.impl.criteria.expression.ComparisonExpression;
+import org.batoo.jpa.core.impl.criteria.expression.ComparisonExpression.Comparison;
+import org.batoo.jpa.core.impl.criteria.expression.EntityTypeExpression;
+import org.batoo.jpa.core.impl.criteria.expression.InExpression;
+import org.batoo.jpa.core.impl.criteria.expression.PredicateImpl;
+import org.batoo.jpa.core.impl.criteria.expression.SimpleConstantExpression;
 import org.batoo.jpa.core.impl.criteria.join.MapJoinImpl.MapSelectType;
+import org.batoo.jpa.core.impl.criteria.path.AbstractPath;
 import org.batoo.jpa.core.impl.instance.EnhancedInstance;
 import org.batoo.jpa.core.impl.instance.ManagedId;
 import org.batoo.jpa.core.impl.instance.ManagedInstance;
+import org.batoo.jpa.core.impl.manager.EntityManagerImpl;
 import org.batoo.jpa.core.impl.manager.SessionImpl;
 import org.batoo.jpa.core.impl.model.EmbeddableTypeImpl;
 import org.batoo.jpa.core.impl.model.EntityTypeImpl;
@@ -89,6 +106,53 @@ import com.google.common.collect.Sets;
  */
 public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 
+	/**
+	 * The indexes of the fields in a result set, resolved once for the result set so that the rows are read by index rather than by label.
+	 * <p>
+	 * The plan is immutable so that a plan published by a concurrent execution of the query is either complete or replaced.
+	 */
+	private static class RowPlan {
+
+		private final WeakReference<ResultSet> row;
+		private final int[] fieldIndexes;
+		private final int idIndex;
+		private final int discriminatorIndex;
+
+		public RowPlan(ResultSet row, String[] fields, String idField, String discriminatorAlias) throws SQLException {
+			super();
+
+			this.row = new WeakReference<ResultSet>(row);
+
+			this.fieldIndexes = new int[fields.length];
+			for (int i = 0; i < fields.length; i++) {
+				this.fieldIndexes[i] = row.findColumn(fields[i]);
+			}
+
+			this.idIndex = idField != null ? row.findColumn(idField) : 0;
+			this.discriminatorIndex = discriminatorAlias != null ? row.findColumn(discriminatorAlias) : 0;
+		}
+	}
+
+	/**
+	 * The singular join with the id fields of the associate translated to the join fields.
+	 */
+	private static class SingularJoin {
+
+		private final SingularAssociationMappingImpl<?, ?> mapping;
+		private final HashMap<AbstractColumn, String> idFields;
+		private final FetchImpl<?, ?> fetch;
+
+		public SingularJoin(SingularAssociationMappingImpl<?, ?> mapping, HashMap<AbstractColumn, String> idFields, FetchImpl<?, ?> fetch) {
+			super();
+
+			this.mapping = mapping;
+			this.idFields = idFields;
+			this.fetch = fetch;
+		}
+	}
+
+	private static final BLogger LOG = BLoggerFactory.getLogger(FetchParentImpl.class);
+
 	private final EntityTypeImpl<X> entity;
 	private final TypeImpl<X> type;
 	private JoinedMapping<? super Z, ?, X> mapping;
@@ -111,6 +175,12 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 	private String keyColumnAlias;
 	private AbstractColumn keyColumn;
 
+	private String idField;
+	private SingularJoin[] singularJoinPlans;
+	private FetchImpl<X, ?>[] fetchPlans;
+	private RowPlan rowPlan;
+	private boolean lobLocators;
+
 	/**
 	 * @param entity
 	 *            the entity
@@ -145,6 +215,28 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 		}
 	}
 
+	/**
+	 * Warns once per entity manager if the lob locators are read outside of a transaction while the driver does not keep them readable after
+	 * the transaction.
+	 * 
+	 * @param session
+	 *            the session
+	 * 
+	 * @since 2.0.1
+	 */
+	private void checkLobLocators(SessionImpl session) {
+		final EntityManagerImpl entityManager = session.getEntityManager();
+		if (entityManager.hasActiveTransaction() || entityManager.getJdbcAdaptor().isLobLocatorValidOutsideTransaction()) {
+			return;
+		}
+
+		// the fetch parent is shared by the cached queries, the warning is kept per entity manager
+		if (entityManager.markLobLocatorsWarned()) {
+			FetchParentImpl.LOG.warn("Lob attributes of {0} are read outside of a transaction, the lob locators of {1} may not be readable",
+				this.entity.getName(), entityManager.getJdbcAdaptor().getClass().getSimpleName());
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -358,6 +450,7 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 	 * 
 	 * @since 2.0.0
 	 */
+	@SuppressWarnings("unchecked")
 	public String generateSqlSelect(AbstractCriteriaQueryImpl<?> query, boolean selected, boolean root, MapSelectType selectType) {
 		final List<String> selects = Lists.newArrayList();
 
@@ -373,6 +466,8 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 			}
 		}
 
+		this.fetchPlans = this.fetches.values().toArray(new FetchImpl[this.fetches.size()]);
+
 		return Joiner.on(",\n").join(selects);
 	}
 
@@ -458,6 +553,10 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 				this.singularJoins.add(_mapping);
 				this.joinFields.put(column, fieldAlias);
 			}
+			else if ((column.getMapping() instanceof BasicMappingImpl) && ((BasicMappingImpl<?, ?>) column.getMapping()).isLazy()) {
+				// lazy columns are loaded on the first access to the instance
+				continue;
+			}
 			else {
 				fieldAlias = tableAlias + "_F" + query.getFieldAlias(tableAlias, column);
 
@@ -490,8 +589,13 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 		final Map<AbstractColumn, String> fieldMap = Maps.newHashMap();
 
 		if (this.entity != null) {
+			final Set<EntityTable> restrictedTables = this.getRestrictedTables(query);
+
 			for (final EntityTable table : this.entity.getAllTables()) {
-				this.generateSqlSelectForEntityTable(query, selected, root, selects, fieldMap, table);
+				// skip the tables of the types the query cannot return
+				if ((restrictedTables == null) || restrictedTables.contains(table)) {
+					this.generateSqlSelectForEntityTable(query, selected, root, selects, fieldMap, table);
+				}
 			}
 
 			for (final SingularAssociationMappingImpl<?, ?> associationMapping : this.entity.getAssociationsSingular()) {
@@ -507,13 +611,18 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 		this.columns = new AbstractColumn[fieldMap.size()];
 		this.fields = new String[fieldMap.size()];
 
+		this.lobLocators = false;
+
 		int i = 0;
 		for (final Entry<AbstractColumn, String> entry : fieldMap.entrySet()) {
 			this.columns[i] = entry.getKey();
 			this.fields[i] = entry.getValue();
+			this.lobLocators |= this.columns[i].isLobLocator();
 			i++;
 		}
 
+		this.prepareRowPlans();
+
 		return Joiner.on(",\n\t").join(selects);
 	}
 
@@ -534,42 +643,6 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 		return this.alias;
 	}
 
-	/**
-	 * creates a managed Id using joinColumns instead of Id Columns
-	 * 
-	 * @param session
-	 * @param row
-	 *            Sql result row
-	 * @param mapping
-	 *            the singular mapping
-	 * @return managedId
-	 * 
-	 * @throws SQLException
-	 * @since 2.0.1
-	 */
-	private ManagedId<?> getAssociatedId(SessionImpl session, ResultSet row, SingularAssociationMappingImpl<?, ?> mapping) throws SQLException {
-		final HashMap<AbstractColumn, String> translatedIdFields = Maps.newHashMap();
-		for (final JoinColumn joinColumn : mapping.getForeignKey().getJoinColumns()) {
-
-			String field = null;
-
-			if (!joinColumn.isVirtual()) {
-				field = this.joinFields.get(joinColumn);
-			}
-			else {
-				final AbstractColumn masterColumn = joinColumn.getMasterColumn();
-				for (int i = 0; i < this.columns.length; i++) {
-					if (this.columns[i] == masterColumn) {
-						field = this.fields[i];
-						break;
-					}
-				}
-			}
-			translatedIdFields.put(joinColumn.getReferencedColumn(), field);
-		}
-		return mapping.getType().getId(session, row, translatedIdFields);
-	}
-
 	/**
 	 * 
 	 * @return the discriminatorAlias
@@ -616,14 +689,31 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 	 */
 	@SuppressWarnings("unchecked")
 	private <Y extends X> ManagedInstance<Y> getInstance(SessionImpl session, ResultSet row) throws SQLException {
-		// get the id of for the instance
-		final ManagedId<X> managedId = this.entity.getId(session, row, this.idFields);
-		if (managedId == null) {
-			return null;
+		final RowPlan rowPlan = this.getRowPlan(row);
+
+		final ManagedId<X> managedId;
+		ManagedInstance<Y> instance;
+
+		// single basic ids are read by index and looked up without allocating a managed id
+		if (rowPlan.idIndex > 0) {
+			final Object id = row.getObject(rowPlan.idIndex);
+			if (id == null) {
+				return null;
+			}
+
+			instance = session.get(this.entity, id);
+			managedId = instance == null ? new ManagedId<X>(id, this.entity) : null;
 		}
+		else {
+			// get the id of for the instance
+			managedId = this.entity.getId(session, row, this.idFields);
+			if (managedId == null) {
+				return null;
+			}
 
-		// look for it in the session
-		ManagedInstance<Y> instance = session.get(managedId);
+			// look for it in the session
+			instance = session.get(managedId);
+		}
 
 		// if found then return it
 		if (instance != null) {
@@ -651,7 +741,7 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 		}
 		// inheritance is in place then locate the correct child type
 		else {
-			final String discriminatorValue = row.getObject(this.discriminatorAlias).toString();
+			final String discriminatorValue = row.getObject(rowPlan.discriminatorIndex).toString();
 
 			// check if we have a legal discriminator value
 			final EntityTypeImpl<Y> effectiveType = (EntityTypeImpl<Y>) this.entity.getChildType(discriminatorValue);
@@ -713,6 +803,123 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 		return this.primaryTableAlias;
 	}
 
+	/**
+	 * Returns the tables of the types the restriction of the query limits the fetch to.
+	 * <p>
+	 * The types are resolved from the <code>TYPE()</code> predicates of the top level conjunction of the restriction.
+	 * 
+	 * @param query
+	 *            the query
+	 * @return the set of tables or <code>null</code> if the query does not limit the types of the fetch
+	 * 
+	 * @since 2.0.1
+	 */
+	private Set<EntityTable> getRestrictedTables(AbstractCriteriaQueryImpl<?> query) {
+		if ((this.entity.getRootType().getInheritanceType() == null) || (query.getRestriction() == null)) {
+			return null;
+		}
+
+		final Set<EntityTypeImpl<?>> types = this.getRestrictedTypes(query.getRestriction());
+		if ((types == null) || types.isEmpty()) {
+			return null;
+		}
+
+		final Set<EntityTable> tables = Sets.newHashSet();
+		for (final EntityTypeImpl<?> type : types) {
+			tables.addAll(Arrays.asList(type.getTables()));
+		}
+
+		return tables;
+	}
+
+	private Set<EntityTypeImpl<?>> getRestrictedTypes(Expression<?> expression) {
+		if (expression instanceof PredicateImpl) {
+			final PredicateImpl predicate = (PredicateImpl) expression;
+			if (predicate.isNegated() || (predicate.getOperator() != BooleanOperator.AND)) {
+				return null;
+			}
+
+			Set<EntityTypeImpl<?>> types = null;
+			for (final Expression<Boolean> child : predicate.getExpressions()) {
+				final Set<EntityTypeImpl<?>> childTypes = this.getRestrictedTypes(child);
+				if (childTypes == null) {
+					continue;
+				}
+
+				if (types == null) {
+					types = childTypes;
+				}
+				else {
+					types.retainAll(childTypes);
+				}
+			}
+
+			return types;
+		}
+
+		if (expression instanceof BooleanExpression) {
+			return this.getRestrictedTypes(((BooleanExpression) expression).getInner());
+		}
+
+		if (expression instanceof ComparisonExpression) {
+			final ComparisonExpression comparison = (ComparisonExpression) expression;
+			if (comparison.getComparison() != Comparison.EQUAL) {
+				return null;
+			}
+
+			if (this.isTypeOf(comparison.getX())) {
+				return this.getRestrictedTypes(Collections.<AbstractExpression<?>> singletonList(comparison.getY()));
+			}
+
+			if (this.isTypeOf(comparison.getY())) {
+				return this.getRestrictedTypes(Collections.<AbstractExpression<?>> singletonList(comparison.getX()));
+			}
+
+			return null;
+		}
+
+		if (expression instanceof InExpression) {
+			final InExpression in = (InExpression) expression;
+			if (!in.isNot() && this.isTypeOf(in.getInner())) {
+				return this.getRestrictedTypes(in.getValues());
+			}
+		}
+
+		return null;
+	}
+
+	private Set<EntityTypeImpl<?>> getRestrictedTypes(List<AbstractExpression<?>> discriminators) {
+		final Set<EntityTypeImpl<?>> types = Sets.newHashSet();
+
+		for (final AbstractExpression<?> discriminator : discriminators) {
+			// only the literal types can be resolved at compile time
+			if (!(discriminator instanceof SimpleConstantExpression)) {
+				return null;
+			}
+
+			final Object value = ((SimpleConstantExpression<?>) discriminator).getValue();
+			final EntityTypeImpl<?> type = value != null ? this.entity.getRootType().getChildType(value.toString()) : null;
+			if ((type == null) || !this.entity.getJavaType().isAssignableFrom(type.getJavaType())) {
+				return null;
+			}
+
+			types.add(type);
+		}
+
+		return types;
+	}
+
+	private RowPlan getRowPlan(ResultSet row) throws SQLException {
+		final RowPlan _rowPlan = this.rowPlan;
+		if ((_rowPlan != null) && (_rowPlan.row.get() == row)) {
+			return _rowPlan;
+		}
+
+		final String discriminatorField = (this.entity != null) && (this.entity.getInheritanceType() != null) ? this.discriminatorAlias : null;
+
+		return this.rowPlan = new RowPlan(row, this.fields, this.idField, discriminatorField);
+	}
+
 	/**
 	 * Returns the SQL restriction in pairs of table alias and column.
 	 * 
@@ -790,9 +997,10 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 	 * 
 	 * @since 2.0.0
 	 */
-	@SuppressWarnings("unchecked")
 	public X handle(SessionImpl session, ResultSet row) throws SQLException {
-		return (X) this.handle(session, row, MapSelectType.VALUE).getValue().getInstance();
+		final ManagedInstance<? extends X> instance = this.handleInstance(session, row);
+
+		return instance != null ? instance.getInstance() : null;
 	}
 
 	/**
@@ -848,16 +1056,18 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 
 	@SuppressWarnings({ "unchecked" })
 	private X handleElement(ResultSet row) throws SQLException {
+		final int[] fieldIndexes = this.getRowPlan(row).fieldIndexes;
+
 		if (this.type.getPersistenceType() == PersistenceType.BASIC) {
 			if (this.type.getJavaType().isEnum() && this.columns.length == 1) {
-				return (X) this.columns[0].convertValueForSet(row.getObject(this.fields[0]));
+				return (X) this.columns[0].convertValueForSet(row.getObject(fieldIndexes[0]));
 			}
-			return (X) row.getObject(this.fields[0]);
+			return (X) row.getObject(fieldIndexes[0]);
 		}
 
 		final X instance = ((EmbeddableTypeImpl<X>) this.type).newInstance();
-		for (int i = 0; i < this.fields.length; i++) {
-			this.columns[i].setValue(instance, row.getObject(this.fields[i]));
+		for (int i = 0; i < fieldIndexes.length; i++) {
+			this.columns[i].setValue(instance, row.getObject(fieldIndexes[i]));
 		}
 
 		return instance;
@@ -946,21 +1156,11 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 	 */
 	public EntryImpl<Object, ManagedInstance<?>> handleFetch(SessionImpl session, ResultSet row, MapSelectType selectType) throws SQLException {
 		// if instance is null then break
-		final ManagedInstance<? extends X> instance = this.getInstance(session, row);
+		final ManagedInstance<? extends X> instance = this.handleInstance(session, row);
 		if (instance == null) {
 			return null;
 		}
 
-		// if instance is refreshing then re-initialize instance
-		if (instance.isRefreshing()) {
-			this.initializeInstance(session, row, instance);
-		}
-
-		// if the instance is loading then continue processing
-		if (instance.isLoading()) {
-			this.handleFetches(session, row, instance.getInstance());
-		}
-
 		if ((selectType == MapSelectType.VALUE) || (this.mapping == null) || !this.mapping.isMap()) {
 			return new EntryImpl<Object, ManagedInstance<?>>(null, instance);
 		}
@@ -975,7 +1175,7 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 	}
 
 	void handleFetches(SessionImpl session, final ResultSet row, Object instance) throws SQLException {
-		for (final FetchImpl<X, ?> fetch : this.fetches.values()) {
+		for (final FetchImpl<X, ?> fetch : this.fetchPlans) {
 			final MappingType mappingType = fetch.getMapping().getMappingType();
 
 			switch (mappingType) {
@@ -991,6 +1191,33 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 		}
 	}
 
+	private ManagedInstance<? extends X> handleInstance(SessionImpl session, ResultSet row) throws SQLException {
+		final ManagedInstance<? extends X> instance = this.getInstance(session, row);
+		if (instance == null) {
+			return null;
+		}
+
+		// if instance is refreshing then re-initialize instance
+		if (instance.isRefreshing()) {
+			this.initializeInstance(session, row, instance);
+		}
+		// if the row has been changed by a bulk update then reload the state of the instance
+		else if (instance.isStale()) {
+			instance.setStale(false);
+
+			this.initializeColumns(session, row, instance);
+
+			instance.reset();
+		}
+
+		// if the instance is loading then continue processing
+		if (instance.isLoading()) {
+			this.handleFetches(session, row, instance.getInstance());
+		}
+
+		return instance;
+	}
+
 	/**
 	 * Returns if the join should be ignored
 	 * 
@@ -1016,17 +1243,23 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 		return false;
 	}
 
-	private void initializeInstance(SessionImpl session, ResultSet row, ManagedInstance<? extends X> managedInstance) throws SQLException {
-		managedInstance.setLoading(true);
-
+	private void initializeColumns(SessionImpl session, ResultSet row, ManagedInstance<? extends X> managedInstance) throws SQLException {
 		final X instance = managedInstance.getInstance();
 
-		for (int i = 0; i < this.fields.length; i++) {
-			this.columns[i].setValue(instance, row.getObject(this.fields[i]));
+		final int[] fieldIndexes = this.getRowPlan(row).fieldIndexes;
+		for (int i = 0; i < fieldIndexes.length; i++) {
+			this.columns[i].setValue(instance, row.getObject(fieldIndexes[i]));
+		}
+
+		if (this.lobLocators) {
+			this.checkLobLocators(session);
 		}
 
+		managedInstance.unloadLazyBasics();
+
 		// initializing the singular joins
-		for (final SingularAssociationMappingImpl<?, ?> _mapping : this.singularJoins) {
+		for (final SingularJoin singularJoin : this.singularJoinPlans) {
+			final SingularAssociationMappingImpl<?, ?> _mapping = singularJoin.mapping;
 
 			// HANDLE INHERITANCE / DISCRIMINATOR VALUE
 			final EntityTypeImpl<?> _type = _mapping.getType();
@@ -1035,8 +1268,7 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 				effectiveType = _mapping.getType();
 			}
 			else {
-				final FetchImpl<X, ?> fetchImpl = this.fetches.get(_mapping);
-				final String discriminatorValue = row.getObject(fetchImpl.getDiscriminatorAlias()).toString();
+				final String discriminatorValue = row.getObject(singularJoin.fetch.getDiscriminatorAlias()).toString();
 
 				// check if we have a legal discriminator value
 				effectiveType = _type.getChildType(discriminatorValue);
@@ -1046,7 +1278,7 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 			}
 			// ////////////
 
-			final ManagedId<?> managedId = getAssociatedId(session, row, _mapping);
+			final ManagedId<?> managedId = _type.getId(session, row, singularJoin.idFields);
 
 			if (managedId != null && managedId.getId() != null) {
 				final Object reference = session.getEntityManager().getReference(effectiveType.getJavaType(), managedId.getId());
@@ -1055,8 +1287,14 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 				managedInstance.setJoinLoaded(_mapping);
 			}
 		}
+	}
 
-		for (final FetchImpl<X, ?> fetch : this.fetches.values()) {
+	private void initializeInstance(SessionImpl session, ResultSet row, ManagedInstance<? extends X> managedInstance) throws SQLException {
+		managedInstance.setLoading(true);
+
+		this.initializeColumns(session, row, managedInstance);
+
+		for (final FetchImpl<X, ?> fetch : this.fetchPlans) {
 			final JoinedMapping<? super X, ?, ?> _mapping = fetch.getMapping();
 			if (!(_mapping instanceof SingularAssociationMappingImpl)) {
 				_mapping.initialize(managedInstance);
@@ -1066,6 +1304,16 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 		}
 	}
 
+	private boolean isTypeOf(AbstractExpression<?> expression) {
+		if (!(expression instanceof EntityTypeExpression)) {
+			return false;
+		}
+
+		final AbstractPath<?> path = ((EntityTypeExpression<?>) expression).getPath();
+
+		return (path instanceof AbstractFrom) && (((AbstractFrom<?, ?>) path).getFetchRoot() == this);
+	}
+
 	/**
 	 * Joins instead of fetch.
 	 * 
@@ -1092,4 +1340,46 @@ public class FetchParentImpl<Z, X> implements FetchParent<Z, X>, Joinable {
 
 		return fetch;
 	}
+
+	/**
+	 * Prepares the id field and the singular joins once the fields are generated so that the rows are read without evaluating them again.
+	 * 
+	 * @since 2.0.1
+	 */
+	private void prepareRowPlans() {
+		this.idField = null;
+		if ((this.entity != null) && this.entity.hasSingleIdAttribute() && (this.entity.getIdMapping() instanceof BasicMappingImpl)) {
+			this.idField = this.idFields.get(((BasicMappingImpl<?, ?>) this.entity.getIdMapping()).getColumn());
+		}
+
+		this.singularJoinPlans = new SingularJoin[this.singularJoins.size()];
+
+		int i = 0;
+		for (final SingularAssociationMappingImpl<?, ?> _mapping : this.singularJoins) {
+			// translate the id fields of the associate to the join fields
+			final HashMap<AbstractColumn, String> translatedIdFields = Maps.newHashMap();
+			for (final JoinColumn joinColumn : _mapping.getForeignKey().getJoinColumns()) {
+				String field = null;
+
+				if (!joinColumn.isVirtual()) {
+					field = this.joinFields.get(joinColumn);
+				}
+				else {
+					final AbstractColumn masterColumn = joinColumn.getMasterColumn();
+					for (int j = 0; j < this.columns.length; j++) {
+						if (this.columns[j] == masterColumn) {
+							field = this.fields[j];
+							break;
+						}
+					}
+				}
+
+				translatedIdFields.put(joinColumn.getReferencedColumn(), field);
+			}
+
+			this.singularJoinPlans[i++] = new SingularJoin(_mapping, translatedIdFields, this.fetches.get(_mapping));
+		}
+
+		this.rowPlan = null;
+	}
 }
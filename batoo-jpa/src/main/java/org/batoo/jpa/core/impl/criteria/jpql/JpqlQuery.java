@@ -122,6 +122,22 @@ public class JpqlQuery {
 	private LockModeType lockMode;
 	private long lastUsed;
 
+	/**
+	 * Checks the syntax of the JPQL query without constructing the query.
+	 * <p>
+	 * Used to verify the queries when no metamodel is available, such as at build time.
+	 * 
+	 * @param qlString
+	 *            the query string
+	 * @throws PersistenceException
+	 *             thrown if the query cannot be parsed
+	 * 
+	 * @since 2.0.1
+	 */
+	public static void checkSyntax(String qlString) {
+		JpqlQuery.parse(qlString);
+	}
+
 	/**
 	 * Constructor for named queries.
 	 * 
@@ -1599,7 +1615,7 @@ public class JpqlQuery {
 	 * @since 2.0.0
 	 */
 	private BaseQueryImpl<?> parse(CriteriaBuilderImpl cb) {
-		final CommonTree tree = this.parse(this.qlString);
+		final CommonTree tree = JpqlQuery.parse(this.qlString);
 
 		JpqlQuery.LOG.debug("Parsed query successfully {0}", //
 			JpqlQuery.LOG.lazyBoxed(this.qlString, new Object[] { tree.toStringTree() }));
@@ -1607,7 +1623,7 @@ public class JpqlQuery {
 		return this.construct(cb, tree);
 	}
 
-	private CommonTree parse(String query) {
+	private static CommonTree parse(String query) {
 		try {
 			final JpqlLexer lexer = new JpqlLexer(new ANTLRStringStream(query));
 			final CommonTokenStream tokenStream = new CommonTokenStream(lexer);
@@ -118,6 +118,28 @@ public class BasicPath<X> extends AbstractPath<X> {
 		}
 	}
 
+	/**
+	 * Returns the alias of the field in the select clause.
+	 * 
+	 * @return the alias of the field or <code>null</code> if the SQL is not generated yet
+	 * 
+	 * @since 2.0.1
+	 */
+	public String getFieldAlias() {
+		return this.fieldAlias;
+	}
+
+	/**
+	 * Returns the mapping of the path.
+	 * 
+	 * @return the mapping of the path
+	 * 
+	 * @since 2.0.1
+	 */
+	public BasicMappingImpl<?, X> getMapping() {
+		return this.mapping;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -156,7 +178,7 @@ public class BasicPath<X> extends AbstractPath<X> {
 	@Override
 	@SuppressWarnings("unchecked")
 	public X handle(QueryImpl<?> query, SessionImpl session, ResultSet row) throws SQLException {
-		final X value = (X) this.mapping.getColumn().convertValue(row.getStatement().getConnection(), row.getObject(this.fieldAlias));
+		final X value = (X) this.mapping.getColumn().convertValueForSet(row.getObject(this.fieldAlias));
 
 		return (X) (this.getConverter() != null ? this.getConverter().convert(value) : value);
 	}
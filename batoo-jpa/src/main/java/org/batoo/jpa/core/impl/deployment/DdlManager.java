@@ -19,6 +19,8 @@
 
 package org.batoo.jpa.core.impl.deployment;
 
+import java.util.concurrent.ExecutorService;
+
 import javax.sql.DataSource;
 
 import org.batoo.common.BatooException;
@@ -65,22 +67,24 @@ public class DdlManager extends DeploymentManager<EntityTypeImpl<?>> {
 	 *            the metamodel
 	 * @param ddlMode
 	 *            the DDL Mode
+	 * @param executor
+	 *            the shared deployment executor
 	 * @throws BatooException
 	 *             thrown in case of an underlying exception
 	 * 
 	 * @since 2.0.0
 	 */
-	public static void perform(DataSource datasource, MetamodelImpl metamodel, DDLMode ddlMode) throws BatooException {
-		new DdlManager(datasource, metamodel, ddlMode, DdlPhase.TABLES).perform();
-		new DdlManager(datasource, metamodel, ddlMode, DdlPhase.FOREIGN_KEYS).perform();
+	public static void perform(DataSource datasource, MetamodelImpl metamodel, DDLMode ddlMode, ExecutorService executor) throws BatooException {
+		new DdlManager(datasource, metamodel, ddlMode, DdlPhase.TABLES, executor).perform();
+		new DdlManager(datasource, metamodel, ddlMode, DdlPhase.FOREIGN_KEYS, executor).perform();
 	}
 
 	private final DataSource datasource;
 	private final DDLMode ddlMode;
 	private final DdlPhase ddlPhase;
 
-	private DdlManager(DataSource datasource, MetamodelImpl metamodel, DDLMode ddlMode, DdlPhase ddlPhase) {
-		super(DdlManager.LOG, "DDL Manager", metamodel, Context.ENTITIES);
+	private DdlManager(DataSource datasource, MetamodelImpl metamodel, DDLMode ddlMode, DdlPhase ddlPhase, ExecutorService executor) {
+		super(DdlManager.LOG, "DDL Manager", metamodel, Context.ENTITIES, executor);
 
 		this.datasource = datasource;
 		this.ddlMode = ddlMode;
@@ -21,34 +21,41 @@ package org.batoo.jpa.core.impl.deployment;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.Callable;
-import java.util.concurrent.Future;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.SingularAttribute;
 
 import org.batoo.common.BatooException;
 import org.batoo.common.log.BLogger;
+import org.batoo.common.util.IncrementalNamingThreadFactory;
+import org.batoo.jpa.core.impl.model.EntityTypeImpl;
+import org.batoo.jpa.core.impl.model.IdentifiableTypeImpl;
 import org.batoo.jpa.core.impl.model.MetamodelImpl;
 import org.batoo.jpa.core.impl.model.TypeImpl;
-import org.batoo.common.util.IncrementalNamingThreadFactory;
+import org.batoo.jpa.core.impl.model.attribute.AssociatedSingularAttribute;
 import org.batoo.jpa.parser.metadata.NamedQueryMetadata;
 
-import com.google.common.base.Function;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 /**
  * Abstract base class for Deployment Managers.
  * <p>
  * Facilitates a unique exception handling and thread management.
+ * <p>
+ * The dependency graph of the types is built once per pass, the super types and the types referenced by the id classes are the
+ * dependencies of a type. The tasks without dependencies are submitted right away and each task submits its dependents as soon as their
+ * last dependency performs. All the managers of a deployment share a single executor created by {@link #createExecutor()}.
  * 
  * @param <X>
  *            the base type for the operation
@@ -86,93 +93,35 @@ public abstract class DeploymentManager<X> {
 		NAMED_QUERIES
 	}
 
-	private static class DeploymentUnitFuture extends FutureTask<Void> implements Comparable<DeploymentUnitFuture> {
-
-		private final DeploymentUnitTask task;
-
-		/**
-		 * @param task
-		 *            the deployment unit task.
-		 * 
-		 * @since 2.0.0
-		 */
-		public DeploymentUnitFuture(DeploymentUnitTask task) {
-			super(task);
-
-			this.task = task;
-		}
-
-		/**
-		 * {@inheritDoc}
-		 * 
-		 */
-		@Override
-		public int compareTo(DeploymentUnitFuture o) {
-			return this.task.compareTo(o.task);
-		}
-
-		/**
-		 * {@inheritDoc}
-		 * 
-		 */
-		@Override
-		public boolean equals(Object obj) {
-			if (this == obj) {
-				return true;
-			}
-
-			if (obj == null) {
-				return false;
-			}
-
-			if (this.getClass() != obj.getClass()) {
-				return false;
-			}
-
-			final DeploymentUnitFuture other = (DeploymentUnitFuture) obj;
-			if (this.task == null) {
-				if (other.task != null) {
-					return false;
-				}
-			}
-			else if (!this.task.equals(other.task)) {
-				return false;
-			}
-
-			return true;
-		}
-
-		/**
-		 * {@inheritDoc}
-		 * 
-		 */
-		@Override
-		public int hashCode() {
-			final int prime = 31;
-			int result = 1;
-			result = (prime * result) + ((this.task == null) ? 0 : this.task.hashCode());
-			return result;
-		}
+	/**
+	 * Creates the executor to be shared by the deployment managers of a deployment.
+	 * <p>
+	 * The caller is responsible to shutdown the executor once the deployment is over.
+	 * 
+	 * @return the executor
+	 * 
+	 * @since 2.0.1
+	 */
+	public static ExecutorService createExecutor() {
+		final int nThreads = Runtime.getRuntime().availableProcessors() * 2;
 
-		/**
-		 * {@inheritDoc}
-		 * 
-		 */
-		@Override
-		public String toString() {
-			return "DeploymentUnitFuture [task=" + this.task + "]";
-		}
+		return new ThreadPoolExecutor(nThreads, nThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+			new IncrementalNamingThreadFactory("Deployment Manager"));
 	}
 
 	private final BLogger log;
+	private final String name;
 	private final MetamodelImpl metamodel;
 	private final List<ManagedType<?>> types = Lists.newArrayList();
 	private final Collection<NamedQueryMetadata> namedQueries = Lists.newArrayList();
 
 	private final Set<TypeImpl<?>> performed = Collections.synchronizedSet(Sets.<TypeImpl<?>> newHashSet());
-	private final ThreadPoolExecutor executer;
+	private final ExecutorService executor;
 	private final Context context;
 
+	private CountDownLatch remaining;
+	private volatile Throwable error;
+
 	/**
 	 * @param log
 	 *            the log to use
@@ -180,18 +129,22 @@ public abstract class DeploymentManager<X> {
 	 *            the name of the deployment manager.
 	 * @param metamodel
 	 *            the metamodel
-	 * 
 	 * @param context
 	 *            the context for the operation
+	 * @param executor
+	 *            the shared deployment executor
+	 * 
 	 * @since 2.0.0
 	 */
 	@SuppressWarnings({ "unchecked" })
-	public DeploymentManager(BLogger log, String name, MetamodelImpl metamodel, Context context) {
+	public DeploymentManager(BLogger log, String name, MetamodelImpl metamodel, Context context, ExecutorService executor) {
 		super();
 
 		this.log = log;
+		this.name = name;
 		this.metamodel = metamodel;
 		this.context = context;
+		this.executor = executor;
 
 		switch (context) {
 			case MANAGED_TYPES:
@@ -206,18 +159,129 @@ public abstract class DeploymentManager<X> {
 			case NAMED_QUERIES:
 				this.namedQueries.addAll(this.metamodel.getNamedQueries());
 		}
+	}
+
+	private void checkCycles(ManagedType<?> type, Map<ManagedType<?>, Set<ManagedType<?>>> dependencies, Set<ManagedType<?>> visiting,
+		Set<ManagedType<?>> visited) throws BatooException {
+		if (visited.contains(type)) {
+			return;
+		}
 
-		final int nThreads = Runtime.getRuntime().availableProcessors() * 2;
-		this.executer = new ThreadPoolExecutor(nThreads, nThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
-			new IncrementalNamingThreadFactory(name)) {
+		if (!visiting.add(type)) {
+			throw new BatooException("Cyclic deployment dependency detected for type " + type.getJavaType().getName());
+		}
 
-			@Override
-			protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
-				return (RunnableFuture<T>) new DeploymentUnitFuture((DeploymentUnitTask) callable);
+		for (final ManagedType<?> dependency : dependencies.get(type)) {
+			this.checkCycles(dependency, dependencies, visiting, visited);
+		}
+
+		visiting.remove(type);
+		visited.add(type);
+	}
+
+	/**
+	 * Marks the task as completed.
+	 * 
+	 * @since 2.0.1
+	 */
+	void completed() {
+		this.remaining.countDown();
+	}
+
+	private List<DeploymentUnitTask> createTasks() throws BatooException {
+		final List<DeploymentUnitTask> tasks = Lists.newArrayList();
+
+		if (this.context == Context.NAMED_QUERIES) {
+			for (final NamedQueryMetadata query : this.namedQueries) {
+				tasks.add(new DeploymentUnitTask(this, query));
 			}
-		};
 
-		this.log.debug("Number of threads is {0}", nThreads);
+			return tasks;
+		}
+
+		// build the dependency graph once
+		final Set<ManagedType<?>> typeSet = Sets.newHashSet(this.types);
+		final Map<ManagedType<?>, Set<ManagedType<?>>> dependencies = Maps.newHashMap();
+		for (final ManagedType<?> type : this.types) {
+			dependencies.put(type, this.getDependencies(type, typeSet));
+		}
+
+		final Set<ManagedType<?>> visited = Sets.newHashSet();
+		for (final ManagedType<?> type : this.types) {
+			this.checkCycles(type, dependencies, Sets.<ManagedType<?>> newHashSet(), visited);
+		}
+
+		final Map<ManagedType<?>, DeploymentUnitTask> typeTasks = Maps.newHashMap();
+		for (final ManagedType<?> type : this.types) {
+			final DeploymentUnitTask task = new DeploymentUnitTask(this, type);
+
+			typeTasks.put(type, task);
+			tasks.add(task);
+		}
+
+		for (final Entry<ManagedType<?>, Set<ManagedType<?>>> entry : dependencies.entrySet()) {
+			final DeploymentUnitTask task = typeTasks.get(entry.getKey());
+
+			for (final ManagedType<?> dependency : entry.getValue()) {
+				task.addDependency(typeTasks.get(dependency));
+			}
+		}
+
+		return tasks;
+	}
+
+	/**
+	 * Marks the deployment pass as failed.
+	 * 
+	 * @param t
+	 *            the cause of the failure
+	 * 
+	 * @since 2.0.1
+	 */
+	void failed(Throwable t) {
+		synchronized (this) {
+			if (this.error == null) {
+				this.error = t;
+			}
+		}
+
+		// release the waiting thread, the tasks depending on the failed task will never be submitted
+		while (this.remaining.getCount() > 0) {
+			this.remaining.countDown();
+		}
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Set<ManagedType<?>> getDependencies(ManagedType<?> type, Set<ManagedType<?>> typeSet) {
+		final Set<ManagedType<?>> dependencies = Sets.newHashSet();
+
+		if (type instanceof IdentifiableTypeImpl) {
+			IdentifiableTypeImpl<?> supertype = ((IdentifiableTypeImpl<?>) type).getSupertype();
+			while (supertype != null) {
+				if (typeSet.contains(supertype)) {
+					dependencies.add(supertype);
+				}
+
+				supertype = supertype.getSupertype();
+			}
+		}
+
+		if (type instanceof EntityTypeImpl) {
+			final EntityTypeImpl entity = (EntityTypeImpl) type;
+			if (!entity.hasSingleIdAttribute()) {
+				for (final SingularAttribute<?, ?> idAttribute : (Set<SingularAttribute<?, ?>>) entity.getIdClassAttributes()) {
+					if (idAttribute instanceof AssociatedSingularAttribute) {
+						final EntityTypeImpl<?> idType = ((AssociatedSingularAttribute<?, ?>) idAttribute).getType();
+
+						if ((idType != type) && typeSet.contains(idType)) {
+							dependencies.add(idType);
+						}
+					}
+				}
+			}
+		}
+
+		return dependencies;
 	}
 
 	/**
@@ -244,11 +308,7 @@ public abstract class DeploymentManager<X> {
 			throw (BatooException) t;
 		}
 
-		if (t.getCause() != null) {
-			throw new BatooException("Unknown error occurred during deployment", t.getCause());
-		}
-
-		this.handleException(t.getCause());
+		throw new BatooException("Unknown error occurred during deployment", t);
 	}
 
 	/**
@@ -281,65 +341,32 @@ public abstract class DeploymentManager<X> {
 	protected final void perform() throws BatooException {
 		final long start = System.currentTimeMillis();
 
-		// Submit the tasks
-		final List<Future<?>> futures = Lists.newArrayList();
-
-		if (this.context == Context.NAMED_QUERIES) {
-			for (final NamedQueryMetadata query : this.namedQueries) {
-				futures.add(this.executer.submit(new DeploymentUnitTask(this, query)));
-			}
-		}
-		else {
-			final List<DeploymentUnitTask> unSortedTasks = Lists.newArrayList(Lists.transform(this.types, new Function<ManagedType<?>, DeploymentUnitTask>() {
-
-				@Override
-				public DeploymentUnitTask apply(ManagedType<?> type) {
-					return new DeploymentUnitTask(DeploymentManager.this, type);
-				}
-			}));
-
-			final List<DeploymentUnitTask> sortedTasks = Lists.newArrayList();
-
-			while (unSortedTasks.size() > 0) {
-				for (final Iterator<DeploymentUnitTask> i = unSortedTasks.iterator(); i.hasNext();) {
-					final DeploymentUnitTask task = i.next();
+		final List<DeploymentUnitTask> tasks = this.createTasks();
 
-					boolean hasDependency = false;
-					for (final DeploymentUnitTask other : unSortedTasks) {
-						if (task.compareTo(other) > 0) {
-							hasDependency = true;
-							break;
-						}
-					}
+		this.remaining = new CountDownLatch(tasks.size());
 
-					if (!hasDependency) {
-						i.remove();
-						sortedTasks.add(task);
-
-						break;
-					}
-				}
-			}
-
-			for (final DeploymentUnitTask task : sortedTasks) {
-				futures.add(this.executer.submit(task));
+		// submit the tasks that have no dependencies, the rest are submitted as their dependencies perform
+		for (final DeploymentUnitTask task : tasks) {
+			if (!task.hasDependencies()) {
+				this.submit(task);
 			}
 		}
 
 		// wait until tasks finish or one bails out with an exception
 		try {
-			for (final Future<?> future : futures) {
-				future.get();
-			}
+			this.remaining.await();
 		}
-		catch (final Exception t) {
-			this.handleException(t);
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+
+			throw new BatooException("Deployment interrupted", e);
 		}
-		finally {
-			this.executer.shutdownNow();
+
+		if (this.error != null) {
+			this.handleException(this.error);
 		}
 
-		this.log.debug("Deployment pass took {0} msecs", System.currentTimeMillis() - start);
+		this.log.debug("{0} pass took {1} msecs", this.name, System.currentTimeMillis() - start);
 	}
 
 	/**
@@ -368,4 +395,18 @@ public abstract class DeploymentManager<X> {
 			this.performed.add((TypeImpl<?>) type);
 		}
 	}
+
+	/**
+	 * Submits the task to the executor.
+	 * 
+	 * @param task
+	 *            the task to submit
+	 * 
+	 * @since 2.0.1
+	 */
+	void submit(DeploymentUnitTask task) {
+		if (this.error == null) {
+			this.executor.submit(task);
+		}
+	}
 }
@@ -19,33 +19,31 @@
 
 package org.batoo.jpa.core.impl.deployment;
 
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import javax.persistence.metamodel.ManagedType;
-import javax.persistence.metamodel.SingularAttribute;
-
-import org.batoo.jpa.core.impl.model.EmbeddableTypeImpl;
-import org.batoo.jpa.core.impl.model.EntityTypeImpl;
-import org.batoo.jpa.core.impl.model.IdentifiableTypeImpl;
-import org.batoo.jpa.core.impl.model.MappedSuperclassTypeImpl;
-import org.batoo.jpa.core.impl.model.attribute.AssociatedSingularAttribute;
-import org.batoo.jpa.parser.metadata.NamedQueryMetadata;
+import com.google.common.collect.Lists;
 
 /**
  * Implementation for deployment unit tasks.
  * <p>
- * Implements common behavior like ordering and waiting for the super type to perform first.
+ * Each task is a node in the dependency graph of the deployment pass. A task is submitted once all the tasks it depends on have performed
+ * and in turn submits the tasks that depend on it.
  * 
  * @author hceylan
  * @since 2.0.0
  */
-public final class DeploymentUnitTask implements Callable<Void>, Comparable<DeploymentUnitTask> {
+public final class DeploymentUnitTask implements Callable<Void> {
 
 	private final Object unit;
 
 	@SuppressWarnings("rawtypes")
 	private final DeploymentManager manager;
 
+	private final List<DeploymentUnitTask> dependents = Lists.newArrayList();
+	private final AtomicInteger pendingDependencies = new AtomicInteger();
+
 	/**
 	 * @param manager
 	 *            the deployment unit manager
@@ -62,21 +60,17 @@ public final class DeploymentUnitTask implements Callable<Void>, Comparable<Depl
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Adds the dependency of this task to the other task.
 	 * 
+	 * @param dependency
+	 *            the task this task depends on
+	 * 
+	 * @since 2.0.1
 	 */
-	@Override
-	@SuppressWarnings({ "unchecked" })
-	public final Void call() throws Exception {
-		this.waitForSuper();
-		this.waitforIdDependency();
+	void addDependency(DeploymentUnitTask dependency) {
+		dependency.dependents.add(this);
 
-		try {
-			return this.manager.perform(this.unit);
-		}
-		finally {
-			this.manager.performed(this.unit);
-		}
+		this.pendingDependencies.incrementAndGet();
 	}
 
 	/**
@@ -84,92 +78,48 @@ public final class DeploymentUnitTask implements Callable<Void>, Comparable<Depl
 	 * 
 	 */
 	@Override
-	public int compareTo(DeploymentUnitTask o) {
-		// named queries has no precedence
-		if (this.unit instanceof NamedQueryMetadata) {
-			return 0;
-		}
-
-		final ManagedType<?> thisUnit = (ManagedType<?>) this.unit;
-		final ManagedType<?> otherUnit = (ManagedType<?>) o.unit;
-
-		// if this type is Embeddable and the other type is not then perform this earlier
-		if ((thisUnit instanceof EmbeddableTypeImpl) && (!(otherUnit instanceof EmbeddableTypeImpl))) {
-			return -1;
-		}
-
-		// if the other type is Embeddable and this type is not then perform the other earlier
-		if ((otherUnit instanceof EmbeddableTypeImpl) && (!(thisUnit instanceof EmbeddableTypeImpl))) {
-			return 1;
+	@SuppressWarnings({ "unchecked" })
+	public final Void call() throws Exception {
+		try {
+			this.manager.perform(this.unit);
 		}
+		catch (final Throwable t) {
+			this.manager.failed(t);
 
-		// if this type is a MappedSuperClass and the other type is not then perform this earlier
-		if ((thisUnit instanceof MappedSuperclassTypeImpl) && (!(otherUnit instanceof MappedSuperclassTypeImpl))) {
-			return -1;
+			return null;
 		}
 
-		// if the other type is a MappedSuperClass and this type is not then perform this later
-		if ((otherUnit instanceof MappedSuperclassTypeImpl) && (!(thisUnit instanceof MappedSuperclassTypeImpl))) {
-			return 1;
-		}
+		this.manager.performed(this.unit);
 
-		// if this type is super type of other type then perform this earlier
-		if (thisUnit.getJavaType().isAssignableFrom(otherUnit.getJavaType())) {
-			return -1;
+		for (final DeploymentUnitTask dependent : this.dependents) {
+			dependent.dependencyPerformed();
 		}
 
-		// if the other type is super type of this type then perform other earlier
-		if (otherUnit.getJavaType().isAssignableFrom(thisUnit.getJavaType())) {
-			return 1;
-		}
+		this.manager.completed();
 
-		// No precedence
-		return 0;
+		return null;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Notifies the task that one of the tasks it depends on has performed, submits the task if it has no more pending dependencies.
 	 * 
+	 * @since 2.0.1
 	 */
-	@Override
-	public boolean equals(Object obj) {
-		if (this == obj) {
-			return true;
-		}
-
-		if (obj == null) {
-			return false;
+	private void dependencyPerformed() {
+		if (this.pendingDependencies.decrementAndGet() == 0) {
+			this.manager.submit(this);
 		}
-
-		if (this.getClass() != obj.getClass()) {
-			return false;
-		}
-
-		final DeploymentUnitTask other = (DeploymentUnitTask) obj;
-		if (this.unit == null) {
-			if (other.unit != null) {
-				return false;
-			}
-		}
-		else if (!this.unit.equals(other.unit)) {
-			return false;
-		}
-
-		return true;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Returns if the task has any dependencies.
+	 * 
+	 * @return true if the task has any dependencies, false otherwise
 	 * 
+	 * @since 2.0.1
 	 */
-	@Override
-	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-
-		result = (prime * result) + ((this.unit == null) ? 0 : this.unit.hashCode());
-
-		return result;
+	boolean hasDependencies() {
+		return this.pendingDependencies.get() > 0;
 	}
 
 	/**
@@ -180,34 +130,4 @@ public final class DeploymentUnitTask implements Callable<Void>, Comparable<Depl
 	public String toString() {
 		return "DeploymentUnitTask [unit=" + this.unit + "]";
 	}
-
-	@SuppressWarnings("unchecked")
-	private <X> void waitforIdDependency() throws InterruptedException {
-		if (this.unit instanceof EntityTypeImpl) {
-			final EntityTypeImpl<X> entity = (EntityTypeImpl<X>) this.unit;
-			if (!entity.hasSingleIdAttribute()) {
-				for (final SingularAttribute<? super X, ?> idAttribute : entity.getIdClassAttributes()) {
-					if (idAttribute instanceof AssociatedSingularAttribute) {
-						final EntityTypeImpl<?> type = ((AssociatedSingularAttribute<? super X, ?>) idAttribute).getType();
-
-						while (!this.manager.hasPerformed(type)) {
-							Thread.sleep(10);
-						}
-					}
-				}
-			}
-		}
-	}
-
-	@SuppressWarnings("unchecked")
-	private void waitForSuper() throws InterruptedException {
-		if (this.unit instanceof IdentifiableTypeImpl) {
-			final IdentifiableTypeImpl<?> supertype = ((IdentifiableTypeImpl<?>) this.unit).getSupertype();
-
-			// if the super type hasn't performed yet, then wait for to finish
-			while (!this.manager.hasPerformed(supertype)) {
-				Thread.sleep(10);
-			}
-		}
-	}
 }
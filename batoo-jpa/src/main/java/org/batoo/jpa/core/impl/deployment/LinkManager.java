@@ -19,6 +19,8 @@
 
 package org.batoo.jpa.core.impl.deployment;
 
+import java.util.concurrent.ExecutorService;
+
 import javax.persistence.metamodel.EntityType;
 
 import org.batoo.common.BatooException;
@@ -69,21 +71,23 @@ public class LinkManager extends DeploymentManager<EntityTypeImpl<?>> {
 	 * 
 	 * @param metamodel
 	 *            the metamodel
+	 * @param executor
+	 *            the shared deployment executor
 	 * @throws BatooException
 	 *             thrown in case of an underlying exception
 	 * 
 	 * @since 2.0.0
 	 */
-	public static void perform(MetamodelImpl metamodel) throws BatooException {
-		new LinkManager(metamodel, Phase.LINK_ASSOCIATIONS).perform();
-		new LinkManager(metamodel, Phase.LINK_ELEMENT_COLLECTIONS).perform();
-		new LinkManager(metamodel, Phase.LINK_DEPENDENCIES).perform();
+	public static void perform(MetamodelImpl metamodel, ExecutorService executor) throws BatooException {
+		new LinkManager(metamodel, Phase.LINK_ASSOCIATIONS, executor).perform();
+		new LinkManager(metamodel, Phase.LINK_ELEMENT_COLLECTIONS, executor).perform();
+		new LinkManager(metamodel, Phase.LINK_DEPENDENCIES, executor).perform();
 	}
 
 	private final Phase phase;
 
-	private LinkManager(MetamodelImpl metamodel, Phase phase) {
-		super(LinkManager.LOG, "Link Manager", metamodel, Context.ENTITIES);
+	private LinkManager(MetamodelImpl metamodel, Phase phase, ExecutorService executor) {
+		super(LinkManager.LOG, "Link Manager", metamodel, Context.ENTITIES, executor);
 
 		this.phase = phase;
 	}
@@ -19,16 +19,25 @@
 
 package org.batoo.jpa.core.impl.deployment;
 
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
 import org.batoo.common.BatooException;
 import org.batoo.common.log.BLogger;
 import org.batoo.common.log.BLoggerFactory;
 import org.batoo.jpa.core.impl.criteria.CriteriaBuilderImpl;
 import org.batoo.jpa.core.impl.criteria.jpql.JpqlQuery;
 import org.batoo.jpa.core.impl.model.MetamodelImpl;
+import org.batoo.jpa.parser.impl.acl.PersistenceIndex;
 import org.batoo.jpa.parser.metadata.NamedQueryMetadata;
 
 /**
  * Deployment manager to deploy named queries.
+ * <p>
+ * Named queries verified at build time by the batoo-maven-plugin are not compiled at deployment, but registered with the entity manager
+ * factory to be compiled on their first use. A query is deemed verified only if its checksum matches the checksum recorded in the
+ * persistence index, otherwise it is compiled at deployment. The build time verification only checks the syntax of the query, the errors
+ * against the metamodel of a deferred query are reported on its first use.
  * 
  * @author hceylan
  * @since 2.0.0
@@ -44,21 +53,25 @@ public class NamedQueriesManager extends DeploymentManager<NamedQueryMetadata> {
 	 *            the metamodel
 	 * @param criteriaBuilder
 	 *            the criteria builder
+	 * @param executor
+	 *            the shared deployment executor
 	 * @throws BatooException
 	 *             thrown in case of an underlying exception
 	 * 
 	 * @since 2.0.0
 	 */
-	public static void perform(MetamodelImpl metamodel, CriteriaBuilderImpl criteriaBuilder) throws BatooException {
-		new NamedQueriesManager(metamodel, criteriaBuilder).perform();
+	public static void perform(MetamodelImpl metamodel, CriteriaBuilderImpl criteriaBuilder, ExecutorService executor) throws BatooException {
+		new NamedQueriesManager(metamodel, criteriaBuilder, executor).perform();
 	}
 
 	private final CriteriaBuilderImpl criteriaBuilder;
+	private final Map<String, String> verifiedQueries;
 
-	private NamedQueriesManager(MetamodelImpl metamodel, CriteriaBuilderImpl criteriaBuilder) {
-		super(NamedQueriesManager.LOG, "Query Manager", metamodel, Context.NAMED_QUERIES);
+	private NamedQueriesManager(MetamodelImpl metamodel, CriteriaBuilderImpl criteriaBuilder, ExecutorService executor) {
+		super(NamedQueriesManager.LOG, "Query Manager", metamodel, Context.NAMED_QUERIES, executor);
 
 		this.criteriaBuilder = criteriaBuilder;
+		this.verifiedQueries = PersistenceIndex.readQueryChecksums(metamodel.getEntityManagerFactory().getClassloader());
 	}
 
 	/**
@@ -67,6 +80,15 @@ public class NamedQueriesManager extends DeploymentManager<NamedQueryMetadata> {
 	 */
 	@Override
 	public Void perform(NamedQueryMetadata namedQuery) throws BatooException {
+		final String checksum = this.verifiedQueries.get(namedQuery.getName());
+		if ((checksum != null) && checksum.equals(PersistenceIndex.checksum(namedQuery.getQuery()))) {
+			NamedQueriesManager.LOG.debug("Deferring compilation of named query {0} verified at build time.", namedQuery.getName());
+
+			this.getMetamodel().getEntityManagerFactory().addNamedQuery(namedQuery);
+
+			return null;
+		}
+
 		NamedQueriesManager.LOG.debug("Compiling named query {0}...", namedQuery.getName());
 
 		new JpqlQuery(this.getMetamodel().getEntityManagerFactory(), this.criteriaBuilder, namedQuery);
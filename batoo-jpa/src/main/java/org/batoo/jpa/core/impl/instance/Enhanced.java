@@ -110,6 +110,17 @@ public class Enhanced implements EnhancedInstance {
 		return;
 	}
 
+	@SuppressWarnings("unused")
+	private void __enhanced_$$__checkLazy() {
+		if (this.__enhanced_$$__internal) {
+			return;
+		}
+
+		if (this.__enhanced__$$__managedInstance != null) {
+			this.__enhanced__$$__managedInstance.loadLazyBasics();
+		}
+	}
+
 	public Object get__enhanced__$$__id() {
 		return this.__enhanced_$$__id;
 	}
@@ -19,16 +19,20 @@
 
 package org.batoo.jpa.core.impl.instance;
 
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Map;
 import java.util.Set;
 
 import javax.persistence.PersistenceException;
+import javax.persistence.metamodel.Attribute;
 import javax.persistence.metamodel.EntityType;
 
+import org.apache.commons.lang.StringUtils;
 import org.batoo.jpa.core.impl.manager.EntityManagerImpl;
 import org.batoo.jpa.core.impl.manager.SessionImpl;
+import org.batoo.jpa.core.impl.model.attribute.BasicAttribute;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
@@ -52,6 +56,11 @@ public final class Enhancer {
 		for (final Method method : Object.class.getMethods()) {
 			Enhancer.IGNORED_METHODS.add(method.getName());
 		}
+
+		// the woven classes maintain their dirty masks without the managed instance
+		for (final Method method : WeavedInstance.class.getMethods()) {
+			Enhancer.IGNORED_METHODS.add(method.getName());
+		}
 	}
 
 	/**
@@ -76,12 +85,14 @@ public final class Enhancer {
 	private static final String METHOD_ENHANCED_IS_INITIALIZED = "__enhanced__$$__isInitialized";
 	private static final String METHOD_ENHANCED_SET_INITIALIZED = "__enhanced__$$__setInitialized";
 	private static final String METHOD_ENHANCED_CHECK = "__enhanced_$$__check";
+	private static final String METHOD_ENHANCED_CHECK_LAZY = "__enhanced_$$__checkLazy";
 	private static final String METHOD_GET_ENTITY_MANAGER = "getEntityManager";
 	private static final String METHOD_ENHANCED_GET_MANAGED_INSTANCE = "__enhanced__$$__getManagedInstance";
 	private static final String METHOD_ENHANCED_SET_MANAGED_INSTANCE = "__enhanced__$$__setManagedInstance";
 	private static final String METHOD_ENHANCED_SET_INTERNAL = "__enhanced__$$__setInternalCall";
 	private static final String METHOD_FIND = "find";
 	private static final String METHOD_CHANGED = "changed";
+	private static final String METHOD_LOAD_LAZY_BASICS = "loadLazyBasics";
 
 	private static final String DESCRIPTOR_BOOLEAN = Type.getDescriptor(Boolean.TYPE);
 	private static final String DESCRIPTOR_MANAGED_INSTANCE = Type.getDescriptor(ManagedInstance.class);
@@ -105,8 +116,28 @@ public final class Enhancer {
 	 * 
 	 * @since 2.0.0
 	 */
-	//@formatter:off
 	public static byte[] create(Class<?> clazz) throws Exception {
+		return Enhancer.create(clazz, null);
+	}
+
+	/**
+	 * Returns the enhanced class bytecode.
+	 * <p>
+	 * If <code>eagerMethods</code> is not <code>null</code> then the methods other than the <code>eagerMethods</code> load the lazy
+	 * attributes of the instance before they are invoked.
+	 * 
+	 * @param clazz
+	 *            the class to enhance
+	 * @param eagerMethods
+	 *            the names of the methods that do not access the lazy attributes or <code>null</code> if the class has no lazy attributes
+	 * @return the enhanced class
+	 * @throws Exception
+	 *             thrown in case of an error
+	 * 
+	 * @since 2.0.1
+	 */
+	//@formatter:off
+	public static byte[] create(Class<?> clazz, Set<String> eagerMethods) throws Exception {
 
 		final String enhancingClassName = Type.getInternalName(clazz);
 		final String enhancedClassName = enhancingClassName + Enhancer.SUFFIX_ENHANCED;
@@ -134,6 +165,9 @@ public final class Enhancer {
 		Enhancer.createMethodIsInitialized(enhancedClassName, descEnhancer, cw);
 		Enhancer.createMethodSetInitialized(enhancedClassName, descEnhancer, cw);
 		Enhancer.createMethodCheck(enhancedClassName, descEnhancer, cw);
+		if (eagerMethods != null) {
+			Enhancer.createMethodCheckLazy(enhancedClassName, descEnhancer, cw);
+		}
 		Enhancer.createMethodGetManagedInstance(enhancedClassName, descEnhancer, cw);
 		Enhancer.createMethodSetManagedInstance(enhancedClassName, descEnhancer, cw);
 		Enhancer.createMethodSetInternal(enhancedClassName, descEnhancer, cw);
@@ -173,7 +207,9 @@ public final class Enhancer {
 
 		for (final Method method : methods.values()) {
 			if (!Enhancer.IGNORED_METHODS.contains(method.getName())) {
-				Enhancer.createOverrriddenMethod(enhancingClassName, enhancedClassName, descEnhancer, cw, method);
+				final boolean checkLazy = (eagerMethods != null) && !eagerMethods.contains(method.getName());
+
+				Enhancer.createOverrriddenMethod(enhancingClassName, enhancedClassName, descEnhancer, cw, method, checkLazy);
 			}
 		}
 
@@ -304,6 +340,45 @@ public final class Enhancer {
 		mv.visitEnd();
 	}
 
+	private static void createMethodCheckLazy(final String enhancedClassName, final String descEnhancer, final ClassWriter cw) {
+		final MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PRIVATE, Enhancer.METHOD_ENHANCED_CHECK_LAZY, Enhancer.makeDescription(Void.TYPE), null, null);
+		mv.visitCode();
+
+		final Label lCheckInternal = new Label();
+		final Label lCheckManagedInstance = new Label();
+		final Label lReturn = new Label();
+		final Label lOut = new Label();
+
+		// if (this.__enhanced__$$__internal) { return }
+		mv.visitLabel(lCheckInternal);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, enhancedClassName, Enhancer.FIELD_ENHANCED_INTERNAL, Enhancer.DESCRIPTOR_BOOLEAN);
+		mv.visitJumpInsn(Opcodes.IFEQ, lCheckManagedInstance);
+		mv.visitInsn(Opcodes.RETURN);
+
+		// if (this.__enhanced_$$__managedInstance != null)
+		mv.visitLabel(lCheckManagedInstance);
+		mv.visitFrame(Opcodes.F_NEW, 1, new Object[] { enhancedClassName }, 0, new Object[] {});
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, enhancedClassName, Enhancer.FIELD_ENHANCED_MANAGED_INSTANCE, Enhancer.DESCRIPTOR_MANAGED_INSTANCE);
+		mv.visitJumpInsn(Opcodes.IFNULL, lReturn);
+
+		//     this.__enhanced_$$__managedInstance.loadLazyBasics();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, enhancedClassName, Enhancer.FIELD_ENHANCED_MANAGED_INSTANCE, Enhancer.DESCRIPTOR_MANAGED_INSTANCE);
+		mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Enhancer.INTERNAL_MANAGED_INSTANCE, Enhancer.METHOD_LOAD_LAZY_BASICS, Enhancer.makeDescription(Void.TYPE));
+
+		// return;
+		mv.visitLabel(lReturn);
+		mv.visitFrame(Opcodes.F_NEW, 1, new Object[] { enhancedClassName }, 0, new Object[] {});
+		mv.visitInsn(Opcodes.RETURN);
+
+		mv.visitLabel(lOut);
+		mv.visitLocalVariable(Enhancer.THIS, descEnhancer, null, lCheckInternal, lOut, 0);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
 	private static void createMethodGetManagedInstance(final String enhancedClassName, final String descEnhancer, final ClassWriter cw) {
 		final MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, Enhancer.METHOD_ENHANCED_GET_MANAGED_INSTANCE, Enhancer.makeDescription(ManagedInstance.class), null, null);
 		mv.visitCode();
@@ -448,7 +523,7 @@ public final class Enhancer {
 	//@formatter:on
 
 	private static void createOverrriddenMethod(final String enhancingClassName, final String enhancedClassName, final String descEnhancer,
-		final ClassWriter cw, Method method) {
+		final ClassWriter cw, Method method, boolean checkLazy) {
 		final String methodDescription = Enhancer.makeDescription(method.getReturnType(), method.getParameterTypes());
 
 		// TODO Exception types
@@ -463,6 +538,12 @@ public final class Enhancer {
 		mv.visitVarInsn(Opcodes.ALOAD, 0);
 		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, enhancedClassName, Enhancer.METHOD_ENHANCED_CHECK, Enhancer.makeDescription(Void.TYPE));
 
+		// this.__enhanced_$$__checkLazy();
+		if (checkLazy) {
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitMethodInsn(Opcodes.INVOKESPECIAL, enhancedClassName, Enhancer.METHOD_ENHANCED_CHECK_LAZY, Enhancer.makeDescription(Void.TYPE));
+		}
+
 		mv.visitVarInsn(Opcodes.ALOAD, 0); // load this
 
 		// infer the method parameters
@@ -519,11 +600,12 @@ public final class Enhancer {
 			return enhancedClass;
 		}
 
-		return Enhancer.enhance0(javaType, classLoader, className);
+		return Enhancer.enhance0(javaType, classLoader, className, Enhancer.getEagerMethods(type));
 	}
 
-	private synchronized static <T> Class<T> enhance0(final Class<T> javaType, final ClassLoader classLoader, final String className) throws Exception {
-		final byte[] byteCode = Enhancer.create(javaType);
+	private synchronized static <T> Class<T> enhance0(final Class<T> javaType, final ClassLoader classLoader, final String className,
+		Set<String> eagerMethods) throws Exception {
+		final byte[] byteCode = Enhancer.create(javaType, eagerMethods);
 
 		final Class<T> enhancedClass = Enhancer.loadClass(classLoader, byteCode, className);
 
@@ -583,6 +665,45 @@ public final class Enhancer {
 		}
 	}
 
+	/**
+	 * Returns the names of the getters and the setters of the attributes that are not lazy.
+	 * <p>
+	 * Setters, and the getters of the fields, are assumed to follow the java beans naming convention.
+	 * 
+	 * @param type
+	 *            the entity type
+	 * @return the set of method names or <code>null</code> if the type has no lazy attributes
+	 * 
+	 * @since 2.0.1
+	 */
+	private static Set<String> getEagerMethods(EntityType<?> type) {
+		boolean hasLazy = false;
+		final Set<String> eagerMethods = Sets.newHashSet();
+
+		for (final Attribute<?, ?> attribute : type.getAttributes()) {
+			if ((attribute instanceof BasicAttribute) && ((BasicAttribute<?, ?>) attribute).isLazy()) {
+				hasLazy = true;
+
+				continue;
+			}
+
+			final String name = StringUtils.capitalize(attribute.getName());
+
+			final Member member = attribute.getJavaMember();
+			if (member instanceof Method) {
+				eagerMethods.add(member.getName());
+			}
+			else {
+				eagerMethods.add("get" + name);
+				eagerMethods.add("is" + name);
+			}
+
+			eagerMethods.add("set" + name);
+		}
+
+		return hasLazy ? eagerMethods : null;
+	}
+
 	private static int getLoadType(Class<?> paramClass) {
 		if (!paramClass.isPrimitive() || paramClass.isArray()) {
 			return Opcodes.ALOAD;
@@ -623,6 +744,28 @@ public final class Enhancer {
 		return Opcodes.IRETURN;
 	}
 
+	/**
+	 * Returns if the enhanced class loads the lazy attributes on access.
+	 * <p>
+	 * Classes enhanced at build time do not have the information on the lazy attributes and load the lazy attributes eagerly.
+	 * 
+	 * @param enhancedClass
+	 *            the enhanced class
+	 * @return true if the enhanced class loads the lazy attributes on access, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public static boolean isLazyLoading(Class<?> enhancedClass) {
+		try {
+			enhancedClass.getDeclaredMethod(Enhancer.METHOD_ENHANCED_CHECK_LAZY);
+
+			return true;
+		}
+		catch (final NoSuchMethodException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * Loads the class.
 	 * 
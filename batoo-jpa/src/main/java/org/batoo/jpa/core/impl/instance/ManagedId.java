@@ -32,11 +32,20 @@ import org.batoo.jpa.core.impl.model.EntityTypeImpl;
  */
 public class ManagedId<X> {
 
-	private final EntityTypeImpl<? super X> type;
-	private final Object id;
+	private EntityTypeImpl<? super X> type;
+	private Object id;
 
 	private int h;
 
+	/**
+	 * Constructor for the probe ids that are pointed to the ids being looked up with {@link #probe(Object, EntityTypeImpl)}.
+	 * 
+	 * @since 2.0.1
+	 */
+	public ManagedId() {
+		super();
+	}
+
 	/**
 	 * Constructor for the raw ids.
 	 * 
@@ -123,6 +132,25 @@ public class ManagedId<X> {
 		return this.h = (prime * this.h) + this.type.getName().hashCode();
 	}
 
+	/**
+	 * Points the probe id to the raw id of the type.
+	 * <p>
+	 * Probe ids are only used to look up the instances without allocating an id for each lookup and must never be stored.
+	 * 
+	 * @param id
+	 *            the raw id or <code>null</code> to release the previous id
+	 * @param type
+	 *            the type or <code>null</code> to release the previous type
+	 * 
+	 * @since 2.0.1
+	 */
+	@SuppressWarnings("unchecked")
+	public void probe(Object id, EntityTypeImpl<?> type) {
+		this.type = type != null ? (EntityTypeImpl<? super X>) type.getRootType() : null;
+		this.id = id;
+		this.h = 0;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
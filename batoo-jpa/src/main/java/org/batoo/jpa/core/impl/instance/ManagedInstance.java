@@ -24,7 +24,6 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.LinkedList;
@@ -33,7 +32,6 @@ import java.util.Map;
 import java.util.Set;
 
 import javax.persistence.LockModeType;
-import javax.persistence.metamodel.Attribute.PersistentAttributeType;
 import javax.persistence.metamodel.PluralAttribute.CollectionType;
 
 import org.apache.commons.lang.ObjectUtils;
@@ -42,6 +40,7 @@ import org.batoo.common.log.BLogger;
 import org.batoo.common.log.BLoggerFactory;
 import org.batoo.common.reflect.AbstractAccessor;
 import org.batoo.common.util.Pair;
+import org.batoo.jpa.core.impl.collections.ManagedCollection;
 import org.batoo.jpa.core.impl.manager.EntityManagerImpl;
 import org.batoo.jpa.core.impl.manager.SessionImpl;
 import org.batoo.jpa.core.impl.model.EntityTypeImpl;
@@ -59,7 +58,6 @@ import org.batoo.jpa.jdbc.mapping.SingularMapping;
 import org.batoo.jpa.parser.metadata.EntityListenerMetadata.EntityListenerType;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 /**
@@ -82,14 +80,19 @@ public class ManagedInstance<X> {
 	private Status oldStatus;
 	private LockModeType lockMode;
 
-	private final HashMap<AbstractMapping<?, ?, ?>, Object> snapshot = Maps.newHashMap();
+	private Object[] snapshot;
 	private final HashSet<String> joinsLoaded;
 	private final ArrayList<PluralMappingEx<?, ?, ?>> collectionsChanged;
 
 	private boolean loading;
 	private boolean loadingFromCache;
+	private boolean readOnly;
 	private boolean refreshing;
+	private boolean stale;
 	private boolean changed;
+	private boolean lazyBasicsPending;
+	private boolean lazyBasicsLoading;
+	private boolean dirtyMask;
 
 	private boolean hasInitialId;
 	private ManagedId<? super X> id;
@@ -149,6 +152,64 @@ public class ManagedInstance<X> {
 		this.id = id;
 	}
 
+	/**
+	 * Adds the loaded entities that the instance is associated with.
+	 * <p>
+	 * The collections that are not initialized are skipped.
+	 * 
+	 * @param associates
+	 *            the collection to add the entities to
+	 * 
+	 * @since 2.0.1
+	 */
+	public void addAssociates(Collection<Object> associates) {
+		for (final AssociationMappingImpl<?, ?, ?> association : this.type.getAssociations()) {
+			final Object value = association.get(this.instance);
+
+			if ((value instanceof ManagedCollection) && !((ManagedCollection<?>) value).isInitialized()) {
+				continue;
+			}
+
+			if (value instanceof Map) {
+				associates.addAll(((Map<?, ?>) value).values());
+			}
+			else if (value instanceof Collection) {
+				associates.addAll((Collection<?>) value);
+			}
+			else if (value != null) {
+				associates.add(value);
+			}
+		}
+	}
+
+	/**
+	 * Applies the values set by a bulk update to the instance and to its snapshot.
+	 * 
+	 * @param mappings
+	 *            the mappings updated
+	 * @param values
+	 *            the new values of the mappings
+	 * 
+	 * @since 2.0.1
+	 */
+	public void applyUpdates(AbstractMapping<?, ?, ?>[] mappings, Object[] values) {
+		final AbstractMapping<?, ?, ?>[] singularMappings = this.type.getMappingsSingular();
+
+		for (int i = 0; i < mappings.length; i++) {
+			mappings[i].set(this.instance, values[i]);
+
+			if (this.snapshot != null) {
+				for (int j = 0; j < singularMappings.length; j++) {
+					if (singularMappings[j].equals(mappings[i])) {
+						this.snapshot[j] = values[i];
+
+						break;
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * Cascades the detach operation.
 	 * 
@@ -336,6 +397,11 @@ public class ManagedInstance<X> {
 	 * @since 2.0.0
 	 */
 	public void changed() {
+		// read only instances are not tracked
+		if (this.readOnly) {
+			return;
+		}
+
 		if (!this.changed && (this.collectionsChanged.size() == 0)) {
 			this.session.setChanged(this);
 
@@ -367,7 +433,7 @@ public class ManagedInstance<X> {
 	 */
 	public void checkUpdated() {
 		// no snapshot, nothing to check
-		if ((this.snapshot.size() == 0) || this.changed) {
+		if ((this.snapshot == null) || this.changed) {
 			return;
 		}
 
@@ -377,13 +443,25 @@ public class ManagedInstance<X> {
 	}
 
 	private boolean checkUpdatedImpl() {
-		// iterate over old values
-		for (final AbstractMapping<?, ?, ?> mapping : this.type.getMappingsSingular()) {
-			final Object newValue = mapping.get(this.instance);
-			final Object oldValue = this.snapshot.get(mapping);
+		final AbstractMapping<?, ?, ?>[] mappings = this.type.getMappingsSingular();
+		final boolean[] basic = this.type.getMappingsSingularBasic();
+		final Object[] snapshot = this.snapshot;
+
+		// if the instance is woven then only the tracked slots written since the snapshot are compared
+		final long[] bits = this.dirtyMask ? this.type.getMappingsSingularDirty() : null;
+		final long dirty = bits != null ? ((WeavedInstance) this.instance).__weaved__$$__getDirty() : 0;
+
+		// iterate over old values by slot
+		for (int i = 0; i < mappings.length; i++) {
+			if ((bits != null) && (bits[i] != 0) && ((dirty & bits[i]) == 0)) {
+				continue;
+			}
+
+			final Object newValue = mappings[i].get(this.instance);
+			final Object oldValue = snapshot != null ? snapshot[i] : null;
 
 			// if it is changed then mark as changed and bail out
-			if (mapping.getAttribute().getPersistentAttributeType() == PersistentAttributeType.BASIC) {
+			if (basic[i]) {
 				if (!ObjectUtils.equals(oldValue, newValue)) {
 					return true;
 				}
@@ -679,7 +757,7 @@ public class ManagedInstance<X> {
 	 * @since 2.0.0
 	 */
 	public boolean hasSelfUpdate() {
-		if (!this.changed && (this.snapshot.size() == 0)) {
+		if (!this.changed && (this.snapshot == null)) {
 			return false;
 		}
 
@@ -711,6 +789,11 @@ public class ManagedInstance<X> {
 
 		final BasicAttribute<? super X, ?> version = rootType.getVersionAttribute();
 
+		// the snapshot is taken before the version is incremented so that the flush picks up the new version
+		if (!commit) {
+			this.changed();
+		}
+
 		if (this.oldVersion == null) {
 			switch (this.type.getVersionType()) {
 				case SHORT:
@@ -789,9 +872,6 @@ public class ManagedInstance<X> {
 
 			this.oldVersion = null;
 		}
-		else {
-			this.changed();
-		}
 	}
 
 	/**
@@ -817,6 +897,43 @@ public class ManagedInstance<X> {
 		return this.joinsLoaded.contains(mapping.getPath());
 	}
 
+	/**
+	 * Returns if the lazy basic attributes of the instance are not loaded yet.
+	 * 
+	 * @return true if the lazy basic attributes of the instance are not loaded yet, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isLazyBasicsPending() {
+		return this.lazyBasicsPending;
+	}
+
+	/**
+	 * Returns if a lob attribute bound to a locator is changed since the snapshot of the instance.
+	 * 
+	 * @return true if a lob attribute bound to a locator is changed or there is no snapshot, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isLobLocatorsChanged() {
+		final Object[] snapshot = this.snapshot;
+		if (snapshot == null) {
+			return true;
+		}
+
+		final AbstractMapping<?, ?, ?>[] mappings = this.type.getMappingsSingular();
+		for (int i = 0; i < mappings.length; i++) {
+			if ((mappings[i] instanceof BasicMappingImpl) && ((BasicMappingImpl<?, ?>) mappings[i]).getColumn().isLobLocator()) {
+				// the streams are compared by identity, a new value is a new stream
+				if (snapshot[i] != mappings[i].get(this.instance)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
 	/**
 	 * Returns if the instance is loading.
 	 * 
@@ -839,6 +956,17 @@ public class ManagedInstance<X> {
 		return this.loadingFromCache;
 	}
 
+	/**
+	 * Returns if the instance is read only.
+	 * 
+	 * @return true if the instance is read only, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isReadOnly() {
+		return this.readOnly;
+	}
+
 	/**
 	 * Returns if the instance is refreshing.
 	 * 
@@ -850,6 +978,57 @@ public class ManagedInstance<X> {
 		return this.refreshing;
 	}
 
+	/**
+	 * Returns if the state of the instance is stale and should be reloaded when the instance is next fetched.
+	 * 
+	 * @return true if the instance is stale, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isStale() {
+		return this.stale;
+	}
+
+	/**
+	 * Loads the lazy basic attributes of the instance with a single query if they are not loaded yet.
+	 * 
+	 * @since 2.0.1
+	 */
+	public void loadLazyBasics() {
+		if (!this.lazyBasicsPending || this.lazyBasicsLoading) {
+			return;
+		}
+
+		this.lazyBasicsLoading = true;
+
+		try {
+			ManagedInstance.LOG.debug("Loading lazy attributes of instance {0}", this);
+
+			final BasicMappingImpl<?, ?>[] mappings = this.type.getBasicMappingsLazy();
+			final Object[] values = this.type.performLoadLazyBasics(this);
+
+			for (int i = 0; i < mappings.length; i++) {
+				mappings[i].set(this.instance, values[i]);
+			}
+
+			// loading is not a change, keep the snapshot in sync
+			if (this.snapshot != null) {
+				final AbstractMapping<?, ?, ?>[] singularMappings = this.type.getMappingsSingular();
+				for (int i = 0; i < singularMappings.length; i++) {
+					if ((singularMappings[i] instanceof BasicMappingImpl) && ((BasicMappingImpl<?, ?>) singularMappings[i]).isLazy()) {
+						this.snapshot[i] = singularMappings[i].get(this.instance);
+					}
+				}
+			}
+
+			// only a successful load clears the flag, so that a failed load is retried rather than leaving the attributes null
+			this.lazyBasicsPending = false;
+		}
+		finally {
+			this.lazyBasicsLoading = false;
+		}
+	}
+
 	/**
 	 * Merges the instance state with the <code>entity</code>.
 	 * 
@@ -868,10 +1047,24 @@ public class ManagedInstance<X> {
 	 */
 	public void mergeWith(EntityManagerImpl entityManager, X entity, MutableBoolean requiresFlush, IdentityHashMap<Object, Object> processed,
 		LinkedList<ManagedInstance<?>> instances) {
+		// if the entity we are merging has not loaded its lazy attributes then no need to merge them
+		final ManagedInstance<?> source = entity instanceof EnhancedInstance ? ((EnhancedInstance) entity).__enhanced__$$__getManagedInstance() : null;
+		final boolean mergeLazy = (source == null) || !source.lazyBasicsPending;
+
+		// otherwise the lazy attributes must be loaded before they are overwritten
+		if (mergeLazy) {
+			this.loadLazyBasics();
+		}
+
 		this.snapshot();
 
+		// the values are merged reflectively, the dirty mask does not reflect them
+		this.dirtyMask = false;
+
 		for (final BasicMappingImpl<?, ?> mapping : this.type.getBasicMappings()) {
-			mapping.set(this.instance, mapping.get(entity));
+			if (mergeLazy || !mapping.isLazy()) {
+				mapping.set(this.instance, mapping.get(entity));
+			}
 		}
 
 		for (final AssociationMappingImpl<?, ?, ?> association : this.type.getAssociations()) {
@@ -961,7 +1154,7 @@ public class ManagedInstance<X> {
 
 		this.changed = false;
 
-		this.snapshot.clear();
+		this.snapshot = null;
 		this.snapshot();
 	}
 
@@ -974,6 +1167,11 @@ public class ManagedInstance<X> {
 	 * @since 2.0.0
 	 */
 	public void setChanged(PluralMappingEx<?, ?, ?> association) {
+		// read only instances are not tracked
+		if (this.readOnly) {
+			return;
+		}
+
 		if ((this.collectionsChanged.size() == 0) && !this.changed) {
 			this.session.setChanged(this);
 		}
@@ -1017,6 +1215,20 @@ public class ManagedInstance<X> {
 		this.loadingFromCache = loadingFromCache;
 	}
 
+	/**
+	 * Sets if the instance is read only.
+	 * <p>
+	 * The changes to the read only instances are not tracked and are not flushed.
+	 * 
+	 * @param readOnly
+	 *            true if the instance is read only, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public void setReadOnly(boolean readOnly) {
+		this.readOnly = readOnly;
+	}
+
 	/**
 	 * Marks the instance as refreshing.
 	 * 
@@ -1029,6 +1241,18 @@ public class ManagedInstance<X> {
 		this.refreshing = refreshing;
 	}
 
+	/**
+	 * Marks the instance as stale.
+	 * 
+	 * @param stale
+	 *            stale to set
+	 * 
+	 * @since 2.0.1
+	 */
+	public void setStale(boolean stale) {
+		this.stale = stale;
+	}
+
 	/**
 	 * Sets the status.
 	 * 
@@ -1054,9 +1278,21 @@ public class ManagedInstance<X> {
 	private void snapshot() {
 		ManagedInstance.LOG.trace("Snapshot generated for instance {0}", this);
 
-		if (this.snapshot.size() == 0) {
-			for (final AbstractMapping<?, ?, ?> mapping : this.type.getMappingsSingular()) {
-				this.snapshot.put(mapping, mapping.get(this.instance));
+		if (this.snapshot == null) {
+			final AbstractMapping<?, ?, ?>[] mappings = this.type.getMappingsSingular();
+
+			final Object[] snapshot = new Object[mappings.length];
+			for (int i = 0; i < mappings.length; i++) {
+				snapshot[i] = mappings[i].get(this.instance);
+			}
+
+			this.snapshot = snapshot;
+
+			// the dirty mask of a woven instance tracks the changes since the snapshot
+			if (this.instance instanceof WeavedInstance) {
+				((WeavedInstance) this.instance).__weaved__$$__clearDirty();
+
+				this.dirtyMask = true;
 			}
 		}
 	}
@@ -1083,4 +1319,23 @@ public class ManagedInstance<X> {
 			+ ", status=" + this.status //
 			+ ", id=" + (this.id != null ? this.id.getId() : null) + "]";
 	}
+
+	/**
+	 * Marks the lazy basic attributes of the instance as not loaded.
+	 * <p>
+	 * The instances that are not enhanced cannot intercept the access so their lazy attributes are loaded immediately.
+	 * 
+	 * @since 2.0.1
+	 */
+	public void unloadLazyBasics() {
+		if (this.type.getBasicMappingsLazy().length == 0) {
+			return;
+		}
+
+		this.lazyBasicsPending = true;
+
+		if (!(this.instance instanceof EnhancedInstance)) {
+			this.loadLazyBasics();
+		}
+	}
 }
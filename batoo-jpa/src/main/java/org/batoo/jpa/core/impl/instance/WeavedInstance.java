@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.batoo.jpa.core.impl.instance;
+
+/**
+ * Interface implemented by the persistent classes woven by the {@link Weaver}.
+ * <p>
+ * Woven classes record the writes to their persistent fields in a dirty mask so that only the written fields are compared with the
+ * snapshot of the instance.
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public interface WeavedInstance {
+
+	/**
+	 * Clears the dirty mask of the instance.
+	 * 
+	 * @since 2.0.1
+	 */
+	void __weaved__$$__clearDirty();
+
+	/**
+	 * Returns the dirty mask of the instance.
+	 * <p>
+	 * The bits of the mask correspond to the fields returned by {@link Weaver#getTrackedFields(Class)}.
+	 * 
+	 * @return the dirty mask of the instance
+	 * 
+	 * @since 2.0.1
+	 */
+	long __weaved__$$__getDirty();
+}
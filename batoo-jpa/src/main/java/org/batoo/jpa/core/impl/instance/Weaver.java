@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.batoo.jpa.core.impl.instance;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.Entity;
+import javax.persistence.MappedSuperclass;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.Attribute;
+import org.objectweb.asm.ClassAdapter;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodAdapter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * The helper class to weave the persistent classes in place.
+ * <p>
+ * The writes to the persistent fields of a woven class, other than the ones in the constructors, set the bit of the field in the dirty
+ * mask of the instance. The bits are assigned to the private, non static, non final and non transient fields declared by the class, in the
+ * order of their names, up to {@link #MAX_TRACKED_FIELDS}. The fields declared by the super classes are not tracked by the mask of the class.
+ * <p>
+ * A set bit only means the field is written, the value may still be the same. The fields with their bits set are compared with the
+ * snapshots, the others are skipped.
+ * <p>
+ * The non private fields may be written by the other classes, hence they are not tracked and are checked against the snapshots. For the
+ * same reason the classes that have nest mates, the nested classes and the classes that declare nested classes when compiled for Java 11
+ * or later, are not woven at all. The older compilers route the writes of the nested classes through synthetic accessors of the class,
+ * which are woven like the other methods.
+ * <p>
+ * The reflective writes to the private fields bypass the mask as well. The instances written reflectively must be applied with
+ * {@link javax.persistence.EntityManager#merge(Object)}, which compares all the fields with the snapshots.
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public final class Weaver {
+
+	private static class Inspector extends ClassAdapter {
+
+		private boolean persistent;
+		private boolean weaved;
+		private boolean nestMate;
+		private final List<String> fields = Lists.newArrayList();
+
+		public Inspector() {
+			super(new ClassWriter(0));
+		}
+
+		@Override
+		public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+			this.weaved = (interfaces != null) && Arrays.asList(interfaces).contains(Weaver.INTERNAL_WEAVED_INSTANCE);
+
+			super.visit(version, access, name, signature, superName, interfaces);
+		}
+
+		@Override
+		public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+			if (Weaver.DESCRIPTOR_ENTITY.equals(desc) || Weaver.DESCRIPTOR_MAPPED_SUPERCLASS.equals(desc)) {
+				this.persistent = true;
+			}
+
+			return super.visitAnnotation(desc, visible);
+		}
+
+		@Override
+		public void visitAttribute(Attribute attr) {
+			if (Weaver.ATTRIBUTE_NEST_HOST.equals(attr.type) || Weaver.ATTRIBUTE_NEST_MEMBERS.equals(attr.type)) {
+				this.nestMate = true;
+			}
+
+			super.visitAttribute(attr);
+		}
+
+		@Override
+		public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+			if (Weaver.isTracked(access)) {
+				this.fields.add(name);
+			}
+
+			return super.visitField(access, name, desc, signature, value);
+		}
+	}
+
+	private static class WeavingAdapter extends ClassAdapter {
+
+		private final Map<String, Long> bits;
+		private final Map<String, String> descs = Maps.newTreeMap();
+		private String className;
+
+		public WeavingAdapter(ClassVisitor cv, Map<String, Long> bits) {
+			super(cv);
+
+			this.bits = bits;
+		}
+
+		@Override
+		public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+			this.className = name;
+
+			final List<String> _interfaces = Lists.newArrayList();
+			if (interfaces != null) {
+				_interfaces.addAll(Arrays.asList(interfaces));
+			}
+			_interfaces.add(Weaver.INTERNAL_WEAVED_INSTANCE);
+
+			super.visit(version, access, name, signature, superName, _interfaces.toArray(new String[_interfaces.size()]));
+		}
+
+		@Override
+		public void visitEnd() {
+			this.cv.visitField(Opcodes.ACC_PRIVATE + Opcodes.ACC_TRANSIENT, Weaver.FIELD_DIRTY, Weaver.DESCRIPTOR_LONG, null, null).visitEnd();
+
+			Weaver.createMethodGetDirty(this.cv, this.className);
+			Weaver.createMethodClearDirty(this.cv, this.className);
+
+			for (final Map.Entry<String, String> entry : this.descs.entrySet()) {
+				Weaver.createMethodSet(this.cv, this.className, entry.getKey(), entry.getValue(), this.bits.get(entry.getKey()));
+			}
+
+			super.visitEnd();
+		}
+
+		@Override
+		public FieldVisitor visitField(int access, String name, String desc, String signature, Object value) {
+			if (this.bits.containsKey(name)) {
+				this.descs.put(name, desc);
+			}
+
+			return super.visitField(access, name, desc, signature, value);
+		}
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+			final MethodVisitor mv = super.visitMethod(access, name, desc, signature, exceptions);
+
+			// the writes in the constructors are the initial state of the instance
+			if ((mv == null) || Weaver.CONSTRUCTOR_INIT.equals(name) || Weaver.STATIC_INIT.equals(name)) {
+				return mv;
+			}
+
+			return new MethodAdapter(mv) {
+
+				@Override
+				public void visitFieldInsn(int opcode, String owner, String fieldName, String fieldDesc) {
+					// this.field = value; -> __weaved_$$__set$field(this, value);
+					if ((opcode == Opcodes.PUTFIELD) && owner.equals(WeavingAdapter.this.className) && WeavingAdapter.this.bits.containsKey(fieldName)) {
+						super.visitMethodInsn(Opcodes.INVOKESTATIC, owner, Weaver.METHOD_SET_PREFIX + fieldName,
+							Weaver.makeSetDescription(owner, fieldDesc));
+					}
+					else {
+						super.visitFieldInsn(opcode, owner, fieldName, fieldDesc);
+					}
+				}
+			};
+		}
+	}
+
+	/**
+	 * The maximum number of fields tracked by the dirty mask.
+	 */
+	public static final int MAX_TRACKED_FIELDS = 64;
+
+	private static final String ATTRIBUTE_NEST_HOST = "NestHost";
+	private static final String ATTRIBUTE_NEST_MEMBERS = "NestMembers";
+
+	private static final String CONSTRUCTOR_INIT = "<init>";
+	private static final String STATIC_INIT = "<clinit>";
+
+	private static final String FIELD_DIRTY = "__weaved_$$__dirty";
+
+	private static final String METHOD_CLEAR_DIRTY = "__weaved__$$__clearDirty";
+	private static final String METHOD_GET_DIRTY = "__weaved__$$__getDirty";
+	private static final String METHOD_SET_PREFIX = "__weaved_$$__set$";
+
+	private static final String DESCRIPTOR_LONG = Type.getDescriptor(Long.TYPE);
+	private static final String DESCRIPTOR_ENTITY = Type.getDescriptor(Entity.class);
+	private static final String DESCRIPTOR_MAPPED_SUPERCLASS = Type.getDescriptor(MappedSuperclass.class);
+
+	private static final String INTERNAL_WEAVED_INSTANCE = Type.getInternalName(WeavedInstance.class);
+
+	private static void createMethodClearDirty(ClassVisitor cv, String className) {
+		final MethodVisitor mv = cv.visitMethod(Opcodes.ACC_PUBLIC, Weaver.METHOD_CLEAR_DIRTY, "()V", null, null);
+		mv.visitCode();
+
+		// this.__weaved_$$__dirty = 0;
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitInsn(Opcodes.LCONST_0);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, className, Weaver.FIELD_DIRTY, Weaver.DESCRIPTOR_LONG);
+		mv.visitInsn(Opcodes.RETURN);
+
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	private static void createMethodGetDirty(ClassVisitor cv, String className) {
+		final MethodVisitor mv = cv.visitMethod(Opcodes.ACC_PUBLIC, Weaver.METHOD_GET_DIRTY, "()" + Weaver.DESCRIPTOR_LONG, null, null);
+		mv.visitCode();
+
+		// return this.__weaved_$$__dirty;
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, className, Weaver.FIELD_DIRTY, Weaver.DESCRIPTOR_LONG);
+		mv.visitInsn(Opcodes.LRETURN);
+
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	private static void createMethodSet(ClassVisitor cv, String className, String fieldName, String fieldDesc, long bit) {
+		final MethodVisitor mv = cv.visitMethod(Opcodes.ACC_PRIVATE + Opcodes.ACC_STATIC + Opcodes.ACC_SYNTHETIC, Weaver.METHOD_SET_PREFIX + fieldName,
+			Weaver.makeSetDescription(className, fieldDesc), null, null);
+		mv.visitCode();
+
+		// instance.field = value;
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Type.getType(fieldDesc).getOpcode(Opcodes.ILOAD), 1);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, className, fieldName, fieldDesc);
+
+		// instance.__weaved_$$__dirty |= bit;
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitInsn(Opcodes.DUP);
+		mv.visitFieldInsn(Opcodes.GETFIELD, className, Weaver.FIELD_DIRTY, Weaver.DESCRIPTOR_LONG);
+		mv.visitLdcInsn(Long.valueOf(bit));
+		mv.visitInsn(Opcodes.LOR);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, className, Weaver.FIELD_DIRTY, Weaver.DESCRIPTOR_LONG);
+		mv.visitInsn(Opcodes.RETURN);
+
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	/**
+	 * Returns the fields tracked by the dirty mask of the woven class.
+	 * 
+	 * @param weavedClass
+	 *            the woven class
+	 * @return the list of fields indexed by their bits in the dirty mask
+	 * 
+	 * @since 2.0.1
+	 */
+	public static List<Field> getTrackedFields(Class<?> weavedClass) {
+		final List<Field> fields = Lists.newArrayList();
+
+		for (final Field field : weavedClass.getDeclaredFields()) {
+			if (!field.isSynthetic() && Weaver.isTracked(field.getModifiers())) {
+				fields.add(field);
+			}
+		}
+
+		Collections.sort(fields, new Comparator<Field>() {
+
+			@Override
+			public int compare(Field o1, Field o2) {
+				return o1.getName().compareTo(o2.getName());
+			}
+		});
+
+		return fields.size() > Weaver.MAX_TRACKED_FIELDS ? fields.subList(0, Weaver.MAX_TRACKED_FIELDS) : fields;
+	}
+
+	/**
+	 * Returns the class in the hierarchy of the class that owns the dirty mask of the instances.
+	 * 
+	 * @param clazz
+	 *            the class
+	 * @return the woven class or <code>null</code> if the class is not woven
+	 * 
+	 * @since 2.0.1
+	 */
+	public static Class<?> getWeavedClass(Class<?> clazz) {
+		if (!WeavedInstance.class.isAssignableFrom(clazz)) {
+			return null;
+		}
+
+		Class<?> currentClass = clazz;
+		while (currentClass != Object.class) {
+			try {
+				currentClass.getDeclaredField(Weaver.FIELD_DIRTY);
+
+				return currentClass;
+			}
+			catch (final NoSuchFieldException e) {
+				currentClass = currentClass.getSuperclass();
+			}
+		}
+
+		return null;
+	}
+
+	private static boolean isTracked(int modifiers) {
+		// only the private fields are tracked as the writes to the others from the other classes cannot be intercepted
+		if ((modifiers & Opcodes.ACC_PRIVATE) == 0) {
+			return false;
+		}
+
+		return (modifiers & (Opcodes.ACC_STATIC | Opcodes.ACC_FINAL | Opcodes.ACC_TRANSIENT | Opcodes.ACC_SYNTHETIC)) == 0;
+	}
+
+	private static String makeSetDescription(String className, String fieldDesc) {
+		return "(L" + className + ";" + fieldDesc + ")V";
+	}
+
+	/**
+	 * Weaves the persistent class.
+	 * 
+	 * @param byteCode
+	 *            the byte code of the class
+	 * @return the byte code of the woven class or <code>null</code> if the class is not an entity or a mapped superclass, it is
+	 *         already woven or it has nest mates
+	 * 
+	 * @since 2.0.1
+	 */
+	public static byte[] weave(byte[] byteCode) {
+		final ClassReader reader = new ClassReader(byteCode);
+
+		final Inspector inspector = new Inspector();
+		reader.accept(inspector, ClassReader.SKIP_CODE + ClassReader.SKIP_DEBUG + ClassReader.SKIP_FRAMES);
+
+		// the nest mates write the private fields directly, those writes would not set the bits
+		if (!inspector.persistent || inspector.weaved || inspector.nestMate) {
+			return null;
+		}
+
+		final List<String> fields = inspector.fields;
+		Collections.sort(fields);
+
+		final Map<String, Long> bits = Maps.newHashMap();
+		for (int i = 0; (i < fields.size()) && (i < Weaver.MAX_TRACKED_FIELDS); i++) {
+			bits.put(fields.get(i), 1L << i);
+		}
+
+		final ClassWriter writer = new ClassWriter(reader, ClassWriter.COMPUTE_MAXS);
+		reader.accept(new WeavingAdapter(writer, bits), 0);
+
+		return writer.toByteArray();
+	}
+
+	private Weaver() {
+		super();
+	}
+}
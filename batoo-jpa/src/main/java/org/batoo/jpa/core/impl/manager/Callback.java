@@ -20,14 +20,22 @@
 package org.batoo.jpa.core.impl.manager;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 
 import javax.persistence.PersistenceException;
 
+import org.batoo.common.log.BLogger;
+import org.batoo.common.log.BLoggerFactory;
+import org.batoo.jpa.core.impl.instance.Enhancer;
 import org.batoo.jpa.parser.AbstractLocator;
 import org.batoo.jpa.parser.MappingException;
 import org.batoo.jpa.parser.metadata.EntityListenerMetadata.EntityListenerType;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
 
 /**
  * 
@@ -37,6 +45,19 @@ import org.batoo.jpa.parser.metadata.EntityListenerMetadata.EntityListenerType;
  */
 public class Callback {
 
+	private static final BLogger LOG = BLoggerFactory.getLogger(Callback.class);
+
+	/**
+	 * The suffix for the generated invoker classes
+	 */
+	public static final String SUFFIX_INVOKER = "$Invoker$";
+
+	private static final String CONSTRUCTOR_INIT = "<init>";
+	private static final String METHOD_INVOKE = "invoke";
+
+	private static final String INTERNAL_OBJECT = Type.getInternalName(Object.class);
+	private static final String DESCRIPTOR_INVOKE = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object.class), Type.getType(Object.class));
+
 	/**
 	 * Type of the callback
 	 * 
@@ -59,6 +80,97 @@ public class Callback {
 	private final CallbackType callbackType;
 	private Method method;
 	private Object instance;
+	private CallbackInvoker invoker;
+
+	private static byte[] create(Class<?> clazz, Method method, String invokerClassName) {
+		final String invokerInternalName = invokerClassName.replace('.', '/');
+		final String targetInternalName = Type.getInternalName(clazz);
+		final boolean listener = method.getParameterTypes().length == 1;
+
+		final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC + Opcodes.ACC_FINAL + Opcodes.ACC_SUPER, invokerInternalName, null, Callback.INTERNAL_OBJECT,
+			new String[] { Type.getInternalName(CallbackInvoker.class) });
+
+		// default constructor
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, Callback.CONSTRUCTOR_INIT, "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, Callback.INTERNAL_OBJECT, Callback.CONSTRUCTOR_INIT, "()V");
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// invoke(listener, instance): either listener.method(instance) or instance.method()
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, Callback.METHOD_INVOKE, Callback.DESCRIPTOR_INVOKE, null,
+			new String[] { Type.getInternalName(Exception.class) });
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, listener ? 1 : 2);
+		mv.visitTypeInsn(Opcodes.CHECKCAST, targetInternalName);
+		if (listener) {
+			mv.visitVarInsn(Opcodes.ALOAD, 2);
+		}
+		mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, targetInternalName, method.getName(), Type.getMethodDescriptor(method));
+
+		// discard the return value if any
+		final Type returnType = Type.getReturnType(method);
+		if (returnType.getSize() == 2) {
+			mv.visitInsn(Opcodes.POP2);
+		}
+		else if (returnType.getSize() == 1) {
+			mv.visitInsn(Opcodes.POP);
+		}
+
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+
+		return cw.toByteArray();
+	}
+
+	/**
+	 * Creates the invoker for the callback method, or returns <code>null</code> if an invoker cannot be generated, in which case the
+	 * callback is invoked reflectively.
+	 * 
+	 * @param clazz
+	 *            the class of the entity or the listener
+	 * @param method
+	 *            the callback method
+	 * @return the invoker or <code>null</code>
+	 * 
+	 * @since 2.0.1
+	 */
+	private static CallbackInvoker createInvoker(Class<?> clazz, Method method) {
+		final ClassLoader classLoader = clazz.getClassLoader();
+		if ((classLoader == null) || Modifier.isStatic(method.getModifiers()) || clazz.isInterface()) {
+			return null;
+		}
+
+		final String invokerClassName = clazz.getName() + Callback.SUFFIX_INVOKER + method.getName() + method.getParameterTypes().length;
+
+		try {
+			synchronized (Callback.class) {
+				Class<?> invokerClass;
+				try {
+					invokerClass = Class.forName(invokerClassName, true, classLoader);
+				}
+				catch (final ClassNotFoundException e) {
+					invokerClass = Enhancer.loadClass(classLoader, Callback.create(clazz, method, invokerClassName), invokerClassName);
+				}
+
+				return (CallbackInvoker) invokerClass.newInstance();
+			}
+		}
+		catch (final Exception e) {
+			Callback.LOG.debug(e, "Unable to generate invoker for callback {0}.{1}, falling back to reflection", clazz.getName(), method.getName());
+		}
+		catch (final LinkageError e) {
+			Callback.LOG.debug(e, "Unable to generate invoker for callback {0}.{1}, falling back to reflection", clazz.getName(), method.getName());
+		}
+
+		return null;
+	}
 
 	/**
 	 * @param locator
@@ -104,6 +216,8 @@ public class Callback {
 		catch (final Exception e) {
 			throw new MappingException("Unable to map callback " + clazz.getName() + "." + name, locator);
 		}
+
+		this.invoker = Callback.createInvoker(clazz, this.method);
 	}
 
 	/**
@@ -116,7 +230,10 @@ public class Callback {
 	 */
 	public void fire(Object instance) {
 		try {
-			if (this.callbackType == CallbackType.CALLBACK) {
+			if (this.invoker != null) {
+				this.invoker.invoke(this.instance, instance);
+			}
+			else if (this.callbackType == CallbackType.CALLBACK) {
 				this.method.invoke(instance);
 			}
 			else {
@@ -32,15 +32,26 @@ public class CallbackAvailability {
 	private boolean postWrite;
 	private boolean postLoad;
 
+	/**
+	 * Returns if there is PostLoad callbacks.
+	 * 
+	 * @return true if there is PostLoad callbacks, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean postLoad() {
+		return this.postLoad;
+	}
+
 	/**
 	 * Returns if there is postRemove callbacks.
 	 * 
-	 * @return true if there is PreRemove callbacks, false otherwise
+	 * @return true if there is PostRemove callbacks, false otherwise
 	 * 
 	 * @since 2.0.0
 	 */
 	public boolean postRemove() {
-		return this.preRemove;
+		return this.postRemove;
 	}
 
 	/**
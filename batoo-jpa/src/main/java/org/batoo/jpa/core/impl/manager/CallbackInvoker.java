@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.batoo.jpa.core.impl.manager;
+
+/**
+ * Invoker for a callback method, generated per callback method at deployment to avoid the reflective invocation.
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public interface CallbackInvoker {
+
+	/**
+	 * Invokes the callback method.
+	 * 
+	 * @param listener
+	 *            the listener instance or <code>null</code> if the callback is on the entity
+	 * @param instance
+	 *            the entity instance
+	 * @throws Exception
+	 *             thrown by the callback method
+	 * 
+	 * @since 2.0.1
+	 */
+	void invoke(Object listener, Object instance) throws Exception;
+}
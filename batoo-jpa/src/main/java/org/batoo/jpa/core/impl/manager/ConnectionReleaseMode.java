@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.batoo.jpa.core.impl.manager;
+
+/**
+ * The modes for releasing the connection of the entity manager back to the datasource.
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public enum ConnectionReleaseMode {
+
+	/**
+	 * The connection is released after each query that runs outside a transaction and after each transaction
+	 */
+	AFTER_STATEMENT,
+
+	/**
+	 * The connection is released after each transaction
+	 */
+	AFTER_TRANSACTION,
+
+	/**
+	 * The connection is held until the entity manager is closed
+	 */
+	ON_CLOSE;
+}
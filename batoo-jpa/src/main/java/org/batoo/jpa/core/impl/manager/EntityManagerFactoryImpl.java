@@ -31,6 +31,7 @@ import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import javax.persistence.Cache;
 import javax.persistence.EntityManager;
@@ -57,6 +58,7 @@ import org.batoo.jpa.core.impl.criteria.CriteriaBuilderImpl;
 import org.batoo.jpa.core.impl.criteria.QueryImpl;
 import org.batoo.jpa.core.impl.criteria.jpql.JpqlQuery;
 import org.batoo.jpa.core.impl.deployment.DdlManager;
+import org.batoo.jpa.core.impl.deployment.DeploymentManager;
 import org.batoo.jpa.core.impl.deployment.LinkManager;
 import org.batoo.jpa.core.impl.deployment.NamedQueriesManager;
 import org.batoo.jpa.core.impl.model.MetamodelImpl;
@@ -91,12 +93,15 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Serializa
 
 	private final MetamodelImpl metamodel;
 	private final DDLMode ddlMode;
+	private final ConnectionReleaseMode connectionReleaseMode;
+	private final int sessionHighWaterMark;
 
 	private final DataSourceProxy dataSource;
 
 	private final JdbcAdaptor jdbcAdaptor;
 	private final Map<String, Object> properties = Maps.newHashMap();
-	private final Map<String, JpqlQuery> namedQueries = Maps.newHashMap();
+	private final Map<String, JpqlQuery> namedQueries = Maps.newConcurrentMap();
+	private final Map<String, NamedQueryMetadata> uncompiledNamedQueries = Maps.newHashMap();
 	private final CriteriaBuilderImpl criteriaBuilder;
 	private final PersistenceUnitUtilImpl persistenceUtil;
 
@@ -109,6 +114,7 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Serializa
 	private final Class<?>[] removeValidators;
 
 	private final int maxFetchJoinDepth;
+	private final QueryCache queryCache;
 
 	private boolean open;
 
@@ -154,28 +160,46 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Serializa
 		this.dataSource = this.createDatasource(name, parser);
 
 		this.ddlMode = this.readDdlMode();
+		this.connectionReleaseMode = this.readConnectionReleaseMode(this.getProperty(BJPASettings.CONNECTION_RELEASE_MODE));
+		this.sessionHighWaterMark = this.readSessionHighWaterMark(this.getProperty(BJPASettings.SESSION_HIGH_WATER_MARK));
 
 		this.jdbcAdaptor = this.createJdbcAdaptor();
 		this.metamodel = new MetamodelImpl(this, this.jdbcAdaptor, parser.getMetadata());
 
-		LinkManager.perform(this.metamodel);
+		try {
+			this.queryCache = new QueryCache(this.metamodel, this.getProperty(BJPASettings.QUERY_CACHE_SIZE) != null ? //
+				Integer.valueOf(((String) this.getProperty(BJPASettings.QUERY_CACHE_SIZE))) : //
+				BJPASettings.DEFAULT_QUERY_CACHE_SIZE);
+		}
+		catch (final NumberFormatException e) {
+			throw new IllegalArgumentException("Illegal value " + this.getProperty(BJPASettings.QUERY_CACHE_SIZE) + " for "
+				+ BJPASettings.QUERY_CACHE_SIZE);
+		}
 
-		this.metamodel.checkTables();
+		final ExecutorService deploymentExecutor = DeploymentManager.createExecutor();
+		try {
+			LinkManager.perform(this.metamodel, deploymentExecutor);
 
-		// drop all tables if ddl mode is drop
-		if (this.ddlMode == DDLMode.DROP) {
-			this.metamodel.dropAllTables(this.dataSource);
-		}
+			this.metamodel.checkTables();
 
-		DdlManager.perform(this.dataSource, this.metamodel, this.ddlMode);
+			// drop all tables if ddl mode is drop
+			if (this.ddlMode == DDLMode.DROP) {
+				this.metamodel.dropAllTables(this.dataSource);
+			}
+
+			DdlManager.perform(this.dataSource, this.metamodel, this.ddlMode, deploymentExecutor);
 
-		this.metamodel.performSequencesDdl(this.dataSource, this.ddlMode);
-		this.metamodel.performTableGeneratorsDdl(this.dataSource, this.ddlMode);
+			this.metamodel.performSequencesDdl(this.dataSource, this.ddlMode);
+			this.metamodel.performTableGeneratorsDdl(this.dataSource, this.ddlMode);
 
-		this.metamodel.preFillGenerators(this.dataSource);
-		this.criteriaBuilder = new CriteriaBuilderImpl(this.metamodel);
+			this.metamodel.preFillGenerators(this.dataSource);
+			this.criteriaBuilder = new CriteriaBuilderImpl(this.metamodel);
 
-		NamedQueriesManager.perform(this.metamodel, this.criteriaBuilder);
+			NamedQueriesManager.perform(this.metamodel, this.criteriaBuilder, deploymentExecutor);
+		}
+		finally {
+			deploymentExecutor.shutdownNow();
+		}
 
 		// lets init static metamodel class if exist
 		this.metamodel.initStaticMetamodels();
@@ -185,7 +209,6 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Serializa
 
 		this.jdbcAdaptor.importSql(this.classloader, this.dataSource, (String) this.getProperties().get(BJPASettings.IMPORT_SQL));
 
-        BatooUtils.gaBoot(this.properties);
 		this.open = true;
 	}
 
@@ -199,14 +222,34 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Serializa
 	 * 
 	 * @since 2.0.0
 	 */
-	public void addNamedQuery(String name, JpqlQuery jpqlQuery) {
-		if (this.namedQueries.containsKey(name)) {
+	public synchronized void addNamedQuery(String name, JpqlQuery jpqlQuery) {
+		if (this.namedQueries.containsKey(name) || this.uncompiledNamedQueries.containsKey(name)) {
 			throw new IllegalArgumentException("A named query with the same name already exists: " + name);
 		}
 
 		this.namedQueries.put(name, jpqlQuery);
 	}
 
+	/**
+	 * Adds the named query to the entity manager factory to be compiled on its first use.
+	 * <p>
+	 * The query is expected to be verified at build time, which only checks its syntax. The entities and the attributes the query refers
+	 * to are resolved against the metamodel when the query is compiled, so such errors are reported on the first use of the query rather
+	 * than at deployment.
+	 * 
+	 * @param metadata
+	 *            the metadata of the named query
+	 * 
+	 * @since 2.0.1
+	 */
+	public synchronized void addNamedQuery(NamedQueryMetadata metadata) {
+		if (this.namedQueries.containsKey(metadata.getName()) || this.uncompiledNamedQueries.containsKey(metadata.getName())) {
+			throw new IllegalArgumentException("A named query with the same name already exists: " + metadata.getName());
+		}
+
+		this.uncompiledNamedQueries.put(metadata.getName(), metadata);
+	}
+
 	/**
 	 * Adds the query to the named queries.
 	 * 
@@ -250,6 +293,40 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Serializa
 		});
 	}
 
+	/**
+	 * Compiles the named query that has been deferred to its first use.
+	 * 
+	 * @param name
+	 *            the name of the query
+	 * @return the compiled query or <code>null</code> if there is no such named query
+	 * 
+	 * @since 2.0.1
+	 */
+	private synchronized JpqlQuery compileNamedQuery(String name) {
+		final NamedQueryMetadata metadata = this.uncompiledNamedQueries.get(name);
+		if (metadata == null) {
+			// either no such query or compiled by another thread in the meantime
+			return this.namedQueries.get(name);
+		}
+
+		EntityManagerFactoryImpl.LOG.debug("Compiling named query {0} on first use...", name);
+
+		// the compiled query takes the place of the uncompiled one
+		this.uncompiledNamedQueries.remove(name);
+
+		try {
+			new JpqlQuery(this, this.criteriaBuilder, metadata);
+		}
+		catch (final RuntimeException e) {
+			// keep the query uncompiled so that the failure is reported on every use
+			this.uncompiledNamedQueries.put(name, metadata);
+
+			throw e;
+		}
+
+		return this.namedQueries.get(name);
+	}
+
 	/**
 	 * Checks if the entity manager factory is open.
 	 * 
@@ -419,6 +496,30 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Serializa
 		}
 	}
 
+	/**
+	 * Creates a new stateless entity manager that keeps no persistence context.
+	 * 
+	 * @return the stateless entity manager
+	 * 
+	 * @since 2.0.1
+	 */
+	public StatelessEntityManager createStatelessEntityManager() {
+		return new StatelessEntityManager((EntityManagerImpl) this.createEntityManager());
+	}
+
+	/**
+	 * Creates a new stateless entity manager that keeps no persistence context with the properties.
+	 * 
+	 * @param properties
+	 *            the properties of the entity manager
+	 * @return the stateless entity manager
+	 * 
+	 * @since 2.0.1
+	 */
+	public StatelessEntityManager createStatelessEntityManager(Map<String, Object> properties) {
+		return new StatelessEntityManager((EntityManagerImpl) this.createEntityManager(properties));
+	}
+
 	private ValidatorFactory createValidationFactory() {
 		try {
 			return Validation.buildDefaultValidatorFactory();
@@ -456,6 +557,25 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Serializa
 		return this.classloader;
 	}
 
+	/**
+	 * Returns the connection release mode for an entity manager, either by the property of the entity manager or by the property of the
+	 * entity manager factory.
+	 * 
+	 * @param properties
+	 *            the properties of the entity manager, may be <code>null</code>
+	 * @return the connection release mode
+	 * 
+	 * @since 2.0.1
+	 */
+	public ConnectionReleaseMode getConnectionReleaseMode(Map<String, Object> properties) {
+		final Object value = properties != null ? properties.get(BJPASettings.CONNECTION_RELEASE_MODE) : null;
+		if (value == null) {
+			return this.connectionReleaseMode;
+		}
+
+		return this.readConnectionReleaseMode(value);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -577,7 +697,12 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Serializa
 	 * @since 2.0.0
 	 */
 	public JpqlQuery getNamedQuery(String name) {
-		return this.namedQueries.get(name);
+		final JpqlQuery namedQuery = this.namedQueries.get(name);
+		if (namedQuery != null) {
+			return namedQuery;
+		}
+
+		return this.compileNamedQuery(name);
 	}
 
 	/**
@@ -622,6 +747,17 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Serializa
 		return this.properties.get(key);
 	}
 
+	/**
+	 * Returns the query cache of the entity manager factory.
+	 * 
+	 * @return the query cache
+	 * 
+	 * @since 2.0.1
+	 */
+	public QueryCache getQueryCache() {
+		return this.queryCache;
+	}
+
 	/**
 	 * Returns the set of remove validators.
 	 * 
@@ -633,6 +769,25 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Serializa
 		return this.removeValidators;
 	}
 
+	/**
+	 * Returns the session high water mark for an entity manager, either by the property of the entity manager or by the property of the
+	 * entity manager factory.
+	 * 
+	 * @param properties
+	 *            the properties of the entity manager, may be <code>null</code>
+	 * @return the session high water mark, 0 if disabled
+	 * 
+	 * @since 2.0.1
+	 */
+	public int getSessionHighWaterMark(Map<String, Object> properties) {
+		final Object value = properties != null ? properties.get(BJPASettings.SESSION_HIGH_WATER_MARK) : null;
+		if (value == null) {
+			return this.sessionHighWaterMark;
+		}
+
+		return this.readSessionHighWaterMark(value);
+	}
+
 	/**
 	 * Returns the set of update validators.
 	 * 
@@ -712,6 +867,19 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Serializa
         this.properties.putAll(BatooUtils.loadRuntimeProperties());
     }
 
+	private ConnectionReleaseMode readConnectionReleaseMode(Object value) {
+		if (value == null) {
+			return ConnectionReleaseMode.ON_CLOSE;
+		}
+
+		try {
+			return ConnectionReleaseMode.valueOf(value.toString().toUpperCase(Locale.ENGLISH));
+		}
+		catch (final IllegalArgumentException e) {
+			throw new IllegalArgumentException("Illegal value " + value + " for " + BJPASettings.CONNECTION_RELEASE_MODE);
+		}
+	}
+
 	private DDLMode readDdlMode() {
 		final String ddlMode = (String) this.getProperty(BJPASettings.DDL);
 
@@ -722,6 +890,24 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Serializa
 		return DDLMode.valueOf(ddlMode.toUpperCase());
 	}
 
+	private int readSessionHighWaterMark(Object value) {
+		if (value == null) {
+			return 0;
+		}
+
+		try {
+			final int sessionHighWaterMark = Integer.parseInt(value.toString().trim());
+			if (sessionHighWaterMark >= 0) {
+				return sessionHighWaterMark;
+			}
+		}
+		catch (final NumberFormatException e) {
+			// noop
+		}
+
+		throw new IllegalArgumentException("Illegal value " + value + " for " + BJPASettings.SESSION_HIGH_WATER_MARK);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -92,10 +92,12 @@ public class EntityManagerImpl implements EntityManager {
 	private boolean open;
 
 	private Connection connection;
+	private final ConnectionReleaseMode connectionReleaseMode;
 	private EntityTransactionImpl transaction;
 
 	private FlushModeType flushMode;
 	private boolean inFlush;
+	private boolean lobLocatorsWarned;
 
 	/**
 	 * @param entityManagerFactory
@@ -119,11 +121,12 @@ public class EntityManagerImpl implements EntityManager {
 		this.metamodel = metamodel;
 		this.datasource = datasource;
 		this.jdbcAdaptor = jdbcAdaptor;
-		this.session = new SessionImpl(this, metamodel);
+		this.session = new SessionImpl(this, metamodel, this.emf.getSessionHighWaterMark(properties));
 		this.criteriaBuilder = this.emf.getCriteriaBuilder();
 
 		this.properties = properties;
 		this.flushMode = FlushModeType.AUTO;
+		this.connectionReleaseMode = this.emf.getConnectionReleaseMode(properties);
 
 		this.open = true;
 	}
@@ -242,6 +245,12 @@ public class EntityManagerImpl implements EntityManager {
 	 */
 	public void clearTransaction() {
 		this.transaction = null;
+
+		this.session.releaseModifiedTables();
+
+		if (this.connectionReleaseMode != ConnectionReleaseMode.ON_CLOSE) {
+			this.closeConnection();
+		}
 	}
 
 	/**
@@ -280,11 +289,15 @@ public class EntityManagerImpl implements EntityManager {
 	}
 
 	/**
-	 * Closes the connection if the connections is obtained from JTA managed datasource.
+	 * Closes the connection if the connections is obtained from JTA managed datasource, or if the connection is released after each
+	 * statement and there is no transaction and no query is loading.
 	 * 
 	 * @since 2.0.0
 	 */
 	public void closeConnectionIfNecessary() {
+		if ((this.connectionReleaseMode == ConnectionReleaseMode.AFTER_STATEMENT) && (this.transaction == null) && !this.session.isLoading()) {
+			this.closeConnection();
+		}
 	}
 
 	/**
@@ -482,12 +495,14 @@ public class EntityManagerImpl implements EntityManager {
 
 		try {
 			final ManagedInstance<? extends T> instance = this.session.get(new ManagedId<T>(primaryKey, type));
-			if (instance != null) {
+
+			// stale instances are reloaded by the select
+			if ((instance != null) && !instance.isStale()) {
 				if (instance.getInstance() instanceof EnhancedInstance) {
 					final EnhancedInstance enhanced = (EnhancedInstance) instance.getInstance();
 					if (enhanced.__enhanced__$$__isInitialized()) {
 
-						this.lock(instance, lockMode, properties);
+						this.lockRow(instance, lockMode, properties);
 
 						return instance.getInstance();
 					}
@@ -497,7 +512,7 @@ public class EntityManagerImpl implements EntityManager {
 						return null;
 					}
 
-					this.lock(instance, lockMode, properties);
+					this.lockRow(instance, lockMode, properties);
 
 					return instance.getInstance();
 				}
@@ -507,6 +522,11 @@ public class EntityManagerImpl implements EntityManager {
 				return type.performSelect(this, primaryKey, lockMode);
 			}
 			catch (final NoResultException e) {
+				// the row of the stale instance is gone
+				if (instance != null) {
+					this.session.evict(instance);
+				}
+
 				return null;
 			}
 		}
@@ -817,6 +837,18 @@ public class EntityManagerImpl implements EntityManager {
 				throw new PersistenceException("Unabled to update the version", e);
 			}
 		}
+
+		// the version is updated at flush, read only instances are not flushed so their version is updated right away
+		if ((lockMode == LockModeType.PESSIMISTIC_FORCE_INCREMENT) && instance.getType().getRootType().hasVersionAttribute()) {
+			this.assertTransaction();
+
+			try {
+				instance.incrementVersion(this.getConnection(), instance.isReadOnly());
+			}
+			catch (final SQLException e) {
+				throw new PersistenceException("Unabled to update the version", e);
+			}
+		}
 	}
 
 	/**
@@ -834,7 +866,57 @@ public class EntityManagerImpl implements EntityManager {
 	 */
 	@Override
 	public void lock(Object entity, LockModeType lockMode, Map<String, Object> properties) {
-		this.lock(this.session.get(entity), lockMode, properties);
+		final ManagedInstance<?> instance = this.session.get(entity);
+		if (instance == null) {
+			throw new IllegalArgumentException("entity is not managed");
+		}
+
+		this.lockRow(instance, lockMode, properties);
+	}
+
+	/**
+	 * Locks the managed instance that is already loaded into the session.
+	 * <p>
+	 * The pessimistic locks are taken with a locking select of the row, which also applies the version increment of
+	 * PESSIMISTIC_FORCE_INCREMENT.
+	 * 
+	 * @param instance
+	 *            the managed instance
+	 * @param lockMode
+	 *            the lock mode
+	 * @param properties
+	 *            the properties
+	 * 
+	 * @since 2.0.1
+	 */
+	private void lockRow(ManagedInstance<?> instance, LockModeType lockMode, Map<String, Object> properties) {
+		if ((lockMode == LockModeType.PESSIMISTIC_READ) || (lockMode == LockModeType.PESSIMISTIC_WRITE)
+			|| (lockMode == LockModeType.PESSIMISTIC_FORCE_INCREMENT)) {
+			this.assertTransaction();
+
+			instance.getType().performSelect(this, instance.getId().getId(), lockMode);
+
+			return;
+		}
+
+		this.lock(instance, lockMode, properties);
+	}
+
+	/**
+	 * Marks the entity manager as warned that the lob locators are read outside of a transaction.
+	 * 
+	 * @return true if the entity manager has not been warned before, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean markLobLocatorsWarned() {
+		if (this.lobLocatorsWarned) {
+			return false;
+		}
+
+		this.lobLocatorsWarned = true;
+
+		return true;
 	}
 
 	/**
@@ -990,6 +1072,13 @@ public class EntityManagerImpl implements EntityManager {
 		for (final ManagedInstance<?> instance : persistedInstances) {
 			instance.fireCallbacks(EntityListenerType.PRE_PERSIST);
 		}
+
+		// in batch mode keep the session bounded, by now the cascades of the persist are complete
+		if (!this.inFlush && this.session.isOverHighWaterMark()) {
+			this.flush();
+
+			this.session.evictClean();
+		}
 	}
 
 	/**
@@ -1019,6 +1108,12 @@ public class EntityManagerImpl implements EntityManager {
 			return false;
 		}
 
+		// the cascades keep referring to the entities evicted at the high water mark, those are already persisted. The entity passed to
+		// persist(Object) is the first one processed, the rest are reached by the cascades
+		if (!processed.isEmpty() && this.session.isEvicted(entity)) {
+			return false;
+		}
+
 		if (entity instanceof EnhancedInstance) {
 			final ManagedInstance<T> instance = (ManagedInstance<T>) ((EnhancedInstance) entity).__enhanced__$$__getManagedInstance();
 			if (instance.getStatus() == Status.DETACHED) {
@@ -1047,6 +1142,7 @@ public class EntityManagerImpl implements EntityManager {
 		final Class<T> clazz = (Class<T>) (entity instanceof EnhancedInstance ? entity.getClass().getSuperclass() : entity.getClass());
 
 		final EntityTypeImpl<T> type = this.metamodel.entity(clazz);
+
 		final ManagedInstance<T> instance = type.getManagedInstance(this.session, entity);
 
 		instance.setStatus(Status.NEW);
@@ -145,13 +145,20 @@ public class EntityTransactionImpl implements EntityTransaction {
 		this.assertValid();
 
 		try {
-			this.connection.rollback();
-
-			this.em.clearTransaction();
+			try {
+				this.connection.rollback();
+			}
+			finally {
+				// restore the auto commit before the connection goes back to the pool
+				this.connection.setAutoCommit(true);
+			}
 		}
 		catch (final SQLException e) {
 			throw new PersistenceException("Unable to rollback transaction", e);
 		}
+		finally {
+			this.em.clearTransaction();
+		}
 	}
 
 	/**
@@ -168,6 +168,7 @@ public class JtaEntityManagerImpl extends EntityManagerImpl {
 
 					@Override
 					public void afterCompletion(int status) {
+						JtaEntityManagerImpl.this.getSession().releaseModifiedTables();
 						JtaEntityManagerImpl.this.closeConnection();
 					}
 
@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.impl.manager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.persistence.metamodel.EntityType;
+
+import org.batoo.common.log.BLogger;
+import org.batoo.common.log.BLoggerFactory;
+import org.batoo.jpa.core.impl.model.EntityTypeImpl;
+import org.batoo.jpa.core.impl.model.MetamodelImpl;
+import org.batoo.jpa.core.impl.model.mapping.AssociationMappingImpl;
+import org.batoo.jpa.core.impl.model.mapping.PluralMappingEx;
+import org.batoo.jpa.jdbc.AbstractTable;
+import org.batoo.jpa.jdbc.EntityTable;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * The cache of the query results.
+ * <p>
+ * The cache is keyed by the SQL and the parameters of the query. Each table has a modification stamp that is bumped when the table is
+ * modified, and a cached result is valid only if none of the tables referenced by its SQL is modified after the result has been read.
+ * The cache holds at most the configured number of results and evicts the least recently used ones.
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public class QueryCache {
+
+	/**
+	 * The key of the cached results.
+	 * 
+	 * @author hceylan
+	 * @since 2.0.1
+	 */
+	private static class Key {
+
+		private final String sql;
+		private final Object[] parameters;
+		private final int hashCode;
+
+		public Key(String sql, Object[] parameters) {
+			super();
+
+			this.sql = sql;
+			this.parameters = parameters;
+			this.hashCode = (31 * sql.hashCode()) + Arrays.deepHashCode(parameters);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			final Key other = (Key) obj;
+
+			return this.sql.equals(other.sql) && Arrays.deepEquals(this.parameters, other.parameters);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+	/**
+	 * The cached results.
+	 * 
+	 * @author hceylan
+	 * @since 2.0.1
+	 */
+	private static class Result {
+
+		private final List<Object[]> rows;
+		private final String[] tableNames;
+		private final long stamp;
+
+		public Result(List<Object[]> rows, String[] tableNames, long stamp) {
+			super();
+
+			this.rows = rows;
+			this.tableNames = tableNames;
+			this.stamp = stamp;
+		}
+	}
+
+	private static final BLogger LOG = BLoggerFactory.getLogger(QueryCache.class);
+
+	private final MetamodelImpl metamodel;
+	private final int maxSize;
+
+	private final AtomicLong clock = new AtomicLong();
+	private volatile long allTablesStamp;
+	private final ConcurrentMap<String, Long> tableStamps = Maps.newConcurrentMap();
+	private final ConcurrentMap<EntityTypeImpl<?>, Set<String>> entityTableNames = Maps.newConcurrentMap();
+	private volatile Map<String, Pattern> tablePatterns;
+
+	private final LinkedHashMap<Key, Result> results;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong puts = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * @param metamodel
+	 *            the metamodel
+	 * @param maxSize
+	 *            the maximum number of results cached
+	 * 
+	 * @since 2.0.1
+	 */
+	public QueryCache(MetamodelImpl metamodel, final int maxSize) {
+		super();
+
+		this.metamodel = metamodel;
+		this.maxSize = maxSize;
+
+		this.results = new LinkedHashMap<Key, Result>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+				if (this.size() > maxSize) {
+					QueryCache.this.evictions.incrementAndGet();
+
+					return true;
+				}
+
+				return false;
+			}
+		};
+	}
+
+	private void addTableName(Set<String> tableNames, AbstractTable table) {
+		if (table != null) {
+			tableNames.add(table.getQName().toUpperCase(Locale.ENGLISH));
+		}
+	}
+
+	/**
+	 * Clears the cache.
+	 * 
+	 * @since 2.0.1
+	 */
+	public void clear() {
+		synchronized (this.results) {
+			this.results.clear();
+		}
+	}
+
+	/**
+	 * Returns the cached rows of the query.
+	 * 
+	 * @param sql
+	 *            the SQL of the query
+	 * @param parameters
+	 *            the parameters of the query
+	 * @param session
+	 *            the session running the query
+	 * @return the cached rows or <code>null</code> if the query is not cached, its tables have been modified or the session has modified
+	 *         its tables in the current transaction
+	 * 
+	 * @since 2.0.1
+	 */
+	public List<Object[]> get(String sql, Object[] parameters, SessionImpl session) {
+		if (this.maxSize <= 0) {
+			return null;
+		}
+
+		final Key key = new Key(sql, parameters);
+
+		final Result result;
+		synchronized (this.results) {
+			result = this.results.get(key);
+		}
+
+		// the cached rows do not reflect the writes of the session's own transaction
+		if ((result != null) && this.isValid(result) && !session.hasModifiedTables(result.tableNames)) {
+			this.hits.incrementAndGet();
+
+			return result.rows;
+		}
+
+		this.misses.incrementAndGet();
+
+		return null;
+	}
+
+	/**
+	 * Returns the number of evictions due to the size limit.
+	 * 
+	 * @return the number of evictions
+	 * 
+	 * @since 2.0.1
+	 */
+	public long getEvictions() {
+		return this.evictions.get();
+	}
+
+	/**
+	 * Returns the number of the cache hits.
+	 * 
+	 * @return the number of the cache hits
+	 * 
+	 * @since 2.0.1
+	 */
+	public long getHits() {
+		return this.hits.get();
+	}
+
+	/**
+	 * Returns the number of the cache misses.
+	 * 
+	 * @return the number of the cache misses
+	 * 
+	 * @since 2.0.1
+	 */
+	public long getMisses() {
+		return this.misses.get();
+	}
+
+	/**
+	 * Returns the number of the results put into the cache.
+	 * 
+	 * @return the number of the results put into the cache
+	 * 
+	 * @since 2.0.1
+	 */
+	public long getPuts() {
+		return this.puts.get();
+	}
+
+	/**
+	 * Returns the number of the results in the cache.
+	 * 
+	 * @return the number of the results in the cache
+	 * 
+	 * @since 2.0.1
+	 */
+	public int getSize() {
+		synchronized (this.results) {
+			return this.results.size();
+		}
+	}
+
+	/**
+	 * Returns the current stamp of the cache.
+	 * <p>
+	 * The stamp must be obtained before the query is executed and passed to {@link #put(String, Object[], List, long)}.
+	 * 
+	 * @return the current stamp
+	 * 
+	 * @since 2.0.1
+	 */
+	public long getStamp() {
+		return this.clock.get();
+	}
+
+	/**
+	 * Returns the names of the tables modified by the flushes of the entity type.
+	 * 
+	 * @param entity
+	 *            the entity type
+	 * @return the names of the tables
+	 * 
+	 * @since 2.0.1
+	 */
+	public Set<String> getTableNames(EntityTypeImpl<?> entity) {
+		Set<String> tableNames = this.entityTableNames.get(entity);
+		if (tableNames != null) {
+			return tableNames;
+		}
+
+		tableNames = Sets.newHashSet();
+
+		for (final EntityTable table : entity.getAllTables()) {
+			this.addTableName(tableNames, table);
+		}
+
+		for (final AssociationMappingImpl<?, ?, ?> mapping : entity.getAssociations()) {
+			this.addTableName(tableNames, mapping.getJoinTable());
+		}
+
+		for (final PluralMappingEx<?, ?, ?> mapping : entity.getMappingsPlural()) {
+			if (!mapping.isAssociation()) {
+				this.addTableName(tableNames, (AbstractTable) mapping.getJoinTable());
+			}
+		}
+
+		this.entityTableNames.putIfAbsent(entity, tableNames);
+
+		return tableNames;
+	}
+
+	private String[] getTableNames(String sql) {
+		Map<String, Pattern> patterns = this.tablePatterns;
+
+		if (patterns == null) {
+			final Set<String> tableNames = Sets.newHashSet();
+			for (final EntityType<?> entity : this.metamodel.getEntities()) {
+				tableNames.addAll(this.getTableNames((EntityTypeImpl<?>) entity));
+			}
+
+			patterns = Maps.newHashMap();
+			for (final String tableName : tableNames) {
+				patterns.put(tableName, Pattern.compile("(?<![\\w.])" + Pattern.quote(tableName) + "(?![\\w.])", Pattern.CASE_INSENSITIVE));
+			}
+
+			this.tablePatterns = patterns;
+		}
+
+		final List<String> tableNames = Lists.newArrayList();
+		for (final Map.Entry<String, Pattern> pattern : patterns.entrySet()) {
+			if (pattern.getValue().matcher(sql).find()) {
+				tableNames.add(pattern.getKey());
+			}
+		}
+
+		return tableNames.toArray(new String[tableNames.size()]);
+	}
+
+	/**
+	 * Invalidates the cached results that reference any of the tables.
+	 * 
+	 * @param tableNames
+	 *            the names of the tables modified
+	 * 
+	 * @since 2.0.1
+	 */
+	public void invalidate(Collection<String> tableNames) {
+		final Long stamp = this.clock.incrementAndGet();
+
+		for (final String tableName : tableNames) {
+			this.tableStamps.put(tableName, stamp);
+		}
+	}
+
+	/**
+	 * Invalidates all the cached results.
+	 * 
+	 * @since 2.0.1
+	 */
+	public void invalidateAll() {
+		this.allTablesStamp = this.clock.incrementAndGet();
+	}
+
+	private boolean isValid(Result result) {
+		if (this.allTablesStamp > result.stamp) {
+			return false;
+		}
+
+		for (final String tableName : result.tableNames) {
+			final Long stamp = this.tableStamps.get(tableName);
+			if ((stamp != null) && (stamp > result.stamp)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Puts the rows of the query into the cache.
+	 * 
+	 * @param sql
+	 *            the SQL of the query
+	 * @param parameters
+	 *            the parameters of the query
+	 * @param rows
+	 *            the rows
+	 * @param stamp
+	 *            the stamp obtained by {@link #getStamp()} before the query is executed
+	 * 
+	 * @since 2.0.1
+	 */
+	public void put(String sql, Object[] parameters, List<Object[]> rows, long stamp) {
+		if (this.maxSize <= 0) {
+			return;
+		}
+
+		final Result result = new Result(rows, this.getTableNames(sql), stamp);
+
+		// the tables may have been modified while the query was running
+		if (!this.isValid(result)) {
+			return;
+		}
+
+		QueryCache.LOG.debug("Caching {0} rows of query {1}", rows.size(), sql);
+
+		synchronized (this.results) {
+			this.results.put(new Key(sql, parameters), result);
+		}
+
+		this.puts.incrementAndGet();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public String toString() {
+		return "QueryCache | size:" + this.getSize() + " puts:" + this.getPuts() + " evicts:" + this.getEvictions() + " hits:" + this.getHits()
+			+ " misses:" + this.getMisses();
+	}
+}
@@ -22,12 +22,18 @@ package org.batoo.jpa.core.impl.manager;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 
+import javax.persistence.LockModeType;
+import javax.persistence.NoResultException;
 import javax.persistence.PersistenceException;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
@@ -44,6 +50,7 @@ import org.batoo.jpa.core.impl.model.MetamodelImpl;
 import org.batoo.jpa.parser.metadata.EntityListenerMetadata.EntityListenerType;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
@@ -63,36 +70,59 @@ public class SessionImpl {
 	private final long sessionId;
 
 	private final HashMap<ManagedId<?>, ManagedInstance<?>> repository = Maps.newHashMap();
+	private final ManagedId<?> probe = new ManagedId<Object>();
 
 	private final ArrayList<ManagedInstance<?>> newEntities = Lists.newArrayList();
 	private final ArrayList<ManagedInstance<?>> externalEntities = Lists.newArrayList();
 	private final HashSet<ManagedInstance<?>> changedEntities = Sets.newHashSet();
+	private final HashSet<String> modifiedTables = Sets.newHashSet();
+	private boolean allTablesModified;
 
 	private List<ManagedInstance<?>> entitiesLoading = Lists.newArrayList();
 
 	private int loadTracker = 0;
+	private int readOnlyTracker = 0;
 
 	private final int insertBatchSize;
 	private final int removeBatchSize;
+	private final int highWaterMark;
+	private final Set<Object> evicted = Collections.newSetFromMap(new MapMaker().weakKeys().<Object, Boolean> makeMap());
 
 	/**
 	 * @param entityManager
 	 *            the owner entity manager
 	 * @param metamodel
 	 *            the metamodel
+	 * @param highWaterMark
+	 *            the number of instances after which the session is flushed and its clean instances are evicted, 0 to disable
 	 * 
 	 * @since 2.0.0
 	 */
-	public SessionImpl(EntityManagerImpl entityManager, MetamodelImpl metamodel) {
+	public SessionImpl(EntityManagerImpl entityManager, MetamodelImpl metamodel, int highWaterMark) {
 		super();
 
 		this.em = entityManager;
 		this.metamodel = metamodel;
 		this.insertBatchSize = this.em.getJdbcAdaptor().getInsertBatchSize();
 		this.removeBatchSize = this.em.getJdbcAdaptor().getRemoveBatchSize();
+		this.highWaterMark = highWaterMark;
 		this.sessionId =  SessionImpl.nextSessionId.incrementAndGet();
 	}
 
+	/**
+	 * Marks the tables as modified by the current transaction and invalidates the cached query results that reference them.
+	 * 
+	 * @param tableNames
+	 *            the names of the tables modified
+	 * 
+	 * @since 2.0.1
+	 */
+	public void addModifiedTables(Collection<String> tableNames) {
+		this.modifiedTables.addAll(tableNames);
+
+		this.em.getEntityManagerFactory().getQueryCache().invalidate(tableNames);
+	}
+
 	/**
 	 * Cascades the removals.
 	 * 
@@ -149,6 +179,7 @@ public class SessionImpl {
 		this.repository.clear();
 		this.externalEntities.clear();
 		this.changedEntities.clear();
+		this.evicted.clear();
 	}
 
 	/**
@@ -280,6 +311,160 @@ public class SessionImpl {
 		}
 	}
 
+	/**
+	 * Evicts the managed instances of the type and its subtypes from the session.
+	 * <p>
+	 * Instances with pending changes are kept in the session so that their changes are still flushed.
+	 * 
+	 * @param type
+	 *            the entity type
+	 * 
+	 * @since 2.0.1
+	 */
+	public void evict(EntityTypeImpl<?> type) {
+		SessionImpl.LOG.debug("Evicting instances of {0} from the session {1}", type.getName(), this);
+
+		final Class<?> javaType = type.getJavaType();
+
+		final Iterator<ManagedInstance<?>> i = this.repository.values().iterator();
+		while (i.hasNext()) {
+			final ManagedInstance<?> instance = i.next();
+
+			if (javaType.isAssignableFrom(instance.getType().getJavaType()) && this.isEvictable(instance)) {
+				i.remove();
+
+				instance.setStatus(Status.DETACHED);
+			}
+		}
+
+		this.pruneExternalEntities();
+	}
+
+	/**
+	 * Evicts the managed instance from the session.
+	 * <p>
+	 * If the instance has pending changes then it is kept in the session so that its changes are still flushed.
+	 * 
+	 * @param instance
+	 *            the managed instance
+	 * 
+	 * @since 2.0.1
+	 */
+	public void evict(ManagedInstance<?> instance) {
+		if (this.isEvictable(instance)) {
+			SessionImpl.LOG.debug("Evicting instance {0} from the session {1}", instance, this);
+
+			this.repository.remove(instance.getId());
+			this.externalEntities.remove(instance);
+
+			instance.setStatus(Status.DETACHED);
+		}
+	}
+
+	/**
+	 * Evicts all the clean managed instances from the session.
+	 * <p>
+	 * Used once the session reaches the high water mark and has been flushed. Instances with pending changes and the instances being loaded
+	 * are kept in the session, so are the instances they are associated with.
+	 * 
+	 * @since 2.0.1
+	 */
+	public void evictClean() {
+		SessionImpl.LOG.debug("Evicting clean instances from the session {0}", this);
+
+		final HashSet<ManagedInstance<?>> retained = Sets.newHashSet();
+		final LinkedList<ManagedInstance<?>> survivors = Lists.newLinkedList();
+
+		for (final ManagedInstance<?> instance : this.repository.values()) {
+			if (!this.isEvictable(instance) || this.entitiesLoading.contains(instance)) {
+				retained.add(instance);
+				survivors.add(instance);
+			}
+		}
+
+		// keep the instances reachable from the survivors, otherwise the persist cascades would insert them again and the flush would
+		// find them transient
+		final ArrayList<Object> associates = Lists.newArrayList();
+		while (!survivors.isEmpty()) {
+			associates.clear();
+			survivors.removeFirst().addAssociates(associates);
+
+			for (final Object associate : associates) {
+				final ManagedInstance<?> instance = this.get(associate);
+				if ((instance != null) && retained.add(instance)) {
+					survivors.add(instance);
+				}
+			}
+		}
+
+		final Iterator<ManagedInstance<?>> i = this.repository.values().iterator();
+		while (i.hasNext()) {
+			final ManagedInstance<?> instance = i.next();
+
+			if (!retained.contains(instance)) {
+				i.remove();
+
+				instance.setStatus(Status.DETACHED);
+
+				// the entities are weakly referenced so that the evicted ones can still be reclaimed
+				this.evicted.add(instance.getInstance());
+			}
+		}
+
+		this.pruneExternalEntities();
+	}
+
+	/**
+	 * Evicts the managed instances of the type and its subtypes after their rows may have been deleted by a bulk delete.
+	 * <p>
+	 * The clean instances are evicted. The instances with pending changes are evicted only if their rows no longer exist, so that their
+	 * changes are not flushed against the deleted rows.
+	 * 
+	 * @param type
+	 *            the entity type
+	 * 
+	 * @since 2.0.1
+	 */
+	public void evictDeleted(EntityTypeImpl<?> type) {
+		final Class<?> javaType = type.getJavaType();
+
+		final List<ManagedInstance<?>> pending = Lists.newArrayList();
+		for (final ManagedInstance<?> instance : this.repository.values()) {
+			if (javaType.isAssignableFrom(instance.getType().getJavaType()) && !this.isEvictable(instance)) {
+				pending.add(instance);
+			}
+		}
+
+		this.evict(type);
+
+		for (final ManagedInstance<?> instance : pending) {
+			try {
+				instance.getType().performSelect(this.em, instance.getId().getId(), LockModeType.NONE);
+			}
+			catch (final NoResultException e) {
+				this.evictDeleted(instance);
+			}
+		}
+	}
+
+	/**
+	 * Evicts the managed instance whose row has been deleted by a bulk delete, whatever its pending changes are.
+	 * 
+	 * @param instance
+	 *            the managed instance
+	 * 
+	 * @since 2.0.1
+	 */
+	public void evictDeleted(ManagedInstance<?> instance) {
+		SessionImpl.LOG.debug("Evicting deleted instance {0} from the session {1}", instance, this);
+
+		this.repository.remove(instance.getId());
+		this.externalEntities.remove(instance);
+		this.changedEntities.remove(instance);
+
+		instance.setStatus(Status.DETACHED);
+	}
+
 	/**
 	 * Fires the post callbacks.
 	 * 
@@ -409,6 +594,18 @@ public class SessionImpl {
 		this.doUpdates(connection, sortedUpdates);
 		this.doRemoves(connection, sortedRemovals);
 
+		final QueryCache queryCache = entityManagerFactory.getQueryCache();
+		final Set<String> tableNames = Sets.newHashSet();
+		for (final ManagedInstance<?> instance : sortedUpdates) {
+			tableNames.addAll(queryCache.getTableNames(instance.getType()));
+		}
+
+		for (final ManagedInstance<?> instance : sortedRemovals) {
+			tableNames.addAll(queryCache.getTableNames(instance.getType()));
+		}
+
+		this.addModifiedTables(tableNames);
+
 		for (final ManagedInstance<?> instance : sortedUpdates) {
 			instance.checkTransients();
 		}
@@ -439,6 +636,35 @@ public class SessionImpl {
 		this.newEntities.clear();
 	}
 
+	/**
+	 * Returns the managed instance in the session by the raw id of the type.
+	 * <p>
+	 * Unlike {@link #get(ManagedId)} the lookup does not allocate a managed id.
+	 * 
+	 * @param type
+	 *            the entity type
+	 * @param id
+	 *            the raw id
+	 * @param <Y>
+	 *            the actual type of the instance
+	 * @return the managed instance or null
+	 * 
+	 * @since 2.0.1
+	 */
+	@SuppressWarnings("unchecked")
+	public <Y> ManagedInstance<Y> get(EntityTypeImpl<?> type, Object id) {
+		final ManagedId<?> _probe = this.probe;
+
+		_probe.probe(id, type);
+
+		try {
+			return (ManagedInstance<Y>) this.repository.get(_probe);
+		}
+		finally {
+			_probe.probe(null, null);
+		}
+	}
+
 	/**
 	 * Returns the managed instance instance in the session
 	 * 
@@ -524,6 +750,42 @@ public class SessionImpl {
 		return instances;
 	}
 
+	/**
+	 * Returns if the current transaction has modified any tables.
+	 * 
+	 * @return true if the current transaction has modified any tables, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean hasModifiedTables() {
+		return this.allTablesModified || (this.modifiedTables.size() > 0);
+	}
+
+	/**
+	 * Returns if the current transaction has modified any of the tables.
+	 * 
+	 * @param tableNames
+	 *            the names of the tables
+	 * @return true if the current transaction has modified any of the tables, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean hasModifiedTables(String[] tableNames) {
+		if (this.allTablesModified) {
+			return true;
+		}
+
+		if (this.modifiedTables.size() > 0) {
+			for (final String tableName : tableNames) {
+				if (this.modifiedTables.contains(tableName)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
 	/**
 	 * Handles the external entities that are updated
 	 * 
@@ -555,6 +817,54 @@ public class SessionImpl {
 		}
 	}
 
+	/**
+	 * Returns if the managed instance can be evicted from the session without losing changes.
+	 * 
+	 * @param instance
+	 *            the managed instance
+	 * @return true if the instance is managed and has no pending changes, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isEvictable(ManagedInstance<?> instance) {
+		return (instance.getStatus() == Status.MANAGED) && !this.changedEntities.contains(instance) && !instance.hasSelfUpdate();
+	}
+
+	/**
+	 * Returns if the entity has been evicted from the session at the high water mark.
+	 * 
+	 * @param entity
+	 *            the entity
+	 * @return true if the high water mark is enabled and the entity has been evicted by the session, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isEvicted(Object entity) {
+		return (this.highWaterMark > 0) && this.evicted.contains(entity);
+	}
+
+	/**
+	 * Returns if the session is loading the results of a query.
+	 * 
+	 * @return true if the session is loading, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isLoading() {
+		return this.loadTracker > 0;
+	}
+
+	/**
+	 * Returns if the session holds as many instances as the high water mark.
+	 * 
+	 * @return true if the high water mark is enabled and reached, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isOverHighWaterMark() {
+		return (this.highWaterMark > 0) && (this.loadTracker == 0) && ((this.repository.size() + this.newEntities.size()) >= this.highWaterMark);
+	}
+
 	/**
 	 * Notifies the session that the lazy instance is loading
 	 * 
@@ -569,6 +879,42 @@ public class SessionImpl {
 		this.entitiesLoading.add(instance);
 	}
 
+	/**
+	 * Marks the managed instances of the type and its subtypes as stale so that their state is reloaded when they are next fetched.
+	 * <p>
+	 * Instances with pending changes are left as is so that their changes are still flushed.
+	 * 
+	 * @param type
+	 *            the entity type
+	 * 
+	 * @since 2.0.1
+	 */
+	public void markStale(EntityTypeImpl<?> type) {
+		SessionImpl.LOG.debug("Marking instances of {0} stale in the session {1}", type.getName(), this);
+
+		final Class<?> javaType = type.getJavaType();
+
+		for (final ManagedInstance<?> instance : this.repository.values()) {
+			if (javaType.isAssignableFrom(instance.getType().getJavaType()) && this.isEvictable(instance)) {
+				instance.setStale(true);
+			}
+		}
+	}
+
+	/**
+	 * Removes the evicted instances from the external entities in a single pass.
+	 * 
+	 * @since 2.0.1
+	 */
+	private void pruneExternalEntities() {
+		final Iterator<ManagedInstance<?>> i = this.externalEntities.iterator();
+		while (i.hasNext()) {
+			if (i.next().getStatus() == Status.DETACHED) {
+				i.remove();
+			}
+		}
+	}
+
 	/**
 	 * Puts the instance into the session.
 	 * 
@@ -582,6 +928,10 @@ public class SessionImpl {
 	public <X> void put(ManagedInstance<X> instance) {
 		this.repository.put(instance.getId(), instance);
 
+		if (this.readOnlyTracker > 0) {
+			instance.setReadOnly(true);
+		}
+
 		if ((this.loadTracker > 0) && instance.isLoading()) {
 			this.entitiesLoading.add(instance);
 		}
@@ -641,11 +991,43 @@ public class SessionImpl {
 			}
 
 			for (final ManagedInstance<?> instance : entitiesLoaded) {
-				instance.fireCallbacks(EntityListenerType.POST_LOAD);
+				// skip the dispatch for the types without PostLoad callbacks
+				if (instance.getType().getAvailability().postLoad()) {
+					instance.fireCallbacks(EntityListenerType.POST_LOAD);
+				}
 			}
 		}
 	}
 
+	/**
+	 * Releases the tables modified by the transaction that has ended and invalidates the cached query results that reference them once
+	 * more, as they may have been read before the changes are committed.
+	 * 
+	 * @since 2.0.1
+	 */
+	public void releaseModifiedTables() {
+		final QueryCache queryCache = this.em.getEntityManagerFactory().getQueryCache();
+
+		if (this.allTablesModified) {
+			queryCache.invalidateAll();
+		}
+		else if (this.modifiedTables.size() > 0) {
+			queryCache.invalidate(this.modifiedTables);
+		}
+
+		this.modifiedTables.clear();
+		this.allTablesModified = false;
+	}
+
+	/**
+	 * Releases the read only tracker.
+	 * 
+	 * @since 2.0.1
+	 */
+	public void releaseReadOnlyTracker() {
+		this.readOnlyTracker--;
+	}
+
 	/**
 	 * Removes the instance from the session.
 	 * 
@@ -672,6 +1054,17 @@ public class SessionImpl {
 		return instance;
 	}
 
+	/**
+	 * Marks all the tables as modified by the current transaction and invalidates all the cached query results.
+	 * 
+	 * @since 2.0.1
+	 */
+	public void setAllTablesModified() {
+		this.allTablesModified = true;
+
+		this.em.getEntityManagerFactory().getQueryCache().invalidateAll();
+	}
+
 	/**
 	 * Marks the instance as changed.
 	 * 
@@ -701,6 +1094,15 @@ public class SessionImpl {
 		}
 	}
 
+	/**
+	 * Sets the read only tracker so that the instances put into the session are marked as read only.
+	 * 
+	 * @since 2.0.1
+	 */
+	public void setReadOnlyTracker() {
+		this.readOnlyTracker++;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
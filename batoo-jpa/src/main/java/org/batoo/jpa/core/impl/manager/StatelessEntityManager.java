@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.impl.manager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import javax.persistence.EntityTransaction;
+import javax.persistence.LockModeType;
+import javax.persistence.NoResultException;
+import javax.persistence.PersistenceException;
+
+import org.batoo.common.log.BLogger;
+import org.batoo.common.log.BLoggerFactory;
+import org.batoo.jpa.core.impl.instance.EnhancedInstance;
+import org.batoo.jpa.core.impl.instance.ManagedInstance;
+import org.batoo.jpa.core.impl.model.EntityTypeImpl;
+import org.batoo.jpa.core.impl.model.MetamodelImpl;
+
+/**
+ * Entity manager without a persistence context for high throughput inserts, updates and deletes.
+ * <p>
+ * The stateless entity manager does not track the instances, takes no snapshots, runs no dirty checking and does not cascade. The
+ * operations go straight to the tables of the entity type. Consecutive inserts of the same entity type are batched together and are
+ * written once the batch is full, before any other operation and at the latest when the transaction commits. The instances returned by
+ * {@link #get(Class, Object)} are detached.
+ * <p>
+ * Only the tables of the entity type are written. The join tables of the owned associations and the element collection tables are
+ * neither inserted, updated nor deleted.
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public class StatelessEntityManager {
+
+	private class StatelessTransaction implements EntityTransaction {
+
+		private final EntityTransactionImpl transaction;
+
+		public StatelessTransaction(EntityTransactionImpl transaction) {
+			super();
+
+			this.transaction = transaction;
+		}
+
+		@Override
+		public void begin() {
+			this.transaction.begin();
+		}
+
+		@Override
+		public void commit() {
+			StatelessEntityManager.this.flush();
+
+			this.transaction.commit();
+		}
+
+		@Override
+		public boolean getRollbackOnly() {
+			return this.transaction.getRollbackOnly();
+		}
+
+		@Override
+		public boolean isActive() {
+			return this.transaction.isActive();
+		}
+
+		@Override
+		public void rollback() {
+			StatelessEntityManager.this.discard();
+
+			this.transaction.rollback();
+		}
+
+		@Override
+		public void setRollbackOnly() {
+			this.transaction.setRollbackOnly();
+		}
+	}
+
+	private static final BLogger LOG = BLoggerFactory.getLogger(StatelessEntityManager.class);
+
+	private final EntityManagerImpl entityManager;
+	private final MetamodelImpl metamodel;
+	private final SessionImpl session;
+	private final QueryCache queryCache;
+
+	private final ManagedInstance<?>[] batch;
+	private EntityTypeImpl<?> batchType;
+	private int batchSize;
+
+	private StatelessTransaction transaction;
+
+	/**
+	 * @param entityManager
+	 *            the entity manager that provides the connection and the transaction
+	 * 
+	 * @since 2.0.1
+	 */
+	public StatelessEntityManager(EntityManagerImpl entityManager) {
+		super();
+
+		this.entityManager = entityManager;
+		this.metamodel = entityManager.getMetamodel();
+		this.session = entityManager.getSession();
+		this.queryCache = entityManager.getEntityManagerFactory().getQueryCache();
+
+		this.batch = new ManagedInstance[entityManager.getJdbcAdaptor().getInsertBatchSize()];
+	}
+
+	/**
+	 * Closes the stateless entity manager. Inserts not yet written are discarded.
+	 * 
+	 * @since 2.0.1
+	 */
+	public void close() {
+		this.discard();
+
+		this.entityManager.close();
+	}
+
+	/**
+	 * Deletes the entity. Cascades are not processed, the rows of the join tables and the element collection tables are not deleted.
+	 * 
+	 * @param entity
+	 *            the entity to delete
+	 * 
+	 * @since 2.0.1
+	 */
+	public void delete(Object entity) {
+		this.entityManager.assertTransaction();
+
+		this.flush();
+
+		final ManagedInstance<?> instance = this.getManagedInstance(entity);
+
+		try {
+			instance.getType().performRemove(this.entityManager.getConnection(), new ManagedInstance[] { instance }, 1);
+		}
+		catch (final SQLException e) {
+			StatelessEntityManager.LOG.error(e, "Delete failed");
+
+			throw new PersistenceException("Delete failed", e);
+		}
+
+		this.session.addModifiedTables(this.queryCache.getTableNames(instance.getType()));
+	}
+
+	private void discard() {
+		if (this.batchSize > 0) {
+			StatelessEntityManager.LOG.debug("Discarding {0} pending inserts", this.batchSize);
+
+			Arrays.fill(this.batch, 0, this.batchSize, null);
+
+			this.batchSize = 0;
+		}
+	}
+
+	/**
+	 * Writes the pending inserts to the database.
+	 * 
+	 * @since 2.0.1
+	 */
+	public void flush() {
+		if (this.batchSize == 0) {
+			return;
+		}
+
+		final EntityTypeImpl<?> type = this.batchType;
+		final int size = this.batchSize;
+
+		this.batchSize = 0;
+
+		StatelessEntityManager.LOG.debug("Batch insert is being performed for {0} with the size {1}", type.getName(), size);
+
+		try {
+			type.performInsert(this.entityManager.getConnection(), this.batch, size);
+		}
+		catch (final SQLException e) {
+			StatelessEntityManager.LOG.error(e, "Insert failed");
+
+			throw new PersistenceException("Insert failed", e);
+		}
+		finally {
+			Arrays.fill(this.batch, 0, size, null);
+		}
+
+		this.session.addModifiedTables(this.queryCache.getTableNames(type));
+	}
+
+	/**
+	 * Returns the entity with the primary key. The entity returned is detached, its lazy basic attributes are loaded.
+	 * 
+	 * @param entityClass
+	 *            the class of the entity
+	 * @param primaryKey
+	 *            the primary key
+	 * @param <T>
+	 *            the type of the entity
+	 * @return the entity or <code>null</code> if the entity does not exist
+	 * 
+	 * @since 2.0.1
+	 */
+	public <T> T get(Class<T> entityClass, Object primaryKey) {
+		this.flush();
+
+		final EntityTypeImpl<T> type = this.metamodel.entity(entityClass);
+
+		// read only instances do not take snapshots
+		this.session.setReadOnlyTracker();
+
+		try {
+			final T entity = type.performSelect(this.entityManager, primaryKey, LockModeType.NONE);
+
+			// update(Object) writes all the columns, so the lazy attributes are loaded while the instance is still in the session
+			if (entity instanceof EnhancedInstance) {
+				((EnhancedInstance) entity).__enhanced__$$__getManagedInstance().loadLazyBasics();
+			}
+
+			return entity;
+		}
+		catch (final NoResultException e) {
+			return null;
+		}
+		finally {
+			this.session.releaseReadOnlyTracker();
+
+			this.session.clear();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <X> ManagedInstance<X> getManagedInstance(X entity) {
+		final Class<X> clazz = (Class<X>) (entity instanceof EnhancedInstance ? entity.getClass().getSuperclass() : entity.getClass());
+
+		final ManagedInstance<X> instance = this.metamodel.entity(clazz).getManagedInstance(this.session, entity);
+
+		// the instance is never tracked by the session
+		instance.setReadOnly(true);
+
+		return instance;
+	}
+
+	/**
+	 * Returns the transaction of the stateless entity manager.
+	 * 
+	 * @return the transaction
+	 * 
+	 * @since 2.0.1
+	 */
+	public EntityTransaction getTransaction() {
+		if (this.transaction == null) {
+			this.transaction = new StatelessTransaction(this.entityManager.getTransaction());
+		}
+
+		return this.transaction;
+	}
+
+	/**
+	 * Inserts the entity. Cascades are not processed, the join tables and the element collection tables are not written.
+	 * <p>
+	 * The insert is batched with the consecutive inserts of the same entity type unless the id of the entity is generated by the database.
+	 * 
+	 * @param entity
+	 *            the entity to insert
+	 * 
+	 * @since 2.0.1
+	 */
+	public void insert(Object entity) {
+		this.entityManager.assertTransaction();
+
+		final ManagedInstance<?> instance = this.getManagedInstance(entity);
+		final EntityTypeImpl<?> type = instance.getType();
+
+		try {
+			final Connection connection = this.entityManager.getConnection();
+
+			instance.incrementVersion(connection, false);
+
+			// identity columns are assigned by the database one row at a time
+			if (!instance.fillIdValues() || !type.isSuitableForBatchInsert()) {
+				this.flush();
+
+				type.performInsert(connection, new ManagedInstance[] { instance }, 1);
+
+				this.session.addModifiedTables(this.queryCache.getTableNames(type));
+
+				return;
+			}
+		}
+		catch (final SQLException e) {
+			StatelessEntityManager.LOG.error(e, "Insert failed");
+
+			throw new PersistenceException("Insert failed", e);
+		}
+
+		if ((this.batchType != type) || (this.batchSize == this.batch.length)) {
+			this.flush();
+		}
+
+		this.batchType = type;
+		this.batch[this.batchSize++] = instance;
+	}
+
+	/**
+	 * Returns if the stateless entity manager is open.
+	 * 
+	 * @return true if the stateless entity manager is open, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isOpen() {
+		return this.entityManager.isOpen();
+	}
+
+	/**
+	 * Updates the entity. Cascades are not processed, the join tables and the element collection tables are not written.
+	 * <p>
+	 * All the columns of the entity are written, so the lazy basic attributes of the entity must be set, as they are for the entities
+	 * returned by {@link #get(Class, Object)}. If the entity is versioned then its version is incremented and checked against the database.
+	 * 
+	 * @param entity
+	 *            the entity to update
+	 * 
+	 * @since 2.0.1
+	 */
+	public void update(Object entity) {
+		this.entityManager.assertTransaction();
+
+		this.flush();
+
+		final ManagedInstance<?> instance = this.getManagedInstance(entity);
+
+		try {
+			final Connection connection = this.entityManager.getConnection();
+
+			instance.incrementVersion(connection, false);
+			instance.getType().performUpdate(connection, instance);
+		}
+		catch (final SQLException e) {
+			StatelessEntityManager.LOG.error(e, "Update failed");
+
+			throw new PersistenceException("Update failed", e);
+		}
+
+		this.session.addModifiedTables(this.queryCache.getTableNames(instance.getType()));
+	}
+}
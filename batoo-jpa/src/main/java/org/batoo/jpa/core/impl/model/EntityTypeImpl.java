@@ -41,6 +41,7 @@ import javax.persistence.criteria.Fetch;
 import javax.persistence.criteria.FetchParent;
 import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Selection;
 import javax.persistence.metamodel.Attribute.PersistentAttributeType;
 import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.SingularAttribute;
@@ -67,6 +68,7 @@ import org.batoo.jpa.core.impl.instance.Enhancer;
 import org.batoo.jpa.core.impl.instance.ManagedId;
 import org.batoo.jpa.core.impl.instance.ManagedInstance;
 import org.batoo.jpa.core.impl.instance.Status;
+import org.batoo.jpa.core.impl.instance.Weaver;
 import org.batoo.jpa.core.impl.manager.EntityManagerFactoryImpl;
 import org.batoo.jpa.core.impl.manager.EntityManagerImpl;
 import org.batoo.jpa.core.impl.manager.SessionImpl;
@@ -132,13 +134,18 @@ public class EntityTypeImpl<X> extends IdentifiableTypeImpl<X> implements Entity
 
 	private CriteriaQueryImpl<X> selectCriteria;
 	private CriteriaQueryImpl<X> refreshCriteria;
+	private CriteriaQueryImpl<Object[]> lazyBasicsCriteria;
+	private boolean lazyLoading;
 	private int dependencyCount;
 	private boolean canBatchRemoves;
 
 	private final HashMap<EntityTypeImpl<?>, AssociationMappingImpl<?, ?, ?>[]> dependencyMap = Maps.newHashMap();
 	private FinalWrapper<BasicMappingImpl<?, ?>[]> basicMappingImpls;
+	private FinalWrapper<BasicMappingImpl<?, ?>[]> basicMappingsLazy;
 
 	private FinalWrapper<AbstractMapping<?, ?, ?>[]> singularMappings;
+	private FinalWrapper<boolean[]> singularMappingsBasic;
+	private FinalWrapper<long[]> singularMappingsDirty;
 	private FinalWrapper<PluralMappingEx<?, ?, ?>[]> mappingsPluralSorted;
 	private FinalWrapper<PluralMappingEx<?, ?, ?>[]> mappingsPlural;
 	private FinalWrapper<JoinedMapping<?, ?, ?>[]> mappingsJoined;
@@ -243,6 +250,8 @@ public class EntityTypeImpl<X> extends IdentifiableTypeImpl<X> implements Entity
 	private ConstructorAccessor enhance() {
 		try {
 			final Class<X> enhancedClass = Enhancer.enhance(this);
+			this.lazyLoading = Enhancer.isLazyLoading(enhancedClass);
+
 			final Constructor<X> constructor = enhancedClass.getConstructor(Class.class, // type
 				SessionImpl.class, // session
 				Object.class, // id
@@ -731,6 +740,40 @@ public class EntityTypeImpl<X> extends IdentifiableTypeImpl<X> implements Entity
 		return wrapper.value;
 	}
 
+	/**
+	 * Returns the basic mappings of the type that are loaded lazily.
+	 * 
+	 * @return the lazy basic mappings of the type
+	 * 
+	 * @since 2.0.1
+	 */
+	public BasicMappingImpl<?, ?>[] getBasicMappingsLazy() {
+		FinalWrapper<BasicMappingImpl<?, ?>[]> wrapper = this.basicMappingsLazy;
+
+		if (wrapper == null) {
+			synchronized (this) {
+				if (this.basicMappingsLazy == null) {
+					final List<BasicMappingImpl<?, ?>> _basicMappingsLazy = Lists.newArrayList();
+
+					for (final BasicMappingImpl<?, ?> mapping : this.getBasicMappings()) {
+						if (mapping.isLazy()) {
+							_basicMappingsLazy.add(mapping);
+						}
+					}
+
+					final BasicMappingImpl<?, ?>[] __basicMappingsLazy = new BasicMappingImpl[_basicMappingsLazy.size()];
+					_basicMappingsLazy.toArray(__basicMappingsLazy);
+
+					this.basicMappingsLazy = new FinalWrapper<BasicMappingImpl<?, ?>[]>(__basicMappingsLazy);
+				}
+
+				wrapper = this.basicMappingsLazy;
+			}
+		}
+
+		return wrapper.value;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -766,6 +809,52 @@ public class EntityTypeImpl<X> extends IdentifiableTypeImpl<X> implements Entity
 		return this.children.get(discriminatorValue);
 	}
 
+	private CriteriaQueryImpl<Object[]> getCriteriaLazyBasics() {
+		if (this.lazyBasicsCriteria != null) {
+			return this.lazyBasicsCriteria;
+		}
+
+		synchronized (this) {
+			// other thread prepared before this one
+			if (this.lazyBasicsCriteria != null) {
+				return this.lazyBasicsCriteria;
+			}
+
+			final CriteriaBuilderImpl cb = this.getMetamodel().getEntityManagerFactory().getCriteriaBuilder();
+			final CriteriaQueryImpl<Object[]> q = cb.createQuery(Object[].class);
+			q.internal();
+			final RootImpl<X> r = q.from(this);
+			r.alias(BatooUtils.acronym(this.name).toLowerCase());
+
+			final List<Selection<?>> selections = Lists.newArrayList();
+			for (final BasicMappingImpl<?, ?> mapping : this.getBasicMappingsLazy()) {
+				selections.add(r.get(mapping.getAttribute().getName()));
+			}
+
+			q.multiselect(selections);
+
+			// has single id mapping
+			if (this.getRootType().hasSingleIdAttribute()) {
+				final SingularMappingEx<? super X, ?> idMapping = this.getRootType().getIdMapping();
+				final ParameterExpressionImpl<?> pe = cb.parameter(idMapping.getAttribute().getJavaType());
+				final Path<?> path = r.get(idMapping.getAttribute().getName());
+
+				return this.lazyBasicsCriteria = q.where(cb.equal(path, pe));
+			}
+
+			// has multiple id mappings
+			final List<PredicateImpl> predicates = Lists.newArrayList();
+			for (final Pair<SingularMapping<?, ?>, AbstractAccessor> pair : this.getIdMappings()) {
+				final SingularMapping<?, ?> _idMapping = pair.getFirst();
+				final ParameterExpressionImpl<?> pe = cb.parameter(_idMapping.getJavaType());
+
+				predicates.add(cb.equal(r.get(_idMapping.getName()), pe));
+			}
+
+			return this.lazyBasicsCriteria = q.where(predicates.toArray(new PredicateImpl[predicates.size()]));
+		}
+	}
+
 	private CriteriaQueryImpl<X> getCriteriaRefresh() {
 		if (this.refreshCriteria != null) {
 			return this.refreshCriteria;
@@ -1402,6 +1491,8 @@ public class EntityTypeImpl<X> extends IdentifiableTypeImpl<X> implements Entity
 
 	/**
 	 * Returns the singular mappings.
+	 * <p>
+	 * The position of a mapping in the returned array is its slot in the snapshots of the managed instances of the type.
 	 * 
 	 * @return the singular mappings
 	 * 
@@ -1431,6 +1522,87 @@ public class EntityTypeImpl<X> extends IdentifiableTypeImpl<X> implements Entity
 		return wrapper.value;
 	}
 
+	/**
+	 * Returns the flags for the slots of the singular mappings indicating if the mapping is a basic mapping.
+	 * 
+	 * @return the array of flags indexed by the slots of the singular mappings
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean[] getMappingsSingularBasic() {
+		FinalWrapper<boolean[]> wrapper = this.singularMappingsBasic;
+
+		if (wrapper == null) {
+			synchronized (this) {
+				if (this.singularMappingsBasic == null) {
+					final AbstractMapping<?, ?, ?>[] singularMappings = this.getMappingsSingular();
+
+					final boolean[] basic = new boolean[singularMappings.length];
+					for (int i = 0; i < singularMappings.length; i++) {
+						basic[i] = singularMappings[i].getAttribute().getPersistentAttributeType() == PersistentAttributeType.BASIC;
+					}
+
+					this.singularMappingsBasic = new FinalWrapper<boolean[]>(basic);
+				}
+
+				wrapper = this.singularMappingsBasic;
+			}
+		}
+
+		return wrapper.value;
+	}
+
+	/**
+	 * Returns the bits of the slots of the singular mappings in the dirty masks of the instances if the type is woven.
+	 * <p>
+	 * The slots that are not tracked by the dirty mask have the bit <code>0</code> and must be checked against the snapshot.
+	 * 
+	 * @return the array of bits indexed by the slots of the singular mappings or <code>null</code> if the type is not woven
+	 * 
+	 * @see Weaver
+	 * 
+	 * @since 2.0.1
+	 */
+	public long[] getMappingsSingularDirty() {
+		FinalWrapper<long[]> wrapper = this.singularMappingsDirty;
+
+		if (wrapper == null) {
+			synchronized (this) {
+				if (this.singularMappingsDirty == null) {
+					long[] dirty = null;
+
+					final Class<?> weavedClass = Weaver.getWeavedClass(this.getJavaType());
+					if (weavedClass != null) {
+						final List<Field> fields = Weaver.getTrackedFields(weavedClass);
+						final AbstractMapping<?, ?, ?>[] singularMappings = this.getMappingsSingular();
+
+						dirty = new long[singularMappings.length];
+						for (int i = 0; i < singularMappings.length; i++) {
+							// only the basic fields of the entity itself are tracked, the ids and versions are maintained by the entity manager
+							if (!(singularMappings[i] instanceof BasicMappingImpl) || !(singularMappings[i].getParent() instanceof EntityMapping)) {
+								continue;
+							}
+
+							final BasicMappingImpl<?, ?> mapping = (BasicMappingImpl<?, ?>) singularMappings[i];
+							if (!mapping.isId() && !mapping.isVersion()) {
+								final int index = fields.indexOf(mapping.getAttribute().getJavaMember());
+								if (index >= 0) {
+									dirty[i] = 1L << index;
+								}
+							}
+						}
+					}
+
+					this.singularMappingsDirty = new FinalWrapper<long[]>(dirty);
+				}
+
+				wrapper = this.singularMappingsDirty;
+			}
+		}
+
+		return wrapper.value;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -1704,6 +1876,17 @@ public class EntityTypeImpl<X> extends IdentifiableTypeImpl<X> implements Entity
 		return false;
 	}
 
+	/**
+	 * Returns if the instances of the entity load the lazy basic attributes on first access.
+	 * 
+	 * @return true if the instances of the entity load the lazy basic attributes on first access, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isLazyLoading() {
+		return this.lazyLoading;
+	}
+
 	/**
 	 * Returns if the entity is the root of the hierarchy.
 	 * 
@@ -1794,6 +1977,34 @@ public class EntityTypeImpl<X> extends IdentifiableTypeImpl<X> implements Entity
 		}
 	}
 
+	/**
+	 * Loads the values of the lazy basic attributes of the instance with a single query.
+	 * 
+	 * @param instance
+	 *            the managed instance
+	 * @return the values of the lazy basic attributes in the order of {@link #getBasicMappingsLazy()}
+	 * 
+	 * @since 2.0.1
+	 */
+	public Object[] performLoadLazyBasics(ManagedInstance<?> instance) {
+		final QueryImpl<Object[]> q = instance.getSession().getEntityManager().createQuery(this.getCriteriaLazyBasics());
+
+		final Object id = instance.getId().getId();
+
+		// if has single id then pass it on
+		if (this.hasSingleIdAttribute()) {
+			q.setParameter(1, id);
+		}
+		else {
+			int i = 1;
+			for (final Pair<SingularMapping<?, ?>, AbstractAccessor> pair : this.getIdMappings()) {
+				q.setParameter(i++, pair.getSecond().get(id));
+			}
+		}
+
+		return q.getSingleResult();
+	}
+
 	/**
 	 * Performs refresh for the instance
 	 * 
@@ -1916,6 +2127,12 @@ public class EntityTypeImpl<X> extends IdentifiableTypeImpl<X> implements Entity
 	public void performUpdate(Connection connection, ManagedInstance<?> managedInstance) throws SQLException {
 		FinalWrapper<EntityTable[]> wrapper = this.updateTables;
 
+		// the lazy attributes that are not loaded are left out rather than loaded just to be written back
+		final boolean skipLazy = managedInstance.isLazyBasicsPending();
+
+		// the unchanged lobs are left out as the streams they are bound to may have been consumed by the previous write
+		final boolean skipLobLocators = !managedInstance.isLobLocatorsChanged();
+
 		final Object instance = managedInstance.getInstance();
 		final Object oldVersion = managedInstance.getOldVersion();
 
@@ -1924,7 +2141,7 @@ public class EntityTypeImpl<X> extends IdentifiableTypeImpl<X> implements Entity
 				if (this.updateTables == null) {
 					final List<EntityTable> _updateTables = Lists.newArrayList(this.getTables());
 					for (final Iterator<EntityTable> i = _updateTables.iterator(); i.hasNext();) {
-						if (!i.next().performUpdateWithUpdatability(connection, this, managedInstance.getInstance(), oldVersion)) {
+						if (!i.next().performUpdateWithUpdatability(connection, this, managedInstance.getInstance(), oldVersion, skipLazy, skipLobLocators)) {
 							i.remove();
 						}
 					}
@@ -1937,7 +2154,7 @@ public class EntityTypeImpl<X> extends IdentifiableTypeImpl<X> implements Entity
 		}
 		else {
 			for (final EntityTable table : wrapper.value) {
-				table.performUpdate(connection, this, instance, oldVersion);
+				table.performUpdate(connection, this, instance, oldVersion, skipLazy, skipLobLocators);
 			}
 		}
 	}
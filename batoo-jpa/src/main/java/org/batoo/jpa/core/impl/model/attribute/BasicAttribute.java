@@ -20,11 +20,15 @@
 package org.batoo.jpa.core.impl.model.attribute;
 
 import java.io.Serializable;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.sql.Timestamp;
 import java.util.Calendar;
 import java.util.Date;
 
+import javax.persistence.AttributeConverter;
 import javax.persistence.EnumType;
+import javax.persistence.FetchType;
 import javax.persistence.PersistenceException;
 import javax.persistence.TemporalType;
 import javax.persistence.metamodel.SingularAttribute;
@@ -38,9 +42,11 @@ import org.batoo.jpa.core.impl.model.IdentifiableTypeImpl;
 import org.batoo.jpa.core.impl.model.ManagedTypeImpl;
 import org.batoo.jpa.core.impl.model.MetamodelImpl;
 import org.batoo.jpa.jdbc.AbstractGenerator;
+import org.batoo.jpa.jdbc.ColumnConverter;
 import org.batoo.jpa.jdbc.IdType;
 import org.batoo.jpa.jdbc.TypeFactory;
 import org.batoo.jpa.jdbc.adapter.JdbcAdaptor;
+import org.batoo.jpa.parser.MappingException;
 import org.batoo.jpa.parser.metadata.ColumnTransformerMetadata;
 import org.batoo.jpa.parser.metadata.GeneratedValueMetadata;
 import org.batoo.jpa.parser.metadata.IndexMetadata;
@@ -68,10 +74,38 @@ public class BasicAttribute<X, T> extends SingularAttributeImpl<X, T> {
 	private final IdType idType;
 	private final String generator;
 	private final boolean lob;
+	private final boolean lazy;
 	private final TemporalType temporalType;
 	private final EnumType enumType;
 	private final IndexMetadata index;
 	private final ColumnTransformerMetadata columnTransformer;
+	private final AttributeConverter<T, ?> converter;
+	private final Class<?> columnJavaType;
+
+	private static Class<?> getDatabaseType(Class<?> converterClass) {
+		Class<?> clazz = converterClass;
+
+		// locate the AttributeConverter<X, Y> declaration in the hierarchy and resolve Y
+		while ((clazz != null) && (clazz != Object.class)) {
+			for (final Type type : clazz.getGenericInterfaces()) {
+				if ((type instanceof ParameterizedType) && (((ParameterizedType) type).getRawType() == AttributeConverter.class)) {
+					final Type databaseType = ((ParameterizedType) type).getActualTypeArguments()[1];
+
+					if (databaseType instanceof Class) {
+						return (Class<?>) databaseType;
+					}
+
+					if (databaseType instanceof ParameterizedType) {
+						return (Class<?>) ((ParameterizedType) databaseType).getRawType();
+					}
+				}
+			}
+
+			clazz = clazz.getSuperclass();
+		}
+
+		throw new MappingException("Unable to resolve the database type of the converter " + converterClass.getName());
+	}
 
 	/**
 	 * Constructor for version attributes.
@@ -91,9 +125,12 @@ public class BasicAttribute<X, T> extends SingularAttributeImpl<X, T> {
 		this.idType = null;
 		this.generator = null;
 		this.lob = false;
+		this.lazy = false;
 		this.enumType = null;
 		this.index = null;
 		this.columnTransformer = null;
+		this.converter = null;
+		this.columnJavaType = this.getJavaType();
 
 		this.type = this.getDeclaringType().getMetamodel().createBasicType(this.getJavaType());
 
@@ -136,31 +173,45 @@ public class BasicAttribute<X, T> extends SingularAttributeImpl<X, T> {
 		this.index = metadata.getIndex();
 		this.columnTransformer = metadata.getColumnTransformer();
 
-		if (Date.class.isAssignableFrom(this.getJavaType()) || Calendar.class.isAssignableFrom(this.getJavaType())) {
-			if (metadata.getTemporalType() == null) {
-				this.temporalType = TemporalType.TIMESTAMP;
+		this.converter = this.createConverter(metadata.getConverter());
+		this.columnJavaType = this.converter != null ? BasicAttribute.getDatabaseType(this.converter.getClass()) : this.getJavaType();
+
+		// the converted attributes are stored as the database type of the converter
+		if (this.converter != null) {
+			this.temporalType = null;
+			this.enumType = null;
+			this.lob = false;
+		}
+		else {
+			if (Date.class.isAssignableFrom(this.getJavaType()) || Calendar.class.isAssignableFrom(this.getJavaType())) {
+				if (metadata.getTemporalType() == null) {
+					this.temporalType = TemporalType.TIMESTAMP;
+				}
+				else {
+					this.temporalType = metadata.getTemporalType();
+				}
 			}
 			else {
-				this.temporalType = metadata.getTemporalType();
+				this.temporalType = null;
 			}
-		}
-		else {
-			this.temporalType = null;
-		}
 
-		if (this.getJavaType().getSuperclass() == Enum.class) {
-			if (metadata.getEnumType() != null) {
-				this.enumType = metadata.getEnumType();
+			if (this.getJavaType().getSuperclass() == Enum.class) {
+				if (metadata.getEnumType() != null) {
+					this.enumType = metadata.getEnumType();
+				}
+				else {
+					this.enumType = EnumType.ORDINAL;
+				}
 			}
 			else {
-				this.enumType = EnumType.ORDINAL;
+				this.enumType = null;
 			}
-		}
-		else {
-			this.enumType = null;
+
+			this.lob = this.inferLobType(metadata.isLob());
 		}
 
-		this.lob = this.inferLobType(metadata.isLob());
+		// lazy loading is only supported for the attributes of the entities, embeddables are always loaded eagerly
+		this.lazy = (metadata.getFetchType() == FetchType.LAZY) && (declaringType instanceof IdentifiableTypeImpl);
 	}
 
 	/**
@@ -179,9 +230,12 @@ public class BasicAttribute<X, T> extends SingularAttributeImpl<X, T> {
 		this.version = false;
 		this.optional = false;
 		this.lob = false;
+		this.lazy = false;
 		this.enumType = null;
 		this.index = null;
 		this.columnTransformer = null;
+		this.converter = null;
+		this.columnJavaType = this.getJavaType();
 
 		this.type = this.getDeclaringType().getMetamodel().createBasicType(this.getJavaType());
 		this.temporalType = metadata.getTemporalType();
@@ -241,6 +295,33 @@ public class BasicAttribute<X, T> extends SingularAttributeImpl<X, T> {
 		return new BasicAttribute<Z, T>(type, (BasicAttributeMetadata) this.getMetadata());
 	}
 
+	@SuppressWarnings("unchecked")
+	private AttributeConverter<T, ?> createConverter(String converterClassName) {
+		if (StringUtils.isBlank(converterClassName)) {
+			return null;
+		}
+
+		final Class<?> converterClass;
+		try {
+			final ClassLoader classloader = this.getMetamodel().getEntityManagerFactory().getClassloader();
+			converterClass = classloader.loadClass(converterClassName);
+		}
+		catch (final ClassNotFoundException e) {
+			throw new MappingException("Converter class not found " + converterClassName, this.getLocator());
+		}
+
+		if (!AttributeConverter.class.isAssignableFrom(converterClass)) {
+			throw new MappingException("Converter class " + converterClassName + " does not implement AttributeConverter", this.getLocator());
+		}
+
+		try {
+			return (AttributeConverter<T, ?>) converterClass.newInstance();
+		}
+		catch (final Exception e) {
+			throw new MappingException("Unable to instantiate the converter " + converterClassName, e, this.getLocator());
+		}
+	}
+
 	/**
 	 * Fills the sequence / table generated value.
 	 * <p>
@@ -303,6 +384,17 @@ public class BasicAttribute<X, T> extends SingularAttributeImpl<X, T> {
 		return true;
 	}
 
+	/**
+	 * Returns the java type of the column values of the attribute.
+	 * 
+	 * @return the database type of the converter if the attribute is converted, the java type of the attribute otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public Class<?> getColumnJavaType() {
+		return this.columnJavaType;
+	}
+
 	/**
 	 * Returns columnTransformer definition
 	 * 
@@ -314,6 +406,17 @@ public class BasicAttribute<X, T> extends SingularAttributeImpl<X, T> {
 		return this.columnTransformer;
 	}
 
+	/**
+	 * Returns the attribute converter of the attribute.
+	 * 
+	 * @return the attribute converter of the attribute or <code>null</code> if the attribute is not converted
+	 * 
+	 * @since 2.0.1
+	 */
+	public AttributeConverter<T, ?> getConverter() {
+		return this.converter;
+	}
+
 	/**
 	 * Returns the enum type of the attribute.
 	 * 
@@ -386,7 +489,7 @@ public class BasicAttribute<X, T> extends SingularAttributeImpl<X, T> {
 	}
 
 	private boolean inferLobType(boolean lob) {
-		if (lob) {
+		if (lob || ColumnConverter.isLocatorType(this.getJavaType())) {
 			return true;
 		}
 
@@ -422,6 +525,17 @@ public class BasicAttribute<X, T> extends SingularAttributeImpl<X, T> {
 		return this.idType != null;
 	}
 
+	/**
+	 * Returns if the attribute is lazy, that is its value is loaded on the first access to the instance rather than with the instance.
+	 * 
+	 * @return true if the attribute is lazy, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isLazy() {
+		return this.lazy;
+	}
+
 	/**
 	 * Returns if the attribute is lob.
 	 * 
@@ -19,6 +19,7 @@
 
 package org.batoo.jpa.core.impl.model.mapping;
 
+import javax.persistence.AttributeConverter;
 import javax.persistence.EnumType;
 import javax.persistence.TemporalType;
 
@@ -67,7 +68,7 @@ public class BasicMappingImpl<Z, X> extends AbstractMapping<Z, X, X> implements
 		this.attribute = attribute;
 
 		final ColumnMetadata columnMetadata = this.getColumnMetadata();
-		final int sqlType = TypeFactory.getSqlType(this.attribute.getJavaType(), attribute.getTemporalType(), attribute.getEnumType(), attribute.isLob());
+		final int sqlType = TypeFactory.getSqlType(this.attribute.getColumnJavaType(), attribute.getTemporalType(), attribute.getEnumType(), attribute.isLob());
 
 		final JdbcAdaptor jdbcAdaptor = attribute.getMetamodel().getJdbcAdaptor();
 
@@ -193,6 +194,15 @@ public class BasicMappingImpl<Z, X> extends AbstractMapping<Z, X, X> implements
 		return this.attribute.getColumnTransformer();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public AttributeConverter<X, ?> getConverter() {
+		return this.attribute.getConverter();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -238,6 +248,17 @@ public class BasicMappingImpl<Z, X> extends AbstractMapping<Z, X, X> implements
 		return this.getIdType() != null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The mapping is lazy if the attribute is lazy and the instances of the entity can load the attribute on first access.
+	 * 
+	 */
+	@Override
+	public boolean isLazy() {
+		return this.attribute.isLazy() && this.getRoot().isEntity() && ((EntityTypeImpl<?>) this.getRoot().getType()).isLazyLoading();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -269,6 +269,9 @@ public class NativeQuery implements Query, ResultSetHandler<List<Object>> {
 			this.em.flush();
 		}
 
+		// the tables the native query modifies are unknown
+		this.em.getSession().setAllTablesModified();
+
 		try {
 			if (!this.parameters.isEmpty()) {
 				final Object[] parameters = new Object[this.parameters.size()];
@@ -524,6 +527,8 @@ public class NativeQuery implements Query, ResultSetHandler<List<Object>> {
 		}
 		finally {
 			this.em.getSession().releaseLoadTracker();
+
+			this.em.closeConnectionIfNecessary();
 		}
 	}
 
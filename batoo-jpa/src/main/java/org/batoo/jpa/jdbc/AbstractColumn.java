@@ -18,15 +18,14 @@
  */
 package org.batoo.jpa.jdbc;
 
-import java.lang.reflect.Method;
 import java.sql.Connection;
 
+import javax.persistence.AttributeConverter;
 import javax.persistence.EnumType;
 import javax.persistence.TemporalType;
 
 import org.batoo.jpa.jdbc.mapping.Mapping;
 import org.batoo.jpa.parser.AbstractLocator;
-import org.batoo.jpa.parser.MappingException;
 
 /**
  * Abstract base implementation for columns
@@ -36,15 +35,11 @@ import org.batoo.jpa.parser.MappingException;
  */
 public abstract class AbstractColumn implements Column {
 
-	private final Class<?> javaType;
 	private IdType idType;
-	private final TemporalType temporalType;
-	private final EnumType enumType;
 	private final boolean lob;
 	private final AbstractLocator locator;
 
-	private final Enum<?>[] values;
-	private final Method method;
+	private final ColumnConverter converter;
 
 	/**
 	 * @param locator
@@ -57,14 +52,10 @@ public abstract class AbstractColumn implements Column {
 	public AbstractColumn(AbstractLocator locator, boolean id) {
 		super();
 
-		this.javaType = null;
 		this.idType = id ? IdType.MANUAL : null;
 		this.locator = locator;
-		this.temporalType = null;
-		this.enumType = null;
 		this.lob = false;
-		this.values = null;
-		this.method = null;
+		this.converter = ColumnConverter.IDENTITY;
 	}
 
 	/**
@@ -83,39 +74,37 @@ public abstract class AbstractColumn implements Column {
 	 * 
 	 * @since 2.0.0
 	 */
-	@SuppressWarnings("unchecked")
 	public AbstractColumn(Class<?> javaType, IdType idType, TemporalType temporalType, EnumType enumType, boolean lob, AbstractLocator locator) {
-		super();
+		this(javaType, idType, temporalType, enumType, lob, null, locator);
+	}
 
-		this.javaType = javaType;
+	/**
+	 * @param javaType
+	 *            the java type
+	 * @param idType
+	 *            the id type
+	 * @param temporalType
+	 *            the temporal type
+	 * @param enumType
+	 *            the enum type
+	 * @param lob
+	 *            if the column is lob
+	 * @param attributeConverter
+	 *            the attribute converter or <code>null</code>
+	 * @param locator
+	 *            the locator
+	 * 
+	 * @since 2.0.1
+	 */
+	public AbstractColumn(Class<?> javaType, IdType idType, TemporalType temporalType, EnumType enumType, boolean lob,
+		AttributeConverter<?, ?> attributeConverter, AbstractLocator locator) {
+		super();
 
 		this.idType = idType;
-		this.temporalType = temporalType;
-		this.enumType = enumType;
 		this.lob = lob;
 		this.locator = locator;
 
-		if (this.enumType != null) {
-			Class<Enum<?>> enumJavaType;
-			enumJavaType = (Class<Enum<?>>) javaType;
-			try {
-				if (this.enumType == EnumType.ORDINAL) {
-					this.values = (Enum<?>[]) enumJavaType.getMethod("values").invoke(null);
-					this.method = null;
-				}
-				else {
-					this.values = null;
-					this.method = enumJavaType.getMethod("valueOf", String.class);
-				}
-			}
-			catch (final Exception e) {
-				throw new MappingException("Unable to map enum type", this.locator);
-			}
-		}
-		else {
-			this.values = null;
-			this.method = null;
-		}
+		this.converter = ColumnConverter.create(this, javaType, temporalType, enumType, lob, attributeConverter);
 	}
 
 	/**
@@ -124,7 +113,7 @@ public abstract class AbstractColumn implements Column {
 	 */
 	@Override
 	public Object convertValue(Connection connection, final Object value) {
-		return ValueConverter.toJdbc(value, this.javaType, this.temporalType, this.enumType, this.lob);
+		return this.converter.toJdbc(value);
 	}
 
 	/**
@@ -137,7 +126,7 @@ public abstract class AbstractColumn implements Column {
 	 * @since 2.0.0
 	 */
 	public Object convertValueForSet(Object value) {
-		return ValueConverter.fromJdbc(value, this.javaType, this.temporalType, this.enumType, this.values, this.method, this.lob);
+		return this.converter.fromJdbc(value);
 	}
 
 	/**
@@ -244,6 +233,17 @@ public abstract class AbstractColumn implements Column {
 		return this.lob;
 	}
 
+	/**
+	 * Returns if the values of the column are kept bound to the lob locators of the driver.
+	 * 
+	 * @return true if the values of the column are kept bound to the lob locators, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isLobLocator() {
+		return this.converter.isLocator();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -50,6 +50,9 @@ import com.google.common.collect.Maps;
  */
 public abstract class AbstractTable {
 
+	// the update statements of a type, with and without the lazy and the lob locator columns
+	private static final int UPDATE_VARIANTS = 4;
+
 	private final AbstractLocator locator;
 
 	private final String catalog;
@@ -61,7 +64,7 @@ public abstract class AbstractTable {
 	private BasicColumn versionColumn;
 
 	private final HashMap<String, String> insertSqlMap = Maps.newHashMap();
-	private final HashMap<EntityTypeDescriptor, String> updateSqlMap = Maps.newHashMap();
+	private final HashMap<EntityTypeDescriptor, String[]> updateSqlMap = Maps.newHashMap();
 	private String updateSql;
 	private FinalWrapper<String> versionUpdateSql;
 	private FinalWrapper<String> versionSelectSql;
@@ -70,7 +73,7 @@ public abstract class AbstractTable {
 	private AbstractColumn[] updateColumns;
 	private AbstractColumn[] selectVersionColumns;
 	private final Map<String, AbstractColumn[]> insertColumnsMap = Maps.newHashMap();
-	private final Map<EntityTypeDescriptor, AbstractColumn[]> updateColumnsMap = Maps.newHashMap();
+	private final Map<EntityTypeDescriptor, AbstractColumn[][]> updateColumnsMap = Maps.newHashMap();
 
 	private FinalWrapper<String> restrictionSql;
 	private AbstractColumn[] restrictionColumns;
@@ -254,13 +257,21 @@ public abstract class AbstractTable {
 	 * 
 	 * @param type
 	 *            the type to generate the update statement for
+	 * @param pkColumns
+	 *            the primary key columns
+	 * @param skipLazy
+	 *            if the columns of the lazy mappings are left out
+	 * @param skipLobLocators
+	 *            if the lob columns bound to the locators are left out
 	 * 
 	 * @since 2.0.0
-	 * @param pkColumns
 	 */
-	private synchronized void generateUpdateSql(final EntityTypeDescriptor type, Map<String, AbstractColumn> pkColumns) {
-		String sql = this.updateSqlMap.get(type);
-		if (sql != null) { // other thread finished the job for us
+	private synchronized void generateUpdateSql(final EntityTypeDescriptor type, Map<String, AbstractColumn> pkColumns, final boolean skipLazy,
+		final boolean skipLobLocators) {
+		final int variant = AbstractTable.getUpdateVariant(skipLazy, skipLobLocators);
+
+		String[] sqls = this.updateSqlMap.get(type);
+		if ((sqls != null) && (sqls[variant] != null)) { // other thread finished the job for us
 			return;
 		}
 
@@ -271,7 +282,15 @@ public abstract class AbstractTable {
 
 				@Override
 				public boolean apply(AbstractColumn input) {
-					return AbstractTable.this.isUpdatableColumn(type, input);
+					if (!AbstractTable.this.isUpdatableColumn(type, input)) {
+						return false;
+					}
+
+					if (skipLazy && AbstractTable.this.isLazyColumn(input)) {
+						return false;
+					}
+
+					return !skipLobLocators || !input.isLobLocator();
 				}
 			});
 
@@ -295,13 +314,24 @@ public abstract class AbstractTable {
 		// UPDATE SCHEMA.TABLE SET
 		// (COL [, COL]*)
 		// WHERE ID = ? [, ID = ?]*)
-		sql = "UPDATE " + this.getQName() + " SET"//
+		final String sql = "UPDATE " + this.getQName() + " SET"//
 			+ "\n" + columnNamesStr //
 			+ "\nWHERE " + this.getRestrictionSql(pkColumns);
 
 		if (type != null) {
-			this.updateSqlMap.put(type, sql);
-			this.updateColumnsMap.put(type, updateColumns.toArray(new AbstractColumn[updateColumns.size()]));
+			AbstractColumn[][] columns = this.updateColumnsMap.get(type);
+			if (sqls == null) {
+				sqls = new String[AbstractTable.UPDATE_VARIANTS];
+				columns = new AbstractColumn[AbstractTable.UPDATE_VARIANTS][];
+
+				this.updateColumnsMap.put(type, columns);
+			}
+
+			// the columns first, the statement marks the variant generated
+			columns[variant] = updateColumns.toArray(new AbstractColumn[updateColumns.size()]);
+			sqls[variant] = sql;
+
+			this.updateSqlMap.put(type, sqls);
 		}
 		else {
 			this.updateSql = sql;
@@ -613,16 +643,20 @@ public abstract class AbstractTable {
 	 * 
 	 * @param entity
 	 *            the entity to returns columns for or null for generic columns
+	 * @param skipLazy
+	 *            if the columns of the lazy mappings are left out
+	 * @param skipLobLocators
+	 *            if the lob columns bound to the locators are left out
 	 * @return the insert columns
 	 * 
 	 * @since 2.0.0
 	 */
-	protected AbstractColumn[] getUpdateColumns(final EntityTypeDescriptor entity) {
+	protected AbstractColumn[] getUpdateColumns(final EntityTypeDescriptor entity, boolean skipLazy, boolean skipLobLocators) {
 		if (entity == null) {
 			return this.updateColumns;
 		}
 
-		return this.updateColumnsMap.get(entity);
+		return this.updateColumnsMap.get(entity)[AbstractTable.getUpdateVariant(skipLazy, skipLobLocators)];
 	}
 
 	/**
@@ -632,27 +666,37 @@ public abstract class AbstractTable {
 	 *            the entity to return update statement for or null for generic SQL
 	 * @param pkColumns
 	 *            the primary key columns
+	 * @param skipLazy
+	 *            if the columns of the lazy mappings are left out
+	 * @param skipLobLocators
+	 *            if the lob columns bound to the locators are left out
 	 * @return the insert statement
 	 * 
 	 * @since 2.0.0
 	 */
-	protected String getUpdateSql(EntityTypeDescriptor entity, Map<String, AbstractColumn> pkColumns) {
+	protected String getUpdateSql(EntityTypeDescriptor entity, Map<String, AbstractColumn> pkColumns, boolean skipLazy, boolean skipLobLocators) {
 		if (entity == null) {
 			if (this.updateSql == null) {
-				this.generateUpdateSql(null, pkColumns);
+				this.generateUpdateSql(null, pkColumns, false, false);
 			}
 
 			return this.updateSql;
 		}
 
-		String sql = this.updateSqlMap.get(entity);
-		if (sql == null) {
-			this.generateUpdateSql(entity, pkColumns);
+		final int variant = AbstractTable.getUpdateVariant(skipLazy, skipLobLocators);
+
+		String[] sqls = this.updateSqlMap.get(entity);
+		if ((sqls == null) || (sqls[variant] == null)) {
+			this.generateUpdateSql(entity, pkColumns, skipLazy, skipLobLocators);
 
-			sql = this.updateSqlMap.get(entity);
+			sqls = this.updateSqlMap.get(entity);
 		}
 
-		return sql;
+		return sqls[variant];
+	}
+
+	private static int getUpdateVariant(boolean skipLazy, boolean skipLobLocators) {
+		return (skipLazy ? 1 : 0) + (skipLobLocators ? 2 : 0);
 	}
 
 	/**
@@ -717,6 +761,10 @@ public abstract class AbstractTable {
 		return parent.isAssignableFrom(javaType);
 	}
 
+	private boolean isLazyColumn(AbstractColumn input) {
+		return (input instanceof BasicColumn) && (input.getMapping() != null) && ((BasicColumn) input).getMapping().isLazy();
+	}
+
 	private boolean isUpdatableColumn(final EntityTypeDescriptor type, AbstractColumn input) {
 		if ((input.isPrimaryKey()) || (input instanceof DiscriminatorColumn)) {
 			return false;
@@ -62,7 +62,8 @@ public class BasicColumn extends AbstractColumn {
 	 * @since 2.0.0
 	 */
 	public BasicColumn(JdbcAdaptor jdbcAdaptor, BasicMapping<?, ?> mapping, int sqlType, ColumnMetadata metadata) {
-		super(mapping.getJavaType(), mapping.getIdType(), mapping.getTemporalType(), mapping.getEnumType(), mapping.isLob(), mapping.getLocator());
+		super(mapping.getJavaType(), mapping.getIdType(), mapping.getTemporalType(), mapping.getEnumType(), mapping.isLob(), mapping.getConverter(),
+			mapping.getLocator());
 
 		this.jdbcAdaptor = jdbcAdaptor;
 		this.mapping = mapping;
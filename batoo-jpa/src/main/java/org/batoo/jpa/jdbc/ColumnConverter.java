@@ -0,0 +1,469 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.jdbc;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Map;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.EnumType;
+import javax.persistence.PersistenceException;
+import javax.persistence.TemporalType;
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialClob;
+
+import org.batoo.common.reflect.ReflectHelper;
+
+import com.google.common.collect.Maps;
+
+/**
+ * The converter of a column that converts the values of the column between the java and jdbc representations.
+ * <p>
+ * The converter is resolved once for the column out of the java type, temporal type, enum type, lob flag and the attribute converter of
+ * the column so that the conversion of the values does not reevaluate them.
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public abstract class ColumnConverter {
+
+	private static class AttributeColumnConverter extends ColumnConverter {
+
+		private final AttributeConverter<Object, Object> attributeConverter;
+
+		public AttributeColumnConverter(AttributeConverter<Object, Object> attributeConverter) {
+			super();
+
+			this.attributeConverter = attributeConverter;
+		}
+
+		@Override
+		public Object fromJdbc(Object value) {
+			return value != null ? this.attributeConverter.convertToEntityAttribute(value) : null;
+		}
+
+		@Override
+		public Object toJdbc(Object value) {
+			return value != null ? this.attributeConverter.convertToDatabaseColumn(value) : null;
+		}
+	}
+
+	private static class CalendarColumnConverter extends TemporalColumnConverter {
+
+		public CalendarColumnConverter(TemporalType temporalType) {
+			super(temporalType);
+		}
+
+		@Override
+		public Object fromJdbc(Object value) {
+			if (value instanceof Date) {
+				final Calendar calendar = Calendar.getInstance();
+				calendar.setTime((Date) value);
+
+				return calendar;
+			}
+
+			return value;
+		}
+	}
+
+	private static abstract class EnumColumnConverter extends ColumnConverter {
+
+		private final AbstractColumn column;
+		private final Class<?> enumType;
+
+		public EnumColumnConverter(AbstractColumn column, Class<?> enumType) {
+			super();
+
+			this.column = column;
+			this.enumType = enumType;
+		}
+
+		protected PersistenceException unknownValue(Object value) {
+			return new PersistenceException("Value " + value + " of column " + this.column.getName() + " is not a constant of enum "
+				+ this.enumType.getName());
+		}
+	}
+
+	private static class EnumOrdinalColumnConverter extends EnumColumnConverter {
+
+		private final Enum<?>[] values;
+		private final Integer[] ordinals;
+
+		public EnumOrdinalColumnConverter(AbstractColumn column, Class<?> enumType) {
+			super(column, enumType);
+
+			this.values = (Enum<?>[]) enumType.getEnumConstants();
+
+			this.ordinals = new Integer[this.values.length];
+			for (int i = 0; i < this.values.length; i++) {
+				this.ordinals[i] = Integer.valueOf(i);
+			}
+		}
+
+		@Override
+		public Object fromJdbc(Object value) {
+			if (value == null) {
+				return null;
+			}
+
+			final int ordinal = ((Number) value).intValue();
+			if ((ordinal < 0) || (ordinal >= this.values.length)) {
+				throw this.unknownValue(value);
+			}
+
+			return this.values[ordinal];
+		}
+
+		@Override
+		public Object toJdbc(Object value) {
+			return value instanceof Enum ? this.ordinals[((Enum<?>) value).ordinal()] : value;
+		}
+	}
+
+	private static class EnumStringColumnConverter extends EnumColumnConverter {
+
+		private final Map<String, Enum<?>> values;
+		private final String[] names;
+
+		public EnumStringColumnConverter(AbstractColumn column, Class<?> enumType) {
+			super(column, enumType);
+
+			final Enum<?>[] constants = (Enum<?>[]) enumType.getEnumConstants();
+
+			this.values = Maps.newHashMapWithExpectedSize(constants.length);
+			this.names = new String[constants.length];
+
+			for (final Enum<?> constant : constants) {
+				this.values.put(constant.name(), constant);
+				this.names[constant.ordinal()] = constant.name();
+			}
+		}
+
+		@Override
+		public Object fromJdbc(Object value) {
+			if (value == null) {
+				return null;
+			}
+
+			final Enum<?> constant = this.values.get(value);
+			if (constant == null) {
+				throw this.unknownValue(value);
+			}
+
+			return constant;
+		}
+
+		@Override
+		public Object toJdbc(Object value) {
+			return value instanceof Enum ? this.names[((Enum<?>) value).ordinal()] : value;
+		}
+	}
+
+	private static class LobColumnConverter extends ColumnConverter {
+
+		private final Class<?> javaType;
+
+		public LobColumnConverter(Class<?> javaType) {
+			super();
+
+			this.javaType = javaType;
+		}
+
+		@Override
+		public Object fromJdbc(Object value) {
+			return ValueConverter.fromJdbc(value, this.javaType, null, true);
+		}
+
+		@Override
+		public Object toJdbc(Object value) {
+			return ValueConverter.toJdbc(value, this.javaType, null, null, true);
+		}
+	}
+
+	/**
+	 * Converter for the lob columns of type {@link Blob}, {@link Clob}, {@link InputStream} and {@link Reader} that keeps the values bound
+	 * to the locators of the driver rather than reading them into memory.
+	 * <p>
+	 * The streams are handed out wrapped with the locator they are read from so that when the entity is written back the locator is bound
+	 * instead of the stream that may have been consumed already.
+	 */
+	private static class LocatorColumnConverter extends ColumnConverter {
+
+		private final Class<?> javaType;
+
+		public LocatorColumnConverter(Class<?> javaType) {
+			super();
+
+			this.javaType = javaType;
+		}
+
+		@Override
+		public Object fromJdbc(Object value) {
+			if ((value == null) || this.javaType.isInstance(value)) {
+				return value;
+			}
+
+			try {
+				if (value instanceof Blob) {
+					return new LocatorInputStream((Blob) value);
+				}
+
+				if (value instanceof Clob) {
+					return new LocatorReader((Clob) value);
+				}
+
+				if (value instanceof byte[]) {
+					return this.javaType == Blob.class ? new SerialBlob((byte[]) value) : new ByteArrayInputStream((byte[]) value);
+				}
+
+				if (value instanceof String) {
+					return this.javaType == Clob.class ? new SerialClob(((String) value).toCharArray()) : new StringReader((String) value);
+				}
+			}
+			catch (final SQLException e) {
+				throw new PersistenceException("Cannot read lob value", e);
+			}
+
+			throw new PersistenceException("Cannot convert lob value of type " + value.getClass().getName() + " to " + this.javaType.getName());
+		}
+
+		@Override
+		public boolean isLocator() {
+			return true;
+		}
+
+		@Override
+		public Object toJdbc(Object value) {
+			if (value instanceof LocatorInputStream) {
+				return ((LocatorInputStream) value).blob;
+			}
+
+			if (value instanceof LocatorReader) {
+				return ((LocatorReader) value).clob;
+			}
+
+			return value;
+		}
+	}
+
+	private static class LocatorInputStream extends FilterInputStream {
+
+		private final Blob blob;
+
+		public LocatorInputStream(Blob blob) throws SQLException {
+			super(blob.getBinaryStream());
+
+			this.blob = blob;
+		}
+	}
+
+	private static class LocatorReader extends FilterReader {
+
+		private final Clob clob;
+
+		public LocatorReader(Clob clob) throws SQLException {
+			super(clob.getCharacterStream());
+
+			this.clob = clob;
+		}
+	}
+
+	private static class NumberColumnConverter extends ColumnConverter {
+
+		private final Class<?> javaType;
+
+		public NumberColumnConverter(Class<?> javaType) {
+			super();
+
+			this.javaType = javaType;
+		}
+
+		@Override
+		public Object fromJdbc(Object value) {
+			return value instanceof Number ? ReflectHelper.convertNumber((Number) value, this.javaType) : value;
+		}
+
+		@Override
+		public Object toJdbc(Object value) {
+			return value instanceof Number ? ReflectHelper.convertNumber((Number) value, this.javaType) : value;
+		}
+	}
+
+	private static class TemporalColumnConverter extends ColumnConverter {
+
+		private final TemporalType temporalType;
+
+		public TemporalColumnConverter(TemporalType temporalType) {
+			super();
+
+			this.temporalType = temporalType;
+		}
+
+		@Override
+		public Object fromJdbc(Object value) {
+			return value;
+		}
+
+		@Override
+		public Object toJdbc(Object value) {
+			if (!(value instanceof Date) && !(value instanceof Calendar)) {
+				return value;
+			}
+
+			final long time = value instanceof Date ? ((Date) value).getTime() : ((Calendar) value).getTimeInMillis();
+
+			switch (this.temporalType) {
+				case DATE:
+					return value instanceof java.sql.Date ? value : new java.sql.Date(time);
+				case TIME:
+					return value instanceof java.sql.Time ? value : new java.sql.Time(time);
+				default:
+					return value instanceof java.sql.Timestamp ? value : new java.sql.Timestamp(time);
+			}
+		}
+	}
+
+	/**
+	 * The converter that passes the values as is.
+	 */
+	public static final ColumnConverter IDENTITY = new ColumnConverter() {
+
+		@Override
+		public Object fromJdbc(Object value) {
+			return value;
+		}
+
+		@Override
+		public Object toJdbc(Object value) {
+			return value;
+		}
+	};
+
+	/**
+	 * Creates the converter for the column.
+	 * <p>
+	 * The lookup tables of the enum columns are built at this point so that the enum values are converted without reflection.
+	 * 
+	 * @param column
+	 *            the column
+	 * @param javaType
+	 *            the java type of the column
+	 * @param temporalType
+	 *            the temporal type of the column
+	 * @param enumType
+	 *            the enum type of the column
+	 * @param lob
+	 *            if the column is lob
+	 * @param attributeConverter
+	 *            the attribute converter of the column or <code>null</code>
+	 * @return the converter
+	 * 
+	 * @since 2.0.1
+	 */
+	@SuppressWarnings("unchecked")
+	public static ColumnConverter create(AbstractColumn column, Class<?> javaType, TemporalType temporalType, EnumType enumType, boolean lob,
+		AttributeConverter<?, ?> attributeConverter) {
+		if (attributeConverter != null) {
+			return new AttributeColumnConverter((AttributeConverter<Object, Object>) attributeConverter);
+		}
+
+		if (temporalType != null) {
+			return javaType == Calendar.class ? new CalendarColumnConverter(temporalType) : new TemporalColumnConverter(temporalType);
+		}
+
+		if ((javaType != null) && Number.class.isAssignableFrom(javaType)) {
+			return new NumberColumnConverter(javaType);
+		}
+
+		if (enumType != null) {
+			if (enumType == EnumType.ORDINAL) {
+				return new EnumOrdinalColumnConverter(column, javaType);
+			}
+
+			return new EnumStringColumnConverter(column, javaType);
+		}
+
+		if (lob) {
+			if (ColumnConverter.isLocatorType(javaType)) {
+				return new LocatorColumnConverter(javaType);
+			}
+
+			return new LobColumnConverter(javaType);
+		}
+
+		return ColumnConverter.IDENTITY;
+	}
+
+	/**
+	 * Returns if the java type is kept bound to the lob locator of the driver rather than read into memory.
+	 * 
+	 * @param javaType
+	 *            the java type
+	 * @return true if the java type is kept bound to the lob locator, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public static boolean isLocatorType(Class<?> javaType) {
+		return (javaType == Blob.class) || (javaType == Clob.class) || (javaType == InputStream.class) || (javaType == Reader.class);
+	}
+
+	/**
+	 * Converts the jdbc value to the java value.
+	 * 
+	 * @param value
+	 *            the jdbc value
+	 * @return the java value
+	 * 
+	 * @since 2.0.1
+	 */
+	public abstract Object fromJdbc(Object value);
+
+	/**
+	 * Returns if the converter keeps the values bound to the lob locators of the driver.
+	 * 
+	 * @return true if the converter keeps the values bound to the lob locators, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isLocator() {
+		return false;
+	}
+
+	/**
+	 * Converts the java value to the jdbc value.
+	 * 
+	 * @param value
+	 *            the java value
+	 * @return the jdbc value
+	 * 
+	 * @since 2.0.1
+	 */
+	public abstract Object toJdbc(Object value);
+}
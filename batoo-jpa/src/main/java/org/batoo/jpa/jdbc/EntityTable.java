@@ -324,17 +324,27 @@ public class EntityTable extends AbstractTable {
 	 *            the instance to perform update for
 	 * @param oldVersion
 	 *            the old version value
+	 * @param skipLazy
+	 *            if the columns of the lazy mappings are left out, as they are not loaded
+	 * @param skipLobLocators
+	 *            if the lob columns bound to the locators are left out, as they are not changed
 	 * @throws SQLException
 	 *             thrown in case of underlying SQLException
 	 * 
 	 * @since 2.0.0
 	 */
-	public void performUpdate(Connection connection, EntityTypeDescriptor type, Object instance, Object oldVersion) throws SQLException {
+	public void performUpdate(Connection connection, EntityTypeDescriptor type, Object instance, Object oldVersion, boolean skipLazy,
+		boolean skipLobLocators) throws SQLException {
 		// Do not inline, generation of the update SQL will initialize the insertColumns!
-		final String updateSql = this.getUpdateSql(type, this.pkColumns);
-		final AbstractColumn[] updateColumns = this.getUpdateColumns(type);
+		final String updateSql = this.getUpdateSql(type, this.pkColumns, skipLazy, skipLobLocators);
+		final AbstractColumn[] updateColumns = this.getUpdateColumns(type, skipLazy, skipLobLocators);
 		final AbstractColumn[] restrictionColumns = this.getRestrictionColumns();
 
+		// all the columns of the table are left out
+		if (updateColumns.length == 0) {
+			return;
+		}
+
 		boolean hasLob = false;
 		int nextParamNo = 0;
 
@@ -373,47 +383,27 @@ public class EntityTable extends AbstractTable {
 	 *            the instance to perform update for
 	 * @param oldVersion
 	 *            the old version value
+	 * @param skipLazy
+	 *            if the columns of the lazy mappings are left out, as they are not loaded
+	 * @param skipLobLocators
+	 *            if the lob columns bound to the locators are left out, as they are not changed
 	 * @return returns true if the table is updatable
 	 * @throws SQLException
 	 *             thrown in case of underlying SQLException
 	 * 
 	 * @since 2.0.0
 	 */
-	public boolean performUpdateWithUpdatability(Connection connection, EntityTypeDescriptor type, Object instance, Object oldVersion) throws SQLException {
+	public boolean performUpdateWithUpdatability(Connection connection, EntityTypeDescriptor type, Object instance, Object oldVersion,
+		boolean skipLazy, boolean skipLobLocators) throws SQLException {
 		// Do not inline, generation of the update SQL will initialize the insertColumns!
-		final String updateSql = this.getUpdateSql(type, this.pkColumns);
-		final AbstractColumn[] updateColumns = this.getUpdateColumns(type);
-		final AbstractColumn[] restrictionColumns = this.getRestrictionColumns();
+		this.getUpdateSql(type, this.pkColumns, false, false);
 
-		if (updateColumns.length == 0) {
+		// the table participates in the update if it has any updatable column, left out or not
+		if (this.getUpdateColumns(type, false, false).length == 0) {
 			return false;
 		}
 
-		int nextParam = 0;
-		boolean hasLob = false;
-
-		// prepare the parameters
-		final Object[] params = new Object[updateColumns.length + restrictionColumns.length];
-		for (final AbstractColumn column : updateColumns) {
-			params[nextParam++] = column.getValue(connection, instance);
-
-			hasLob |= column.isLob();
-		}
-
-		for (final AbstractColumn column : restrictionColumns) {
-			if (column.isVersion()) {
-				params[nextParam++] = oldVersion;
-			}
-			else {
-				params[nextParam++] = column.getValue(connection, instance);
-			}
-		}
-
-		// execute the insert
-		final QueryRunner runner = new QueryRunner(this.jdbcAdaptor, hasLob);
-		if (1 != runner.update(connection, updateSql, params)) {
-			throw new OptimisticLockFailedException();
-		}
+		this.performUpdate(connection, type, instance, oldVersion, skipLazy, skipLobLocators);
 
 		return true;
 	}
@@ -190,15 +190,16 @@ public class ForeignKey {
 		}
 
 		final String join = Joiner.on(" AND ").join(parts);
+		final String tableReference = tableName + " " + alias + this.jdbcAdaptor.getLockHintMarker();
 
 		// append the join part
 		switch (joinType) {
 			case INNER:
-				return "INNER JOIN " + tableName + " " + alias + " ON " + join;
+				return "INNER JOIN " + tableReference + " ON " + join;
 			case LEFT:
-				return "LEFT JOIN " + tableName + " " + alias + " ON " + join;
+				return "LEFT JOIN " + tableReference + " ON " + join;
 			default:
-				return "RIGHT JOIN " + tableName + " " + alias + " ON " + join;
+				return "RIGHT JOIN " + tableReference + " ON " + join;
 		}
 	}
 
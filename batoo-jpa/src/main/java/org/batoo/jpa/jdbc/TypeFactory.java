@@ -18,8 +18,10 @@
  */
 package org.batoo.jpa.jdbc;
 
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.sql.Clob;
 import java.sql.Types;
 import java.util.Calendar;
 import java.util.Date;
@@ -53,6 +55,8 @@ public class TypeFactory {
 		if (isLob) {
 			if (Character.class.isAssignableFrom(javaType) //
 				|| String.class.isAssignableFrom(javaType) //
+				|| Clob.class.isAssignableFrom(javaType) //
+				|| Reader.class.isAssignableFrom(javaType) //
 				|| (javaType.isArray() && char.class.isAssignableFrom(javaType.getComponentType()))) {
 				return Types.CLOB;
 			}
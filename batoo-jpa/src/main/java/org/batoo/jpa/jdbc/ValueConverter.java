@@ -24,7 +24,6 @@ import java.io.CharArrayWriter;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.StringWriter;
-import java.lang.reflect.Method;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.util.Calendar;
@@ -58,19 +57,12 @@ public class ValueConverter {
 	 *            type of value
 	 * @param temporalType
 	 *            temporal type
-	 * @param enumType
-	 *            enum type
-	 * @param values
-	 *            EnumType values array for faster operation, leave it to be null but it will be slow
-	 * @param method
-	 *            Method for enum valueOf for faster operation, leave it to be null but it will be slow
 	 * @param lob
 	 *            is Lob
 	 * @return java value
 	 * @since 2.0.1
 	 */
-	@SuppressWarnings("unchecked")
-	public static Object fromJdbc(Object value, Class<?> javaType, TemporalType temporalType, EnumType enumType, Enum<?>[] values, Method method, boolean lob) {
+	public static Object fromJdbc(Object value, Class<?> javaType, TemporalType temporalType, boolean lob) {
 		if (value == null) {
 			return null;
 		}
@@ -98,26 +90,6 @@ public class ValueConverter {
 			}
 		}
 
-		if (enumType != null) {
-			try {
-				final Class<Enum<?>> enumJavaType = (Class<Enum<?>>) javaType;
-				if (enumType == EnumType.ORDINAL && values == null) {
-					values = (Enum<?>[]) enumJavaType.getMethod("values").invoke(null);
-				}
-				else if (enumType == EnumType.STRING && method == null) {
-					method = enumJavaType.getMethod("valueOf", String.class);
-				}
-
-				if (enumType == EnumType.ORDINAL) {
-					value = values[((Number) value).shortValue()];
-				}
-				else {
-					value = method.invoke(null, value);
-				}
-			}
-			catch (final Exception e) {}
-		}
-
 		if (lob) {
 			value = readLob(value, javaType);
 		}
@@ -133,6 +133,9 @@ public abstract class AbstractJdbcAdaptor {
 
 	/**
 	 * Applies the lock to SQL string.
+	 * <p>
+	 * The pessimistic locks are obtained by the select itself for all the rows returned. {@link LockModeType#PESSIMISTIC_FORCE_INCREMENT}
+	 * locks the rows for write.
 	 * 
 	 * @param sql
 	 *            the SQL to apply
@@ -144,6 +147,55 @@ public abstract class AbstractJdbcAdaptor {
 	 */
 	public abstract String applyLock(String sql, LockModeType lockMode);
 
+	/**
+	 * Applies the lock and the lock wait policy to SQL string.
+	 * <p>
+	 * The default implementation applies the lock with {@link #applyLock(String, LockModeType)} and then the lock wait policy with
+	 * {@link #applyLockWait(String, LockModeType, Integer, boolean)}. The adaptors whose lock syntax depends on the lock wait policy
+	 * override this method to build the lock clause at once.
+	 * 
+	 * @param sql
+	 *            the SQL to apply
+	 * @param lockMode
+	 *            the lock mode
+	 * @param lockTimeout
+	 *            the lock timeout in milliseconds, 0 for no wait or <code>null</code> to wait as per the database
+	 * @param skipLocked
+	 *            true if the locked rows should be skipped
+	 * @return the modified SQL
+	 * 
+	 * @since 2.0.1
+	 */
+	public String applyLock(String sql, LockModeType lockMode, Integer lockTimeout, boolean skipLocked) {
+		return this.applyLockWait(this.applyLock(sql, lockMode), lockMode, lockTimeout, skipLocked);
+	}
+
+	/**
+	 * Applies the lock wait policy to the SQL string that has the pessimistic lock applied.
+	 * <p>
+	 * The default implementation does not support skipping the locked rows and ignores the lock timeout, as the lock timeout is only a
+	 * hint.
+	 * 
+	 * @param sql
+	 *            the SQL with the lock applied
+	 * @param lockMode
+	 *            the lock mode
+	 * @param lockTimeout
+	 *            the lock timeout in milliseconds, 0 for no wait or <code>null</code> to wait as per the database
+	 * @param skipLocked
+	 *            true if the locked rows should be skipped
+	 * @return the modified SQL
+	 * 
+	 * @since 2.0.1
+	 */
+	public String applyLockWait(String sql, LockModeType lockMode, Integer lockTimeout, boolean skipLocked) {
+		if (skipLocked) {
+			throw new PersistenceException(this.getProductNames()[0] + " does not support skipping locked rows");
+		}
+
+		return sql;
+	}
+
 	/**
 	 * Applies the pagination to SQL string.
 	 * 
@@ -235,6 +287,21 @@ public abstract class AbstractJdbcAdaptor {
 		return clazz.getSimpleName();
 	}
 
+	/**
+	 * Returns the marker that is placed after the table references of the FROM and JOIN clauses.
+	 * <p>
+	 * The adaptors of the databases that take the pessimistic locks through table hints replace the marker with the hints in
+	 * {@link #applyLock(String, LockModeType)}. The default implementation returns an empty string as the locks are taken by a clause of
+	 * the statement.
+	 * 
+	 * @return the marker placed after the table references
+	 * 
+	 * @since 2.0.1
+	 */
+	public String getLockHintMarker() {
+		return "";
+	}
+
 	/**
 	 * @return the JDBC Driver this adapter works with
 	 * 
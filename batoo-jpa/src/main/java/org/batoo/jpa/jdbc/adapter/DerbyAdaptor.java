@@ -79,11 +79,11 @@ public class DerbyAdaptor extends JdbcAdaptor {
 	@Override
 	public String applyLock(String sql, LockModeType lockMode) {
 		switch (lockMode) {
-			case PESSIMISTIC_FORCE_INCREMENT:
 			case PESSIMISTIC_READ:
-				return sql + "\nFOR READ ONLY";
+				return sql + "\nFOR READ ONLY WITH RS";
 			case PESSIMISTIC_WRITE:
-				return sql + "\nFOR UPDATE";
+			case PESSIMISTIC_FORCE_INCREMENT:
+				return sql + "\nFOR UPDATE WITH RS";
 			default:
 				break;
 		}
@@ -205,6 +205,17 @@ public class DerbyAdaptor extends JdbcAdaptor {
 		return true;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Derby frees the lob locators at the end of the transaction.
+	 * 
+	 */
+	@Override
+	public boolean isLobLocatorValidOutsideTransaction() {
+		return false;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
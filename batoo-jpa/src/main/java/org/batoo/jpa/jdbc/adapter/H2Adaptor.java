@@ -80,10 +80,10 @@ public class H2Adaptor extends JdbcAdaptor {
 	@Override
 	public String applyLock(String sql, LockModeType lockMode) {
 		switch (lockMode) {
-			case PESSIMISTIC_FORCE_INCREMENT:
+			// H2 has no shared row locks
 			case PESSIMISTIC_READ:
-				return sql + "\nFOR READ ONLY";
 			case PESSIMISTIC_WRITE:
+			case PESSIMISTIC_FORCE_INCREMENT:
 				return sql + "\nFOR UPDATE";
 			default:
 				break;
@@ -102,7 +102,7 @@ public class H2Adaptor extends JdbcAdaptor {
 			sql = sql + "\nLIMIT ?";
 
 			if (startPosition != 0) {
-				sql = sql + "OFFSET ?";
+				sql = sql + " OFFSET ?";
 			}
 		}
 
@@ -294,6 +294,17 @@ public class H2Adaptor extends JdbcAdaptor {
 		return true;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * H2 may remove the temporary lob data of the result once the transaction ends.
+	 * 
+	 */
+	@Override
+	public boolean isLobLocatorValidOutsideTransaction() {
+		return false;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
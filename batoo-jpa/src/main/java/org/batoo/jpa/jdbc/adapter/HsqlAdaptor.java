@@ -83,10 +83,10 @@ public class HsqlAdaptor extends JdbcAdaptor {
 	@Override
 	public String applyLock(String sql, LockModeType lockMode) {
 		switch (lockMode) {
-			case PESSIMISTIC_FORCE_INCREMENT:
 			case PESSIMISTIC_READ:
 				return sql + "\nFOR READ ONLY";
 			case PESSIMISTIC_WRITE:
+			case PESSIMISTIC_FORCE_INCREMENT:
 				return sql + "\nFOR UPDATE";
 			default:
 				break;
@@ -309,6 +309,17 @@ public class HsqlAdaptor extends JdbcAdaptor {
 		return true;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * HSQLDB lob locators are only valid within the transaction they are read in.
+	 * 
+	 */
+	@Override
+	public boolean isLobLocatorValidOutsideTransaction() {
+		return false;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -366,4 +377,13 @@ public class HsqlAdaptor extends JdbcAdaptor {
 	public boolean supportsOrdinalParams() {
 		return false;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public boolean supportsRowValues() {
+		return true;
+	}
 }
@@ -854,6 +854,19 @@ public abstract class JdbcAdaptor extends AbstractJdbcAdaptor {
 		return this.insertBatchSize;
 	}
 
+	/**
+	 * Returns the maximum number of values the database accepts in a single <code>IN</code> list.
+	 * <p>
+	 * Expanded parameter lists are never padded beyond this size.
+	 * 
+	 * @return the maximum number of values in an <code>IN</code> list
+	 * 
+	 * @since 2.0.1
+	 */
+	public int getMaxInListSize() {
+		return Integer.MAX_VALUE;
+	}
+
 	/**
 	 * Returns next sequence number from the database.
 	 * 
@@ -1127,6 +1140,21 @@ public abstract class JdbcAdaptor extends AbstractJdbcAdaptor {
 	 */
 	protected abstract boolean isForeignKeyHasDefaultIndex();
 
+	/**
+	 * Returns if the lob locators read within a transaction remain readable after the transaction ends.
+	 * <p>
+	 * The {@link java.sql.Blob}, {@link java.sql.Clob}, {@link java.io.InputStream} and {@link java.io.Reader} attributes stay bound to the
+	 * lob locators of the driver. If the locators are not valid outside the transaction such attributes must be read before the
+	 * transaction completes, and loading them outside of a transaction logs a warning.
+	 * 
+	 * @return true if the lob locators remain readable after the transaction ends, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean isLobLocatorValidOutsideTransaction() {
+		return false;
+	}
+
 	/**
 	 * Returns if the PMD is Broken for the adaptor.
 	 * 
@@ -1324,6 +1352,17 @@ public abstract class JdbcAdaptor extends AbstractJdbcAdaptor {
 		return true;
 	}
 
+	/**
+	 * Returns if the database supports row value comparisons i.e.: <code>select * from mytable where (a, b) &gt; (?, ?)</code>.
+	 * 
+	 * @return true if the database supports row value comparisons, false otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	public boolean supportsRowValues() {
+		return false;
+	}
+
 	private void updateTable(DataSource datasource, AbstractTable table) {
 		final QueryRunner runner = new QueryRunner(datasource, this.isPmdBroken());
 
@@ -47,6 +47,8 @@ public class MsSqlAdaptor extends JdbcAdaptor {
 
 	private static final String[] PRODUCT_NAMES = new String[] { "Microsoft SQL Server" };
 
+	private static final String LOCK_HINT_MARKER = " /* LOCK */";
+
 	/**
 	 * 
 	 * @since 2.0.0
@@ -79,17 +81,36 @@ public class MsSqlAdaptor extends JdbcAdaptor {
 	 */
 	@Override
 	public String applyLock(String sql, LockModeType lockMode) {
+		return this.applyLock(sql, lockMode, null, false);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * READPAST cannot be combined with HOLDLOCK, so the read locks that skip the locked rows are taken as update locks.
+	 * 
+	 */
+	@Override
+	public String applyLock(String sql, LockModeType lockMode, Integer lockTimeout, boolean skipLocked) {
+		final String hints;
+
+		// SQL Server takes the locks through the table hints that replace the markers placed after the table references
 		switch (lockMode) {
-			case PESSIMISTIC_FORCE_INCREMENT:
 			case PESSIMISTIC_READ:
-				return sql + "\nFOR READ ONLY";
+				hints = skipLocked ? "UPDLOCK, ROWLOCK, READPAST" : "HOLDLOCK, ROWLOCK";
+				break;
 			case PESSIMISTIC_WRITE:
-				return sql + "\nFOR UPDATE";
-			default:
+			case PESSIMISTIC_FORCE_INCREMENT:
+				hints = skipLocked ? "UPDLOCK, ROWLOCK, READPAST" : "UPDLOCK, ROWLOCK";
 				break;
+			default:
+				return sql;
 		}
 
-		return sql;
+		// SQL Server has no per statement lock timeout
+		final String lockWait = !skipLocked && (lockTimeout != null) && (lockTimeout == 0) ? ", NOWAIT" : "";
+
+		return sql.replace(MsSqlAdaptor.LOCK_HINT_MARKER, " WITH (" + hints + lockWait + ")");
 	}
 
 	/**
@@ -122,7 +143,7 @@ public class MsSqlAdaptor extends JdbcAdaptor {
 			return "SELECT * FROM (\n" + sqlStr + "\n) AS PAGINATED_RESULT WHERE ROW_NUM__INTERNAL > " + startPosition + " ORDER BY ROW_NUM__INTERNAL";
 		}
 
-		return "SELECT * FROM (\n" + sqlStr + ")\nAS PAGINATED_RESULT WHERE ROW_NUM__INTERNAL > " + startPosition + " AND ROW_NUM__INTERNAL < "
+		return "SELECT * FROM (\n" + sqlStr + ")\nAS PAGINATED_RESULT WHERE ROW_NUM__INTERNAL > " + startPosition + " AND ROW_NUM__INTERNAL <= "
 			+ (startPosition + maxResult) + " ORDER BY ROW_NUM__INTERNAL";
 	}
 
@@ -281,6 +302,15 @@ public class MsSqlAdaptor extends JdbcAdaptor {
 		return "ALTER TABLE " + qualifiedName + " DROP CONSTRAINT " + foreignKey;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public String getLockHintMarker() {
+		return MsSqlAdaptor.LOCK_HINT_MARKER;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -343,6 +373,17 @@ public class MsSqlAdaptor extends JdbcAdaptor {
 		return false;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The SQL Server drivers stream the lob data off the connection which is not guaranteed after the transaction ends.
+	 * 
+	 */
+	@Override
+	public boolean isLobLocatorValidOutsideTransaction() {
+		return false;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -75,12 +75,27 @@ public class MySqlAdaptor extends JdbcAdaptor {
 	 */
 	@Override
 	public String applyLock(String sql, LockModeType lockMode) {
+		return this.applyLock(sql, lockMode, null, false);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * NOWAIT and SKIP LOCKED require MySQL 8.0, which also introduced the FOR SHARE syntax they require for the read locks. Without them
+	 * the read locks use the LOCK IN SHARE MODE syntax understood by the earlier versions.
+	 * 
+	 */
+	@Override
+	public String applyLock(String sql, LockModeType lockMode, Integer lockTimeout, boolean skipLocked) {
+		// MySQL has no per statement lock timeout
+		final String lockWait = skipLocked ? " SKIP LOCKED" : ((lockTimeout != null) && (lockTimeout == 0)) ? " NOWAIT" : "";
+
 		switch (lockMode) {
-			case PESSIMISTIC_FORCE_INCREMENT:
 			case PESSIMISTIC_READ:
-				return sql + "\nFOR READ ONLY";
+				return sql + (lockWait.length() > 0 ? "\nFOR SHARE" + lockWait : "\nLOCK IN SHARE MODE");
 			case PESSIMISTIC_WRITE:
-				return sql + "\nFOR UPDATE";
+			case PESSIMISTIC_FORCE_INCREMENT:
+				return sql + "\nFOR UPDATE" + lockWait;
 			default:
 				break;
 		}
@@ -223,6 +238,17 @@ public class MySqlAdaptor extends JdbcAdaptor {
 		return false;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * MySQL Connector/J reads the lob data into memory unless <code>emulateLocators</code> is set.
+	 * 
+	 */
+	@Override
+	public boolean isLobLocatorValidOutsideTransaction() {
+		return true;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -253,4 +279,13 @@ public class MySqlAdaptor extends JdbcAdaptor {
 
 		return IdType.TABLE;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public boolean supportsRowValues() {
+		return true;
+	}
 }
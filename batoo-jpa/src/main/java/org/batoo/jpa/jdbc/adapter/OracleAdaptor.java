@@ -82,10 +82,10 @@ public class OracleAdaptor extends JdbcAdaptor {
 	@Override
 	public String applyLock(String sql, LockModeType lockMode) {
 		switch (lockMode) {
-			case PESSIMISTIC_FORCE_INCREMENT:
+			// Oracle has no shared row locks
 			case PESSIMISTIC_READ:
-				return sql + "\nFOR READ ONLY";
 			case PESSIMISTIC_WRITE:
+			case PESSIMISTIC_FORCE_INCREMENT:
 				return sql + "\nFOR UPDATE";
 			default:
 				break;
@@ -94,6 +94,28 @@ public class OracleAdaptor extends JdbcAdaptor {
 		return sql;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public String applyLockWait(String sql, LockModeType lockMode, Integer lockTimeout, boolean skipLocked) {
+		if (skipLocked) {
+			return sql + " SKIP LOCKED";
+		}
+
+		if (lockTimeout != null) {
+			if (lockTimeout == 0) {
+				return sql + " NOWAIT";
+			}
+
+			// Oracle waits in seconds
+			return sql + " WAIT " + ((lockTimeout + 999) / 1000);
+		}
+
+		return sql;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -252,6 +274,15 @@ public class OracleAdaptor extends JdbcAdaptor {
 		return 1; // Oracle does not support bulk inserts...
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public int getMaxInListSize() {
+		return 1000; // ORA-01795
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -298,6 +329,17 @@ public class OracleAdaptor extends JdbcAdaptor {
 		return false;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Oracle lob locators remain readable after the transaction as long as the connection is open.
+	 * 
+	 */
+	@Override
+	public boolean isLobLocatorValidOutsideTransaction() {
+		return true;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
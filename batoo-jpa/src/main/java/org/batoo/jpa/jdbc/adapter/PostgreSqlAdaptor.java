@@ -80,10 +80,10 @@ public class PostgreSqlAdaptor extends JdbcAdaptor {
 	@Override
 	public String applyLock(String sql, LockModeType lockMode) {
 		switch (lockMode) {
-			case PESSIMISTIC_FORCE_INCREMENT:
 			case PESSIMISTIC_READ:
-				return sql + "\nFOR READ ONLY";
+				return sql + "\nFOR SHARE";
 			case PESSIMISTIC_WRITE:
+			case PESSIMISTIC_FORCE_INCREMENT:
 				return sql + "\nFOR UPDATE";
 			default:
 				break;
@@ -92,6 +92,24 @@ public class PostgreSqlAdaptor extends JdbcAdaptor {
 		return sql;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public String applyLockWait(String sql, LockModeType lockMode, Integer lockTimeout, boolean skipLocked) {
+		if (skipLocked) {
+			return sql + " SKIP LOCKED";
+		}
+
+		// PostgreSQL has no per statement lock timeout
+		if ((lockTimeout != null) && (lockTimeout == 0)) {
+			return sql + " NOWAIT";
+		}
+
+		return sql;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -99,11 +117,11 @@ public class PostgreSqlAdaptor extends JdbcAdaptor {
 	@Override
 	public String applyPagination(String sql, int startPosition, int maxResult) {
 		if (startPosition != 0) {
-			sql = sql + "\nOFFSET " + startPosition + " ROWS";
+			sql = sql + "\nOFFSET ? ROWS";
 		}
 
 		if (maxResult != Integer.MAX_VALUE) {
-			sql = sql + "\nFETCH FIRST " + maxResult + " ROWS ONLY";
+			sql = sql + "\nFETCH FIRST ? ROWS ONLY";
 		}
 
 		return sql;
@@ -268,10 +286,12 @@ public class PostgreSqlAdaptor extends JdbcAdaptor {
 
 	/**
 	 * {@inheritDoc}
+	 * <p>
+	 * PostgreSQL large objects can only be accessed within a transaction.
 	 * 
 	 */
 	@Override
-	public boolean paginationNeedsMaxResultsAlways() {
+	public boolean isLobLocatorValidOutsideTransaction() {
 		return false;
 	}
 
@@ -280,7 +300,7 @@ public class PostgreSqlAdaptor extends JdbcAdaptor {
 	 * 
 	 */
 	@Override
-	public boolean paginationNeedsStartAlways() {
+	public boolean paginationNeedsMaxResultsAlways() {
 		return false;
 	}
 
@@ -289,7 +309,7 @@ public class PostgreSqlAdaptor extends JdbcAdaptor {
 	 * 
 	 */
 	@Override
-	public boolean parameterizedPagination() {
+	public boolean paginationNeedsStartAlways() {
 		return false;
 	}
 
@@ -314,4 +334,13 @@ public class PostgreSqlAdaptor extends JdbcAdaptor {
 				return IdType.SEQUENCE;
 		}
 	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public boolean supportsRowValues() {
+		return true;
+	}
 }
@@ -82,10 +82,10 @@ public class SawSqlAdaptor extends JdbcAdaptor {
 	@Override
 	public String applyLock(String sql, LockModeType lockMode) {
 		switch (lockMode) {
-			case PESSIMISTIC_FORCE_INCREMENT:
 			case PESSIMISTIC_READ:
 				return sql + "\nFOR READ ONLY";
 			case PESSIMISTIC_WRITE:
+			case PESSIMISTIC_FORCE_INCREMENT:
 				return sql + "\nFOR UPDATE";
 			default:
 				break;
@@ -100,10 +100,6 @@ public class SawSqlAdaptor extends JdbcAdaptor {
 	 */
 	@Override
 	public String applyPagination(String sql, int startPosition, int maxResult) {
-		if (startPosition == 0) {
-			return sql.replaceFirst("SELECT", "SELECT TOP " + maxResult);
-		}
-
 		sql = BatooUtils.indent(sql);
 
 		final StringBuffer sqlStr = new StringBuffer(sql);
@@ -116,11 +112,8 @@ public class SawSqlAdaptor extends JdbcAdaptor {
 		final int fromIndex = sqlStr.indexOf("FROM");
 		sqlStr.insert(fromIndex, "\t, ROW_NUMBER() OVER (" + orderby + ") AS ROW_NUM__INTERNAL ");
 
-		if (maxResult == Integer.MAX_VALUE) {
-			return "SELECT * FROM (\n" + sqlStr + "\n) AS PAGINATED_RESULT WHERE ROW_NUM__INTERNAL > ? ORDER BY ROW_NUM__INTERNAL";
-		}
-
-		return "SELECT * FROM (\n" + sqlStr + ")\nAS PAGINATED_RESULT WHERE ROW_NUM__INTERNAL > ? AND ROW_NUM__INTERNAL < ? ORDER BY ROW_NUM__INTERNAL";
+		// both bounds are always parameters so that the SQL does not depend on the page
+		return "SELECT * FROM (\n" + sqlStr + ")\nAS PAGINATED_RESULT WHERE ROW_NUM__INTERNAL > ? AND ROW_NUM__INTERNAL <= ? ORDER BY ROW_NUM__INTERNAL";
 	}
 
 	/**
@@ -341,6 +334,17 @@ public class SawSqlAdaptor extends JdbcAdaptor {
 		return false;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * SQL Anywhere lob locators are only valid within the transaction they are read in.
+	 * 
+	 */
+	@Override
+	public boolean isLobLocatorValidOutsideTransaction() {
+		return false;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -365,7 +369,7 @@ public class SawSqlAdaptor extends JdbcAdaptor {
 	 */
 	@Override
 	public boolean paginationNeedsStartAlways() {
-		return false;
+		return true;
 	}
 
 	/**
@@ -18,6 +18,8 @@
  */
 package org.batoo.jpa.jdbc.dbutils;
 
+import java.io.InputStream;
+import java.io.Reader;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Connection;
@@ -216,6 +218,12 @@ public class QueryRunner {
 						statement.setBlob(i + 1, (Blob) param);
 					}
 				}
+				else if (hasLob && (param instanceof InputStream)) {
+					statement.setBinaryStream(i + 1, (InputStream) param);
+				}
+				else if (hasLob && (param instanceof Reader)) {
+					statement.setCharacterStream(i + 1, (Reader) param);
+				}
 				else {
 					statement.setObject(i + 1, param);
 				}
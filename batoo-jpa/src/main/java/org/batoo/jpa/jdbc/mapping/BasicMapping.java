@@ -18,6 +18,7 @@
  */
 package org.batoo.jpa.jdbc.mapping;
 
+import javax.persistence.AttributeConverter;
 import javax.persistence.EnumType;
 import javax.persistence.TemporalType;
 
@@ -55,6 +56,15 @@ public interface BasicMapping<Z, X> extends SingularMapping<Z, X> {
 	 */
 	ColumnTransformerMetadata getColumnTransformer();
 
+	/**
+	 * Returns the attribute converter of the mapping.
+	 * 
+	 * @return the attribute converter of the mapping or <code>null</code> if the mapping is not converted
+	 * 
+	 * @since 2.0.1
+	 */
+	AttributeConverter<X, ?> getConverter();
+
 	/**
 	 * Returns the enum type of the mapping.
 	 * 
@@ -73,6 +83,15 @@ public interface BasicMapping<Z, X> extends SingularMapping<Z, X> {
 	 */
 	TemporalType getTemporalType();
 
+	/**
+	 * Returns if the mapping is loaded lazily.
+	 * 
+	 * @return <code>true</code> if the mapping is loaded lazily, <code>false</code> otherwise
+	 * 
+	 * @since 2.0.1
+	 */
+	boolean isLazy();
+
 	/**
 	 * Returns if the mapping is lob type.
 	 * 
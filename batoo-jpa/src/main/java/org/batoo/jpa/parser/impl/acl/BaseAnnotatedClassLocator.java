@@ -46,6 +46,14 @@ public abstract class BaseAnnotatedClassLocator implements AnnotatedClassLocator
 	private static final BLogger LOG = BLoggerFactory.getLogger(BaseAnnotatedClassLocator.class);
 
 	private static void locateClasses(PersistenceUnitInfo puInfo, final Set<Class<?>> classes, final URL jarUrl) {
+		// prefer the build time index over scanning the persistence root
+		final Set<Class<?>> indexedClasses = PersistenceIndex.read(puInfo.getClassLoader(), jarUrl);
+		if (indexedClasses != null) {
+			classes.addAll(indexedClasses);
+
+			return;
+		}
+
 		AnnotatedClassLocator locator = null;
 
 		if (jarUrl.getProtocol().equals("file")) {
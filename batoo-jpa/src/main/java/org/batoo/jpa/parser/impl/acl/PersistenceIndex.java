@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.parser.impl.acl;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+import org.batoo.common.log.BLogger;
+import org.batoo.common.log.BLoggerFactory;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * The build time index of the persistent classes of a persistence root.
+ * <p>
+ * The index is generated on demand by the batoo-maven-plugin into {@link #INDEX_FILE} and, when present and up to date, replaces the class
+ * scan of the persistence root. An index older than the classes of the persistence root or listing classes that no longer exist is
+ * ignored and the persistence root is scanned. Optionally the index also records the checksums of the named queries that were verified
+ * at build time, so that their compilation can be deferred to their first use.
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public class PersistenceIndex {
+
+	private static final BLogger LOG = BLoggerFactory.getLogger(PersistenceIndex.class);
+
+	/**
+	 * The location of the index relative to the persistence root.
+	 */
+	public static final String INDEX_FILE = "META-INF/batoo-index.properties";
+
+	/**
+	 * The version of the index format.
+	 */
+	public static final String INDEX_VERSION = "1";
+
+	private static final String KEY_VERSION = "version";
+	private static final String KEY_CLASSES = "classes";
+	private static final String KEY_QUERY_PREFIX = "query.";
+
+	private static final ConcurrentMap<String, Boolean> STALE = Maps.newConcurrentMap();
+
+	/**
+	 * Returns the checksum of the query.
+	 * 
+	 * @param query
+	 *            the query string
+	 * @return the checksum of the query
+	 * 
+	 * @since 2.0.1
+	 */
+	public static String checksum(String query) {
+		final CRC32 crc = new CRC32();
+
+		try {
+			crc.update(query.getBytes("UTF-8"));
+		}
+		catch (final UnsupportedEncodingException e) {
+			// UTF-8 is always supported
+			throw new IllegalStateException(e);
+		}
+
+		return Long.toHexString(crc.getValue()) + ":" + query.length();
+	}
+
+	private static boolean isStale(File directory, File indexFile) {
+		// walking the classes is costly, the result is kept for the index until it is regenerated
+		final String key = indexFile.getAbsolutePath() + "@" + indexFile.lastModified();
+
+		Boolean stale = PersistenceIndex.STALE.get(key);
+		if (stale == null) {
+			stale = PersistenceIndex.isStale(directory, indexFile.lastModified());
+
+			PersistenceIndex.STALE.put(key, stale);
+		}
+
+		return stale;
+	}
+
+	private static boolean isStale(File directory, long indexTime) {
+		final File[] files = directory.listFiles();
+		if (files == null) {
+			return false;
+		}
+
+		for (final File file : files) {
+			if (file.isDirectory()) {
+				if (PersistenceIndex.isStale(file, indexTime)) {
+					return true;
+				}
+			}
+			else if (file.getName().endsWith(".class") && (file.lastModified() > indexTime)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static InputStream open(URL root) throws IOException {
+		if (!"file".equals(root.getProtocol())) {
+			return null;
+		}
+
+		final File file = new File(root.getPath());
+		if (file.isDirectory()) {
+			final File indexFile = new File(file, PersistenceIndex.INDEX_FILE);
+			if (!indexFile.isFile()) {
+				return null;
+			}
+
+			// classes compiled after the index, i.e. by an IDE without the plugin, make the index stale
+			if (PersistenceIndex.isStale(file, indexFile)) {
+				PersistenceIndex.LOG.warn("The persistence index of {0} is older than its classes, falling back to scan", root);
+
+				return null;
+			}
+
+			return new FileInputStream(indexFile);
+		}
+
+		try {
+			return new URL("jar:" + root.toExternalForm() + "!/" + PersistenceIndex.INDEX_FILE).openStream();
+		}
+		catch (final IOException e) {
+			// no index in the archive
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the index of the persistence root.
+	 * 
+	 * @param classloader
+	 *            the class loader to load the classes
+	 * @param root
+	 *            the url of the persistence root
+	 * @return the set of classes listed in the index or <code>null</code> if the persistence root has no valid and up to date index of the
+	 *         classes
+	 * 
+	 * @since 2.0.1
+	 */
+	public static Set<Class<?>> read(ClassLoader classloader, URL root) {
+		final Properties properties = new Properties();
+
+		try {
+			final InputStream is = PersistenceIndex.open(root);
+			if (is == null) {
+				return null;
+			}
+
+			try {
+				properties.load(is);
+			}
+			finally {
+				is.close();
+			}
+		}
+		catch (final IOException e) {
+			PersistenceIndex.LOG.warn(e, "Unable to read the persistence index of {0}, falling back to scan", root);
+
+			return null;
+		}
+
+		if (!PersistenceIndex.INDEX_VERSION.equals(properties.getProperty(PersistenceIndex.KEY_VERSION))) {
+			PersistenceIndex.LOG.warn("Unsupported persistence index version {0} in {1}, falling back to scan",
+				properties.getProperty(PersistenceIndex.KEY_VERSION), root);
+
+			return null;
+		}
+
+		// the index may only carry the named queries
+		final String classNames = properties.getProperty(PersistenceIndex.KEY_CLASSES);
+		if (classNames == null) {
+			return null;
+		}
+
+		final Set<Class<?>> classes = Sets.newHashSet();
+		for (final String className : Splitter.on(',').trimResults().omitEmptyStrings().split(classNames)) {
+			try {
+				classes.add(classloader.loadClass(className));
+			}
+			catch (final ClassNotFoundException e) {
+				PersistenceIndex.LOG.warn("Indexed persistent class {0} not found, the persistence index of {1} is stale, falling back to scan",
+					className, root);
+
+				return null;
+			}
+		}
+
+		PersistenceIndex.LOG.info("Loaded persistent classes from the index of {0}: {1}", root, classes.toString());
+
+		return classes;
+	}
+
+	/**
+	 * Reads the checksums of the named queries verified at build time from all the indexes visible to the class loader.
+	 * 
+	 * @param classloader
+	 *            the class loader
+	 * @return the map of named query names to the checksums of the verified queries
+	 * 
+	 * @since 2.0.1
+	 */
+	public static Map<String, String> readQueryChecksums(ClassLoader classloader) {
+		final Map<String, String> checksums = Maps.newHashMap();
+
+		try {
+			final Enumeration<URL> indexes = classloader.getResources(PersistenceIndex.INDEX_FILE);
+			while (indexes.hasMoreElements()) {
+				final URL index = indexes.nextElement();
+
+				final Properties properties = new Properties();
+				final InputStream is = index.openStream();
+				try {
+					properties.load(is);
+				}
+				finally {
+					is.close();
+				}
+
+				if (!PersistenceIndex.INDEX_VERSION.equals(properties.getProperty(PersistenceIndex.KEY_VERSION))) {
+					continue;
+				}
+
+				for (final String key : properties.stringPropertyNames()) {
+					if (key.startsWith(PersistenceIndex.KEY_QUERY_PREFIX)) {
+						checksums.put(key.substring(PersistenceIndex.KEY_QUERY_PREFIX.length()), properties.getProperty(key));
+					}
+				}
+			}
+		}
+		catch (final IOException e) {
+			PersistenceIndex.LOG.warn(e, "Unable to read the persistence indexes, named queries will be compiled at deployment");
+
+			return Collections.emptyMap();
+		}
+
+		return checksums;
+	}
+
+	/**
+	 * Writes the index of the persistent classes.
+	 * 
+	 * @param os
+	 *            the output stream to write to
+	 * @param classNames
+	 *            the names of the persistent classes or <code>null</code> to leave the class discovery to the scan
+	 * @param namedQueries
+	 *            the map of named query names to queries verified at build time, may be empty
+	 * @throws IOException
+	 *             thrown if the index cannot be written
+	 * 
+	 * @since 2.0.1
+	 */
+	public static void write(OutputStream os, Collection<String> classNames, Map<String, String> namedQueries) throws IOException {
+		final Properties properties = new Properties();
+		properties.setProperty(PersistenceIndex.KEY_VERSION, PersistenceIndex.INDEX_VERSION);
+
+		if (classNames != null) {
+			final List<String> sortedNames = Lists.newArrayList(classNames);
+			Collections.sort(sortedNames);
+
+			properties.setProperty(PersistenceIndex.KEY_CLASSES, Joiner.on(',').join(sortedNames));
+		}
+
+		for (final Entry<String, String> namedQuery : namedQueries.entrySet()) {
+			properties.setProperty(PersistenceIndex.KEY_QUERY_PREFIX + namedQuery.getKey(), PersistenceIndex.checksum(namedQuery.getValue()));
+		}
+
+		properties.store(os, "Batoo JPA persistence index, generated by batoo-maven-plugin");
+	}
+
+	private PersistenceIndex() {
+		super();
+	}
+}
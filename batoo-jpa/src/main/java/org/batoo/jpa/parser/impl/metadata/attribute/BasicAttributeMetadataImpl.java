@@ -23,6 +23,7 @@ import java.lang.reflect.Member;
 import java.util.Set;
 
 import javax.persistence.Basic;
+import javax.persistence.Convert;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
@@ -51,6 +52,7 @@ public class BasicAttributeMetadataImpl extends PhysicalAttributeMetadataImpl im
 	private final FetchType fetchType;
 	private final IndexMetadata index;
 	private final ColumnTransformerMetadata columnTransformer;
+	private final String converter;
 
 	/**
 	 * @param member
@@ -69,6 +71,7 @@ public class BasicAttributeMetadataImpl extends PhysicalAttributeMetadataImpl im
 		this.fetchType = metadata.getFetchType();
 		this.index = metadata.getIndex();
 		this.columnTransformer = metadata.getColumnTransformer();
+		this.converter = metadata.getConverter();
 	}
 
 	/**
@@ -89,6 +92,7 @@ public class BasicAttributeMetadataImpl extends PhysicalAttributeMetadataImpl im
 		final Enumerated enumerated = ReflectHelper.getAnnotation(member, Enumerated.class);
 		final Index index = ReflectHelper.getAnnotation(member, Index.class);
 		final ColumnTransformer columnTransformer = ReflectHelper.getAnnotation(member, ColumnTransformer.class);
+		final Convert convert = ReflectHelper.getAnnotation(member, Convert.class);
 
 		parsed.add(Lob.class);
 		parsed.add(Basic.class);
@@ -96,6 +100,7 @@ public class BasicAttributeMetadataImpl extends PhysicalAttributeMetadataImpl im
 		parsed.add(Basic.class);
 		parsed.add(Index.class);
 		parsed.add(ColumnTransformer.class);
+		parsed.add(Convert.class);
 
 		this.optional = basic != null ? basic.optional() : true;
 		this.fetchType = basic != null ? basic.fetch() : FetchType.EAGER;
@@ -103,6 +108,7 @@ public class BasicAttributeMetadataImpl extends PhysicalAttributeMetadataImpl im
 		this.enumType = enumerated != null ? enumerated.value() : null;
 		this.index = index != null ? new IndexMetadataImpl(this.getLocator(), index, this.getName()) : null;
 		this.columnTransformer = columnTransformer != null ? new ColumnTransformerMetadataImpl(this.getLocator(), columnTransformer) : null;
+		this.converter = (convert != null) && !convert.disableConversion() && (convert.converter() != void.class) ? convert.converter().getName() : null;
 	}
 
 	/**
@@ -114,6 +120,15 @@ public class BasicAttributeMetadataImpl extends PhysicalAttributeMetadataImpl im
 		return this.columnTransformer;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public String getConverter() {
+		return this.converter;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
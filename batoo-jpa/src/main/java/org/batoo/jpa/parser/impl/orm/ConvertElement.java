@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.parser.impl.orm;
+
+import java.util.Map;
+
+/**
+ * Element for <code>convert</code> elements.
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public class ConvertElement extends ChildElement {
+
+	private String converter;
+
+	/**
+	 * @param parent
+	 *            the parent element factory
+	 * @param attributes
+	 *            the attributes
+	 * 
+	 * @since 2.0.1
+	 */
+	public ConvertElement(ParentElement parent, Map<String, String> attributes) {
+		super(parent, attributes);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	protected void generate() {
+		super.generate();
+
+		this.converter = this.getAttribute(ElementConstants.ATTR_DISABLE_CONVERSION, false) ? null : this.getAttribute(ElementConstants.ATTR_CONVERTER);
+	}
+
+	/**
+	 * Returns the class name of the converter.
+	 * 
+	 * @return the class name of the converter or <code>null</code> if the conversion is disabled
+	 * 
+	 * @since 2.0.1
+	 */
+	public String getConverter() {
+		return this.converter;
+	}
+}
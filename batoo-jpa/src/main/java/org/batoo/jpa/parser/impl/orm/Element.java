@@ -138,6 +138,7 @@ public abstract class Element extends ElementConstants implements LocatableMatad
 		Element.factoryMap.put(ElementConstants.ELEMENT_TEMPORAL, TemporalElement.class);
 		Element.factoryMap.put(ElementConstants.ELEMENT_ENUMERATED, EnumeratedElement.class);
 		Element.factoryMap.put(ElementConstants.ELEMENT_LOB, LobElement.class);
+		Element.factoryMap.put(ElementConstants.ELEMENT_CONVERT, ConvertElement.class);
 
 		// overrides
 		Element.factoryMap.put(ElementConstants.ELEMENT_ASSOCIATION_OVERRIDE, AssociationOverrideElement.class);
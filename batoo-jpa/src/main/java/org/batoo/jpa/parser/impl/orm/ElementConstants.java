@@ -72,6 +72,7 @@ public class ElementConstants {
 	protected static final String ELEMENT_COLLECTION_TABLE = "collection-table";
 	protected static final String ELEMENT_JOIN_TABLE = "join-table";
 	protected static final String ELEMENT_LOB = "lob";
+	protected static final String ELEMENT_CONVERT = "convert";
 	protected static final String ELEMENT_LOCK_MODE = "lock-mode";
 	protected static final String ELEMENT_ELEMENT_COLLECTION = "element-collection";
 	protected static final String ELEMENT_MANY_TO_MANY = "many-to-many";
@@ -177,6 +178,8 @@ public class ElementConstants {
 	 * ManagedType
 	 */
 	protected static final String ATTR_CLASS = "class";
+	protected static final String ATTR_CONVERTER = "converter";
+	protected static final String ATTR_DISABLE_CONVERSION = "disable-conversion";
 	protected static final String ATTR_CACHABLE = "cachable";
 	protected static final String ATTR_METADATA_COMPLETE = "metadata-complete";
 }
@@ -23,6 +23,7 @@ import java.util.Map;
 import javax.persistence.EnumType;
 import javax.persistence.FetchType;
 
+import org.batoo.jpa.parser.impl.orm.ConvertElement;
 import org.batoo.jpa.parser.impl.orm.Element;
 import org.batoo.jpa.parser.impl.orm.ElementConstants;
 import org.batoo.jpa.parser.impl.orm.EnumeratedElement;
@@ -44,6 +45,7 @@ public class BasicAttributeElement extends PhysicalAttributeElement implements B
 	private boolean lob = false;
 	private boolean optional = true;
 	private FetchType fetchType;
+	private String converter;
 
 	/**
 	 * @param parent
@@ -58,7 +60,8 @@ public class BasicAttributeElement extends PhysicalAttributeElement implements B
 			ElementConstants.ELEMENT_TEMPORAL, //
 			ElementConstants.ELEMENT_ENUMERATED, //
 			ElementConstants.ELEMENT_COLUMN, //
-			ElementConstants.ELEMENT_LOB);
+			ElementConstants.ELEMENT_LOB, //
+			ElementConstants.ELEMENT_CONVERT);
 	}
 
 	/**
@@ -82,6 +85,15 @@ public class BasicAttributeElement extends PhysicalAttributeElement implements B
 		return null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public String getConverter() {
+		return this.converter;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -124,6 +136,10 @@ public class BasicAttributeElement extends PhysicalAttributeElement implements B
 		if (child instanceof LobElement) {
 			this.lob = true;
 		}
+
+		if (child instanceof ConvertElement) {
+			this.converter = ((ConvertElement) child).getConverter();
+		}
 	}
 
 	/**
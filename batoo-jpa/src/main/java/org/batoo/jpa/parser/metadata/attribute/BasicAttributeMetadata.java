@@ -41,6 +41,15 @@ public interface BasicAttributeMetadata extends PhysicalAttributeMetadata {
 	 */
 	ColumnTransformerMetadata getColumnTransformer();
 
+	/**
+	 * Returns the class name of the attribute converter of the basic attribute.
+	 * 
+	 * @return the class name of the attribute converter or <code>null</code> if the attribute is not converted
+	 * 
+	 * @since 2.0.1
+	 */
+	String getConverter();
+
 	/**
 	 * Returns the enumType of the basic attribute.
 	 * 
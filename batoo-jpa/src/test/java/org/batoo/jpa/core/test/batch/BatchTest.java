@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.test.batch;
+
+import java.util.Map;
+
+import javax.persistence.EntityExistsException;
+import javax.persistence.EntityManager;
+
+import junit.framework.Assert;
+
+import org.batoo.jpa.BJPASettings;
+import org.batoo.jpa.core.test.BaseCoreTest;
+import org.junit.Test;
+
+import com.google.common.collect.Maps;
+
+/**
+ * @author hceylan
+ * 
+ * @since 2.0.1
+ */
+public class BatchTest extends BaseCoreTest {
+
+	private static final int COUNT = 25;
+
+	/**
+	 * Tests that without the high water mark a detached entity is still rejected in a persist cascade.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testDetachedCascade() {
+		final Parent parent = new Parent();
+		parent.setValue("Parent");
+
+		this.persist(parent);
+		this.commit();
+		this.close();
+
+		final Parent detached = this.find(Parent.class, parent.getId());
+		this.em().clear();
+
+		final Child child = new Child();
+		child.setValue("Child");
+		child.setParent(detached);
+
+		try {
+			this.persist(child);
+
+			Assert.fail("Detached entity persisted through the cascade");
+		}
+		catch (final EntityExistsException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Tests that the session is flushed and the clean instances are evicted once the high water mark is reached.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testHighWaterMark() {
+		final Map<String, Object> properties = Maps.newHashMap();
+		properties.put(BJPASettings.SESSION_HIGH_WATER_MARK, "10");
+
+		final EntityManager em = this.emf().createEntityManager(properties);
+		try {
+			em.getTransaction().begin();
+
+			final Item first = new Item();
+			first.setValue("Item0");
+			em.persist(first);
+
+			for (int i = 1; i < BatchTest.COUNT; i++) {
+				final Item item = new Item();
+				item.setValue("Item" + i);
+
+				em.persist(item);
+			}
+
+			Assert.assertFalse(em.contains(first));
+			Assert.assertNotNull(first.getId());
+
+			em.getTransaction().commit();
+		}
+		finally {
+			em.close();
+		}
+
+		Assert.assertEquals(BatchTest.COUNT, this.cq("select count(i) from Item i", Long.class).getSingleResult().intValue());
+	}
+
+	/**
+	 * Tests that the children persisted past the high water mark keep referring to the parent without inserting it again.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testHighWaterMarkCascade() {
+		final Map<String, Object> properties = Maps.newHashMap();
+		properties.put(BJPASettings.SESSION_HIGH_WATER_MARK, "10");
+
+		final EntityManager em = this.emf().createEntityManager(properties);
+		try {
+			em.getTransaction().begin();
+
+			final Parent parent = new Parent();
+			parent.setValue("Parent");
+			em.persist(parent);
+
+			for (int i = 0; i < BatchTest.COUNT; i++) {
+				final Child child = new Child();
+				child.setValue("Child" + i);
+				child.setParent(parent);
+				parent.getChildren().add(child);
+
+				em.persist(child);
+			}
+
+			Assert.assertNotNull(parent.getId());
+
+			em.getTransaction().commit();
+		}
+		finally {
+			em.close();
+		}
+
+		Assert.assertEquals(1, this.cq("select count(p) from Parent p", Long.class).getSingleResult().intValue());
+		Assert.assertEquals(BatchTest.COUNT, this.cq("select count(c) from Child c", Long.class).getSingleResult().intValue());
+		Assert.assertEquals(BatchTest.COUNT,
+			this.cq("select count(c) from Child c where c.parent.value = 'Parent'", Long.class).getSingleResult().intValue());
+	}
+}
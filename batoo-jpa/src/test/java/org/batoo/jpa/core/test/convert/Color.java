@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.test.convert;
+
+/**
+ * A value object that is stored as a narrow column through {@link ColorConverter}.
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public class Color {
+
+	private final int red;
+	private final int green;
+	private final int blue;
+
+	/**
+	 * @param red
+	 *            the red component
+	 * @param green
+	 *            the green component
+	 * @param blue
+	 *            the blue component
+	 * 
+	 * @since 2.0.1
+	 */
+	public Color(int red, int green, int blue) {
+		super();
+
+		this.red = red;
+		this.green = green;
+		this.blue = blue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof Color)) {
+			return false;
+		}
+
+		final Color other = (Color) obj;
+
+		return (this.red == other.red) && (this.green == other.green) && (this.blue == other.blue);
+	}
+
+	/**
+	 * Returns the blue.
+	 * 
+	 * @return the blue
+	 * @since 2.0.1
+	 */
+	public int getBlue() {
+		return this.blue;
+	}
+
+	/**
+	 * Returns the green.
+	 * 
+	 * @return the green
+	 * @since 2.0.1
+	 */
+	public int getGreen() {
+		return this.green;
+	}
+
+	/**
+	 * Returns the red.
+	 * 
+	 * @return the red
+	 * @since 2.0.1
+	 */
+	public int getRed() {
+		return this.red;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public int hashCode() {
+		return (this.red << 16) | (this.green << 8) | this.blue;
+	}
+}
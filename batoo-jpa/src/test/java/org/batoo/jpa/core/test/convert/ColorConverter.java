@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.test.convert;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Converts the colors to and from their <code>#rrggbb</code> representation.
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+@Converter
+public class ColorConverter implements AttributeConverter<Color, String> {
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public String convertToDatabaseColumn(Color attribute) {
+		return String.format("#%02x%02x%02x", attribute.getRed(), attribute.getGreen(), attribute.getBlue());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	public Color convertToEntityAttribute(String dbData) {
+		final int rgb = Integer.parseInt(dbData.substring(1), 16);
+
+		return new Color((rgb >> 16) & 0xff, (rgb >> 8) & 0xff, rgb & 0xff);
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.test.convert;
+
+import java.sql.Types;
+
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import junit.framework.Assert;
+
+import org.batoo.jpa.core.impl.model.EntityTypeImpl;
+import org.batoo.jpa.core.impl.model.mapping.BasicMappingImpl;
+import org.batoo.jpa.core.test.BaseCoreTest;
+import org.junit.Test;
+
+/**
+ * @author hceylan
+ * 
+ * @since 2.0.1
+ */
+public class ConvertTest extends BaseCoreTest {
+
+	private static final Color RED = new Color(0xff, 0, 0);
+	private static final Color BLUE = new Color(0, 0, 0xff);
+
+	/**
+	 * Tests that the converted attributes are stored as the database type of the converter.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testConvert() {
+		final EntityTypeImpl<Paint> type = this.em().getMetamodel().entity(Paint.class);
+		for (final BasicMappingImpl<?, ?> mapping : type.getBasicMappings()) {
+			if ("color".equals(mapping.getName())) {
+				Assert.assertEquals(Types.VARCHAR, mapping.getColumn().getSqlType());
+			}
+		}
+
+		final Paint paint = new Paint(ConvertTest.RED);
+		this.persist(paint);
+		this.commit();
+		this.close();
+
+		Assert.assertEquals("#ff0000", this.em().createNativeQuery("select color from Paint").getSingleResult());
+		Assert.assertEquals(ConvertTest.RED, this.cq("select p.color from Paint p", Color.class).getSingleResult());
+
+		final Paint paint2 = this.find(Paint.class, paint.getId());
+		Assert.assertEquals(ConvertTest.RED, paint2.getColor());
+
+		this.begin();
+		paint2.setColor(ConvertTest.BLUE);
+		this.commit();
+		this.close();
+
+		Assert.assertEquals(ConvertTest.BLUE, this.find(Paint.class, paint.getId()).getColor());
+	}
+
+	/**
+	 * Tests that the literals and parameters compared with the converted attributes are converted.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testConvertQuery() {
+		this.persist(new Paint(ConvertTest.RED));
+		this.persist(new Paint(ConvertTest.BLUE));
+		this.commit();
+		this.close();
+
+		final TypedQuery<Paint> q = this.cq("select p from Paint p where p.color = :color", Paint.class);
+		q.setParameter("color", ConvertTest.BLUE);
+		Assert.assertEquals(ConvertTest.BLUE, q.getSingleResult().getColor());
+
+		final CriteriaBuilder cb = this.em().getCriteriaBuilder();
+		final CriteriaQuery<Paint> cq = cb.createQuery(Paint.class);
+		final Root<Paint> r = cq.from(Paint.class);
+		cq.where(cb.equal(r.get("color"), ConvertTest.RED));
+		Assert.assertEquals(ConvertTest.RED, this.em().createQuery(cq).getSingleResult().getColor());
+	}
+
+	/**
+	 * Tests that a parameter cannot be compared with the columns that represent the values differently.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testConvertQueryConflict() {
+		this.persist(new Paint(ConvertTest.RED));
+		this.commit();
+		this.close();
+
+		try {
+			this.cq("select p from Paint p where p.color = :value or p.id = :value", Paint.class).setParameter("value", ConvertTest.RED).getResultList();
+
+			Assert.fail("Parameter compared with columns of different representations");
+		}
+		catch (final IllegalArgumentException e) {}
+
+		// the same parameter may be used with the same representation more than once
+		final TypedQuery<Paint> q = this.cq("select p from Paint p where p.color = :color or p.color = :color", Paint.class);
+		Assert.assertEquals(ConvertTest.RED, q.setParameter("color", ConvertTest.RED).getSingleResult().getColor());
+	}
+}
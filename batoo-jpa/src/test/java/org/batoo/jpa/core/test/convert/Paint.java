@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.test.convert;
+
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+
+/**
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+@Entity
+public class Paint {
+
+	@Id
+	@GeneratedValue
+	private Integer id;
+
+	@Convert(converter = ColorConverter.class)
+	private Color color;
+
+	/**
+	 * @since 2.0.1
+	 */
+	public Paint() {
+		super();
+	}
+
+	/**
+	 * @param color
+	 *            the color
+	 * 
+	 * @since 2.0.1
+	 */
+	public Paint(Color color) {
+		super();
+
+		this.color = color;
+	}
+
+	/**
+	 * Returns the color.
+	 * 
+	 * @return the color
+	 * @since 2.0.1
+	 */
+	public Color getColor() {
+		return this.color;
+	}
+
+	/**
+	 * Returns the id.
+	 * 
+	 * @return the id
+	 * @since 2.0.1
+	 */
+	public Integer getId() {
+		return this.id;
+	}
+
+	/**
+	 * Sets the color.
+	 * 
+	 * @param color
+	 *            the color to set
+	 * @since 2.0.1
+	 */
+	public void setColor(Color color) {
+		this.color = color;
+	}
+}
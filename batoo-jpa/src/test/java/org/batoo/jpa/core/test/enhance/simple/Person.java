@@ -34,6 +34,41 @@ import org.batoo.jpa.parser.MappingException;
 @Entity
 public class Person {
 
+	/**
+	 * Sample nested class that writes the fields of the person directly.
+	 * 
+	 * @author hceylan
+	 * @since 2.0.1
+	 */
+	public static class Writer {
+
+		private final Person person;
+
+		/**
+		 * @param person
+		 *            the person to write
+		 * 
+		 * @since 2.0.1
+		 */
+		public Writer(Person person) {
+			super();
+
+			this.person = person;
+		}
+
+		/**
+		 * Writes the long property of the person.
+		 * 
+		 * @param longProperty
+		 *            the long property
+		 * 
+		 * @since 2.0.1
+		 */
+		public void writeLongProperty(long longProperty) {
+			this.person.longProperty = longProperty;
+		}
+	}
+
 	/**
 	 * Sample static method.
 	 * 
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.test.enhance.simple;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.sql.DataSource;
+
+import junit.framework.Assert;
+
+import org.apache.commons.io.IOUtils;
+import org.batoo.jpa.core.impl.instance.WeavedInstance;
+import org.batoo.jpa.core.impl.instance.Weaver;
+import org.batoo.jpa.core.impl.manager.EntityManagerImpl;
+import org.batoo.jpa.core.test.BaseCoreTest;
+import org.batoo.jpa.jdbc.dbutils.QueryRunner;
+import org.batoo.jpa.jdbc.dbutils.SingleValueHandler;
+import org.junit.Test;
+import org.objectweb.asm.Attribute;
+import org.objectweb.asm.ByteVector;
+import org.objectweb.asm.ClassAdapter;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+
+/**
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public class WeaveTest extends BaseCoreTest {
+
+	private static class WeavingClassLoader extends ClassLoader {
+
+		private final String className;
+		private final byte[] byteCode;
+
+		public WeavingClassLoader(ClassLoader parent, String className, byte[] byteCode) {
+			super(parent);
+
+			this.className = className;
+			this.byteCode = byteCode;
+		}
+
+		@Override
+		protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (name.equals(this.className) || name.startsWith(this.className + "$")) {
+				Class<?> clazz = this.findLoadedClass(name);
+				if (clazz == null) {
+					final byte[] classBytes = name.equals(this.className) ? this.byteCode : this.readClass(name);
+
+					clazz = this.defineClass(name, classBytes, 0, classBytes.length);
+				}
+
+				return clazz;
+			}
+
+			return super.loadClass(name, resolve);
+		}
+
+		// the nested classes are loaded along with the woven class so that they see the woven class
+		private byte[] readClass(String name) throws ClassNotFoundException {
+			final InputStream is = this.getParent().getResourceAsStream(name.replace('.', '/') + ".class");
+			if (is == null) {
+				throw new ClassNotFoundException(name);
+			}
+
+			try {
+				return IOUtils.toByteArray(is);
+			}
+			catch (final IOException e) {
+				throw new ClassNotFoundException(name, e);
+			}
+			finally {
+				IOUtils.closeQuietly(is);
+			}
+		}
+	}
+
+	private long bit(Class<?> weavedClass, String fieldName) throws Exception {
+		final List<Field> fields = Weaver.getTrackedFields(weavedClass);
+
+		return 1L << fields.indexOf(weavedClass.getDeclaredField(fieldName));
+	}
+
+	private long longProperty(EntityManager em) throws Exception {
+		final QueryRunner qr = new QueryRunner(em.unwrap(DataSource.class));
+
+		return qr.query("SELECT longProperty FROM Person", new SingleValueHandler<Number>()).longValue();
+	}
+
+	private Class<?> weave(Class<?> clazz) throws Exception {
+		final InputStream is = clazz.getResourceAsStream(clazz.getSimpleName() + ".class");
+		try {
+			final byte[] weaved = Weaver.weave(IOUtils.toByteArray(is));
+			Assert.assertNotNull(weaved);
+
+			// the woven classes are not woven again
+			Assert.assertNull(Weaver.weave(weaved));
+
+			// the parent is the test class loader so that the persistence unit of the test is visible to the woven class
+			final ClassLoader parent = Thread.currentThread().getContextClassLoader();
+
+			return new WeavingClassLoader(parent, clazz.getName(), weaved).loadClass(clazz.getName());
+		}
+		finally {
+			is.close();
+		}
+	}
+
+	/**
+	 * Tests that the field writes outside the constructors set the bits of the fields in the dirty mask.
+	 * 
+	 * @throws Exception
+	 *             thrown in case of failure
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testWeave() throws Exception {
+		final Class<?> weavedClass = this.weave(Person.class);
+		Assert.assertSame(weavedClass, Weaver.getWeavedClass(weavedClass));
+		Assert.assertNull(Weaver.getWeavedClass(Person.class));
+
+		final Object person = weavedClass.newInstance();
+		Assert.assertTrue(person instanceof WeavedInstance);
+
+		final WeavedInstance weavedInstance = (WeavedInstance) person;
+		Assert.assertEquals(0, weavedInstance.__weaved__$$__getDirty());
+
+		weavedClass.getMethod("setLongProperty", Long.TYPE).invoke(person, 1L);
+		Assert.assertEquals(1L, weavedClass.getMethod("getLongProperty").invoke(person));
+		Assert.assertEquals(this.bit(weavedClass, "longProperty"), weavedInstance.__weaved__$$__getDirty());
+
+		weavedClass.getMethod("setStringProperty", String.class).invoke(person, "value");
+		Assert.assertEquals("value", weavedClass.getMethod("getStringProperty").invoke(person));
+		Assert.assertEquals(this.bit(weavedClass, "longProperty") | this.bit(weavedClass, "stringProperty"), weavedInstance.__weaved__$$__getDirty());
+
+		weavedInstance.__weaved__$$__clearDirty();
+		Assert.assertEquals(0, weavedInstance.__weaved__$$__getDirty());
+	}
+
+	/**
+	 * Tests that the writes of the same values to the fields of a woven instance do not issue updates while the changed values do.
+	 * 
+	 * @throws Exception
+	 *             thrown in case of failure
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testWeaveFlush() throws Exception {
+		final Class<?> weavedClass = this.weave(Person.class);
+		final Method setLongProperty = weavedClass.getMethod("setLongProperty", Long.TYPE);
+
+		final Thread currentThread = Thread.currentThread();
+		final ClassLoader oldClassLoader = currentThread.getContextClassLoader();
+
+		currentThread.setContextClassLoader(weavedClass.getClassLoader());
+		final EntityManagerFactory emf = Persistence.createEntityManagerFactory("default");
+		try {
+			final EntityManager em = emf.createEntityManager();
+
+			final Object person = weavedClass.newInstance();
+			weavedClass.getMethod("setId", Integer.class).invoke(person, 1);
+			setLongProperty.invoke(person, 1L);
+
+			em.getTransaction().begin();
+			em.persist(person);
+			em.getTransaction().commit();
+
+			// change the row behind the back of the entity manager so that an update would overwrite it
+			em.getTransaction().begin();
+			new QueryRunner().update(((EntityManagerImpl) em).getConnection(), "UPDATE Person SET longProperty = 5");
+			em.getTransaction().commit();
+
+			// the same value is written, the instance is not updated
+			em.getTransaction().begin();
+			setLongProperty.invoke(person, 1L);
+			Assert.assertTrue(((WeavedInstance) person).__weaved__$$__getDirty() != 0);
+			em.getTransaction().commit();
+
+			Assert.assertEquals(5L, this.longProperty(em));
+
+			// a different value is written, the instance is updated
+			em.getTransaction().begin();
+			setLongProperty.invoke(person, 2L);
+			em.getTransaction().commit();
+
+			Assert.assertEquals(2L, this.longProperty(em));
+
+			em.close();
+		}
+		finally {
+			emf.close();
+
+			currentThread.setContextClassLoader(oldClassLoader);
+		}
+	}
+
+	/**
+	 * Tests that the writes of a nested class to the fields of a woven instance issue updates.
+	 * 
+	 * @throws Exception
+	 *             thrown in case of failure
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testWeaveNestedClassWrite() throws Exception {
+		final Class<?> weavedClass = this.weave(Person.class);
+		final Class<?> writerClass = weavedClass.getClassLoader().loadClass(Person.Writer.class.getName());
+
+		final Thread currentThread = Thread.currentThread();
+		final ClassLoader oldClassLoader = currentThread.getContextClassLoader();
+
+		currentThread.setContextClassLoader(weavedClass.getClassLoader());
+		final EntityManagerFactory emf = Persistence.createEntityManagerFactory("default");
+		try {
+			final EntityManager em = emf.createEntityManager();
+
+			final Object person = weavedClass.newInstance();
+			weavedClass.getMethod("setId", Integer.class).invoke(person, 1);
+
+			em.getTransaction().begin();
+			em.persist(person);
+			em.getTransaction().commit();
+
+			em.getTransaction().begin();
+			writerClass.getMethod("writeLongProperty", Long.TYPE).invoke(writerClass.getConstructor(weavedClass).newInstance(person), 3L);
+			em.getTransaction().commit();
+
+			Assert.assertEquals(3L, this.longProperty(em));
+
+			em.close();
+		}
+		finally {
+			emf.close();
+
+			currentThread.setContextClassLoader(oldClassLoader);
+		}
+	}
+
+	/**
+	 * Tests that the classes with nest mates are not woven as the nest mates write the private fields directly.
+	 * 
+	 * @throws Exception
+	 *             thrown in case of failure
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testWeaveNestMates() throws Exception {
+		final InputStream is = Person.class.getResourceAsStream(Person.class.getSimpleName() + ".class");
+		try {
+			final ClassWriter writer = new ClassWriter(0);
+			new ClassReader(IOUtils.toByteArray(is)).accept(new ClassAdapter(writer) {
+
+				@Override
+				public void visitEnd() {
+					// NestMembers with no classes, as emitted by the Java 11 compilers for the classes with nested classes
+					this.cv.visitAttribute(new Attribute("NestMembers") {
+
+						@Override
+						protected ByteVector write(ClassWriter cw, byte[] code, int len, int maxStack, int maxLocals) {
+							return new ByteVector().putShort(0);
+						}
+					});
+
+					super.visitEnd();
+				}
+			}, 0);
+
+			Assert.assertNull(Weaver.weave(writer.toByteArray()));
+		}
+		finally {
+			is.close();
+		}
+	}
+}
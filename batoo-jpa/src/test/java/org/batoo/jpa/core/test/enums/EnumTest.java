@@ -22,6 +22,7 @@ package org.batoo.jpa.core.test.enums;
 import java.sql.SQLException;
 
 import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
 import javax.sql.DataSource;
 
 import junit.framework.Assert;
@@ -117,6 +118,39 @@ public class EnumTest extends BaseCoreTest {
 			new QueryRunner(this.em().unwrap(DataSource.class)).query("SELECT FOOTYPE2 FROM Foo", new SingleValueHandler<Number>()).intValue());
 	}
 
+	/**
+	 * Tests that the values that are not constants of the enum are reported with the column.
+	 * 
+	 * @throws SQLException
+	 *             thrown if fails
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testUnknownValue() throws SQLException {
+		final Foo foo = new Foo();
+		foo.setFootype(FooType.TYPE1);
+		this.persist(foo);
+
+		this.commit();
+		this.close();
+
+		new QueryRunner(this.em().unwrap(DataSource.class)).update("UPDATE Foo SET FOOTYPE = 'TYPE9'");
+
+		try {
+			this.find(Foo.class, foo.getId());
+
+			Assert.fail("Unknown enum value not reported");
+		}
+		catch (final PersistenceException e) {
+			Throwable cause = e;
+			while (cause.getCause() != null) {
+				cause = cause.getCause();
+			}
+
+			Assert.assertTrue(cause.getMessage().toUpperCase().contains("FOOTYPE"));
+		}
+	}
+
 	/**
 	 * Tests to update.
 	 * 
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.batoo.jpa.core.test.fetch.basic;
+
+import javax.persistence.Basic;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+
+/**
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+@Entity
+public class Document {
+
+	@Id
+	@GeneratedValue
+	private Integer id;
+
+	private String title;
+
+	@Basic(fetch = FetchType.LAZY)
+	private String summary;
+
+	@Lob
+	@Basic(fetch = FetchType.LAZY)
+	private String content;
+
+	/**
+	 * @since 2.0.1
+	 */
+	public Document() {
+		super();
+	}
+
+	/**
+	 * @param title
+	 *            the title
+	 * @param summary
+	 *            the summary
+	 * @param content
+	 *            the content
+	 * 
+	 * @since 2.0.1
+	 */
+	public Document(String title, String summary, String content) {
+		super();
+
+		this.title = title;
+		this.summary = summary;
+		this.content = content;
+	}
+
+	/**
+	 * Returns the content.
+	 * 
+	 * @return the content
+	 * @since 2.0.1
+	 */
+	public String getContent() {
+		return this.content;
+	}
+
+	/**
+	 * Returns the id.
+	 * 
+	 * @return the id
+	 * @since 2.0.1
+	 */
+	public Integer getId() {
+		return this.id;
+	}
+
+	/**
+	 * Returns the summary.
+	 * 
+	 * @return the summary
+	 * @since 2.0.1
+	 */
+	public String getSummary() {
+		return this.summary;
+	}
+
+	/**
+	 * Returns the title.
+	 * 
+	 * @return the title
+	 * @since 2.0.1
+	 */
+	public String getTitle() {
+		return this.title;
+	}
+
+	/**
+	 * Sets the title.
+	 * 
+	 * @param title
+	 *            the title to set
+	 * @since 2.0.1
+	 */
+	public void setTitle(String title) {
+		this.title = title;
+	}
+}
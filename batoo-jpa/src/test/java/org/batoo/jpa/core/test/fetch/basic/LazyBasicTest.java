@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.batoo.jpa.core.test.fetch.basic;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import javax.persistence.TypedQuery;
+
+import junit.framework.Assert;
+
+import org.batoo.jpa.core.impl.criteria.QueryImpl;
+import org.batoo.jpa.core.test.BaseCoreTest;
+import org.junit.Test;
+
+/**
+ * @author hceylan
+ * 
+ * @since 2.0.1
+ */
+public class LazyBasicTest extends BaseCoreTest {
+
+	private static final String TITLE = "Title";
+	private static final String SUMMARY = "Summary";
+	private static final String CONTENT = "Content";
+
+	private Object peek(Document document, String fieldName) throws Exception {
+		final Field field = Document.class.getDeclaredField(fieldName);
+		field.setAccessible(true);
+
+		return field.get(document);
+	}
+
+	/**
+	 * Tests that the lazy attributes are left out of the select and loaded together on the first access.
+	 * 
+	 * @throws Exception
+	 *             thrown in case of an error
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testLazyBasic() throws Exception {
+		this.persist(new Document(LazyBasicTest.TITLE, LazyBasicTest.SUMMARY, LazyBasicTest.CONTENT));
+		this.commit();
+		this.close();
+
+		final TypedQuery<Document> q = this.cq("select d from Document d", Document.class);
+		final List<Document> documents = q.getResultList();
+
+		final String sql = ((QueryImpl<Document>) q).getCriteriaQuery().getSql().toUpperCase();
+		Assert.assertTrue(sql.contains("TITLE"));
+		Assert.assertFalse(sql.contains("SUMMARY"));
+		Assert.assertFalse(sql.contains("CONTENT"));
+
+		final Document document = documents.get(0);
+
+		// the getters of the eager attributes do not load the lazy attributes
+		Assert.assertEquals(LazyBasicTest.TITLE, document.getTitle());
+		Assert.assertNull(this.peek(document, "summary"));
+		Assert.assertNull(this.peek(document, "content"));
+
+		// the first access loads all the lazy attributes in a single round trip
+		Assert.assertEquals(LazyBasicTest.SUMMARY, document.getSummary());
+		Assert.assertEquals(LazyBasicTest.CONTENT, this.peek(document, "content"));
+		Assert.assertEquals(LazyBasicTest.CONTENT, document.getContent());
+	}
+
+	/**
+	 * Tests that updating an instance neither loads nor overwrites the lazy attributes that are not loaded.
+	 * 
+	 * @throws Exception
+	 *             thrown in case of an error
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testLazyBasicUpdate() throws Exception {
+		final Document document = new Document(LazyBasicTest.TITLE, LazyBasicTest.SUMMARY, LazyBasicTest.CONTENT);
+		this.persist(document);
+		this.commit();
+		this.close();
+
+		final Document document2 = this.cq("select d from Document d", Document.class).getSingleResult();
+		Assert.assertNull(this.peek(document2, "content"));
+
+		this.begin();
+		document2.setTitle(LazyBasicTest.TITLE + "2");
+
+		// the setters of the eager attributes do not load the lazy attributes
+		Assert.assertNull(this.peek(document2, "summary"));
+		Assert.assertNull(this.peek(document2, "content"));
+
+		// nor does the update, it leaves the lazy columns out
+		this.flush();
+		Assert.assertNull(this.peek(document2, "summary"));
+		Assert.assertNull(this.peek(document2, "content"));
+
+		this.commit();
+		this.close();
+
+		final Document document3 = this.find(Document.class, document.getId());
+		Assert.assertEquals(LazyBasicTest.TITLE + "2", document3.getTitle());
+		Assert.assertEquals(LazyBasicTest.SUMMARY, document3.getSummary());
+		Assert.assertEquals(LazyBasicTest.CONTENT, document3.getContent());
+	}
+}
@@ -19,12 +19,15 @@
 
 package org.batoo.jpa.core.test.inheritence.joined;
 
+import java.util.List;
 import java.util.Set;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
 
 import junit.framework.Assert;
 
+import org.batoo.jpa.core.impl.criteria.QueryImpl;
 import org.batoo.jpa.core.test.BaseCoreTest;
 import org.junit.Test;
 
@@ -133,4 +136,40 @@ public class JoinedInheritanceTest extends BaseCoreTest {
 		Assert.assertEquals(foos, foos2);
 	}
 
+	/**
+	 * Tests that a query restricted by type selects only the tables of that type
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testTypeRestrictedTables() {
+		final FooExt1 foo1 = new FooExt1();
+		foo1.setValue("Value");
+		foo1.setValueExt1("ValueExt1");
+
+		final FooExt11 foo11 = new FooExt11();
+		foo11.setValue("Value");
+		foo11.setValueExt1("ValueExt1");
+
+		final FooExt2 foo2 = new FooExt2();
+		foo2.setValue("Value");
+
+		this.persist(foo1);
+		this.persist(foo11);
+		this.persist(foo2);
+
+		this.commit();
+
+		this.close();
+
+		final TypedQuery<Foo> q = this.cq("select f from Foo f where type(f) = FooExt1", Foo.class);
+
+		final String sql = ((QueryImpl<Foo>) q).getCriteriaQuery().getSql();
+		Assert.assertFalse(sql.contains("FooExt11"));
+		Assert.assertFalse(sql.contains("FooExt2"));
+
+		final List<Foo> foos = q.getResultList();
+		Assert.assertEquals(1, foos.size());
+		Assert.assertEquals("ValueExt1", ((FooExt1) foos.get(0)).getValueExt1());
+	}
 }
@@ -21,6 +21,8 @@ package org.batoo.jpa.core.test.listener;
 
 import junit.framework.Assert;
 
+import org.batoo.jpa.core.impl.manager.Callback;
+import org.batoo.jpa.core.impl.manager.CallbackInvoker;
 import org.batoo.jpa.core.test.BaseCoreTest;
 import org.junit.Test;
 
@@ -120,4 +122,31 @@ public class ListenerTest extends BaseCoreTest {
 		Assert.assertEquals("listener1PostLoadlistener1PreUpdatelistener1PostUpdatelistener1PreRemovelistener1PostRemove", foo.getValue());
 		Assert.assertEquals("masterPostLoadmasterPreUpdatemasterPostUpdatemasterPreRemovemasterPostRemove", foo.getParentValue());
 	}
+
+	/**
+	 * Tests that the public callbacks and listeners are fired through the generated invokers.
+	 * 
+	 * @throws ClassNotFoundException
+	 *             thrown if an invoker has not been generated
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testListenerInvoker() throws ClassNotFoundException {
+		final Foo3 foo = new Foo3();
+		this.persist(foo);
+
+		this.commit();
+
+		Assert.assertEquals("listener1PrePersistlistener1PostPersistpostPersist", foo.getValue());
+		Assert.assertEquals("masterPrePersistmasterPostPersist", foo.getParentValue());
+
+		final Class<?> listenerInvoker = Class.forName(FooListener.class.getName() + Callback.SUFFIX_INVOKER + "prePersist1", false,
+			FooListener.class.getClassLoader());
+		Assert.assertTrue(CallbackInvoker.class.isAssignableFrom(listenerInvoker));
+
+		final Class<?> callbackInvoker = Class.forName(Foo3.class.getName() + Callback.SUFFIX_INVOKER + "postPersist0", false,
+			Foo3.class.getClassLoader());
+		Assert.assertTrue(CallbackInvoker.class.isAssignableFrom(callbackInvoker));
+	}
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.test.lob.stream;
+
+import java.io.InputStream;
+import java.sql.Clob;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+
+/**
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+@Entity
+public class Document {
+
+	@Id
+	@GeneratedValue
+	private Integer key;
+
+	private String name;
+
+	@Lob
+	private InputStream content;
+
+	@Lob
+	private Clob text;
+
+	/**
+	 * Returns the content of the Document.
+	 * 
+	 * @return the content of the Document
+	 * 
+	 * @since 2.0.1
+	 */
+	public InputStream getContent() {
+		return this.content;
+	}
+
+	/**
+	 * Returns the key of the Document.
+	 * 
+	 * @return the key of the Document
+	 * 
+	 * @since 2.0.1
+	 */
+	public Integer getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Returns the name of the Document.
+	 * 
+	 * @return the name of the Document
+	 * 
+	 * @since 2.0.1
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Returns the text of the Document.
+	 * 
+	 * @return the text of the Document
+	 * 
+	 * @since 2.0.1
+	 */
+	public Clob getText() {
+		return this.text;
+	}
+
+	/**
+	 * Sets the content of the Document.
+	 * 
+	 * @param content
+	 *            the content to set for Document
+	 * 
+	 * @since 2.0.1
+	 */
+	public void setContent(InputStream content) {
+		this.content = content;
+	}
+
+	/**
+	 * Sets the name of the Document.
+	 * 
+	 * @param name
+	 *            the name to set for Document
+	 * 
+	 * @since 2.0.1
+	 */
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Sets the text of the Document.
+	 * 
+	 * @param text
+	 *            the text to set for Document
+	 * 
+	 * @since 2.0.1
+	 */
+	public void setText(Clob text) {
+		this.text = text;
+	}
+}
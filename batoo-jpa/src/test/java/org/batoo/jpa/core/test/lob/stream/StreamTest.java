@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.test.lob.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.sql.SQLException;
+
+import javax.sql.rowset.serial.SerialClob;
+
+import junit.framework.Assert;
+
+import org.apache.commons.io.IOUtils;
+import org.batoo.jpa.core.test.BaseCoreTest;
+import org.junit.Test;
+
+/**
+ * @author hceylan
+ * 
+ * @since 2.0.1
+ */
+public class StreamTest extends BaseCoreTest {
+
+	private static final String CONTENT = "Content Data";
+	private static final String TEXT = "Text Data";
+
+	private Document persistDocument() throws SQLException {
+		final Document document = new Document();
+		document.setName("Document1");
+		document.setContent(new ByteArrayInputStream(StreamTest.CONTENT.getBytes()));
+		document.setText(new SerialClob(StreamTest.TEXT.toCharArray()));
+
+		this.persist(document);
+
+		this.commit();
+		this.close();
+
+		return document;
+	}
+
+	/**
+	 * Tests to {@link javax.persistence.EntityManager#find(Class, Object)} stream and clob attributes within the transaction.
+	 * 
+	 * @throws SQLException
+	 *             thrown in case of an underlying SQL error
+	 * @throws IOException
+	 *             thrown in case of an IO error
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testStream() throws SQLException, IOException {
+		final Document document = this.persistDocument();
+
+		this.begin();
+
+		final Document document2 = this.find(Document.class, document.getKey());
+		Assert.assertEquals(StreamTest.CONTENT, IOUtils.toString(document2.getContent()));
+		Assert.assertEquals(StreamTest.TEXT, IOUtils.toString(document2.getText().getCharacterStream()));
+
+		this.commit();
+	}
+
+	/**
+	 * Tests that updating an entity with a consumed stream attribute writes back the lob it was read from.
+	 * 
+	 * @throws SQLException
+	 *             thrown in case of an underlying SQL error
+	 * @throws IOException
+	 *             thrown in case of an IO error
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testUpdate() throws SQLException, IOException {
+		final Document document = this.persistDocument();
+
+		this.begin();
+
+		final Document document2 = this.find(Document.class, document.getKey());
+		Assert.assertEquals(StreamTest.CONTENT, IOUtils.toString(document2.getContent()));
+
+		document2.setName("Document2");
+
+		this.commit();
+		this.close();
+
+		this.begin();
+
+		final Document document3 = this.find(Document.class, document.getKey());
+		Assert.assertEquals("Document2", document3.getName());
+		Assert.assertEquals(StreamTest.CONTENT, IOUtils.toString(document3.getContent()));
+
+		this.commit();
+	}
+
+	/**
+	 * Tests that updating a persisted entity does not write back the stream consumed by the insert, and that a new stream is written.
+	 * 
+	 * @throws SQLException
+	 *             thrown in case of an underlying SQL error
+	 * @throws IOException
+	 *             thrown in case of an IO error
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testUpdateAfterPersist() throws SQLException, IOException {
+		final Document document = new Document();
+		document.setName("Document1");
+		document.setContent(new ByteArrayInputStream(StreamTest.CONTENT.getBytes()));
+		document.setText(new SerialClob(StreamTest.TEXT.toCharArray()));
+
+		this.persist(document);
+		this.flush();
+
+		document.setName("Document2");
+
+		this.commit();
+		this.close();
+
+		this.begin();
+
+		final Document document2 = this.find(Document.class, document.getKey());
+		Assert.assertEquals("Document2", document2.getName());
+		Assert.assertEquals(StreamTest.CONTENT, IOUtils.toString(document2.getContent()));
+		Assert.assertEquals(StreamTest.TEXT, IOUtils.toString(document2.getText().getCharacterStream()));
+
+		document2.setContent(new ByteArrayInputStream(StreamTest.TEXT.getBytes()));
+
+		this.commit();
+		this.close();
+
+		this.begin();
+
+		Assert.assertEquals(StreamTest.TEXT, IOUtils.toString(this.find(Document.class, document.getKey()).getContent()));
+
+		this.commit();
+	}
+}
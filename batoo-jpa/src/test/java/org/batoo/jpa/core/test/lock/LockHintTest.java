@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.batoo.jpa.core.test.lock;
+
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceException;
+
+import junit.framework.Assert;
+
+import org.batoo.jpa.BJPASettings;
+import org.batoo.jpa.JPASettings;
+import org.batoo.jpa.core.test.BaseCoreTest;
+import org.batoo.jpa.jdbc.adapter.MsSqlAdaptor;
+import org.batoo.jpa.jdbc.adapter.MySqlAdaptor;
+import org.batoo.jpa.jdbc.adapter.OracleAdaptor;
+import org.batoo.jpa.jdbc.adapter.PostgreSqlAdaptor;
+import org.junit.Test;
+
+/**
+ * Tests the lock wait hints of the pessimistic lock queries.
+ * 
+ * @author hceylan
+ * 
+ * @since 2.0.1
+ */
+public class LockHintTest extends BaseCoreTest {
+
+	private static final String SQL = "SELECT * FROM FOO";
+
+	private boolean isEmbedded() {
+		final String testMode = System.getProperty("testMode");
+
+		return "h2".equals(testMode) || "hsql".equals(testMode) || "derby".equals(testMode);
+	}
+
+	/**
+	 * Tests the SQL Server table hints for the lock wait policies.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testLockSqlMsSql() {
+		final MsSqlAdaptor adaptor = new MsSqlAdaptor();
+		final String sql = LockHintTest.SQL.replace("FOO", "FOO" + adaptor.getLockHintMarker());
+
+		Assert.assertEquals("SELECT * FROM FOO WITH (UPDLOCK, ROWLOCK, READPAST)", adaptor.applyLock(sql, LockModeType.PESSIMISTIC_WRITE, null, true));
+		Assert.assertEquals("SELECT * FROM FOO WITH (UPDLOCK, ROWLOCK, READPAST)", adaptor.applyLock(sql, LockModeType.PESSIMISTIC_READ, null, true));
+		Assert.assertEquals("SELECT * FROM FOO WITH (UPDLOCK, ROWLOCK, NOWAIT)", adaptor.applyLock(sql, LockModeType.PESSIMISTIC_WRITE, 0, false));
+		Assert.assertEquals("SELECT * FROM FOO WITH (HOLDLOCK, ROWLOCK, NOWAIT)", adaptor.applyLock(sql, LockModeType.PESSIMISTIC_READ, 0, false));
+		Assert.assertEquals("SELECT * FROM FOO WITH (UPDLOCK, ROWLOCK)", adaptor.applyLock(sql, LockModeType.PESSIMISTIC_WRITE, 1000, false));
+	}
+
+	/**
+	 * Tests the MySQL lock clauses for the lock wait policies.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testLockSqlMySql() {
+		final MySqlAdaptor adaptor = new MySqlAdaptor();
+
+		Assert.assertEquals(LockHintTest.SQL + "\nFOR UPDATE SKIP LOCKED", adaptor.applyLock(LockHintTest.SQL, LockModeType.PESSIMISTIC_WRITE, null, true));
+		Assert.assertEquals(LockHintTest.SQL + "\nFOR SHARE SKIP LOCKED", adaptor.applyLock(LockHintTest.SQL, LockModeType.PESSIMISTIC_READ, null, true));
+		Assert.assertEquals(LockHintTest.SQL + "\nFOR UPDATE NOWAIT", adaptor.applyLock(LockHintTest.SQL, LockModeType.PESSIMISTIC_WRITE, 0, false));
+		Assert.assertEquals(LockHintTest.SQL + "\nFOR SHARE NOWAIT", adaptor.applyLock(LockHintTest.SQL, LockModeType.PESSIMISTIC_READ, 0, false));
+		Assert.assertEquals(LockHintTest.SQL + "\nLOCK IN SHARE MODE", adaptor.applyLock(LockHintTest.SQL, LockModeType.PESSIMISTIC_READ, null, false));
+	}
+
+	/**
+	 * Tests the Oracle lock clauses for the lock wait policies.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testLockSqlOracle() {
+		final OracleAdaptor adaptor = new OracleAdaptor();
+
+		Assert.assertEquals(LockHintTest.SQL + "\nFOR UPDATE SKIP LOCKED", adaptor.applyLock(LockHintTest.SQL, LockModeType.PESSIMISTIC_WRITE, null, true));
+		Assert.assertEquals(LockHintTest.SQL + "\nFOR UPDATE NOWAIT", adaptor.applyLock(LockHintTest.SQL, LockModeType.PESSIMISTIC_WRITE, 0, false));
+		Assert.assertEquals(LockHintTest.SQL + "\nFOR UPDATE WAIT 2", adaptor.applyLock(LockHintTest.SQL, LockModeType.PESSIMISTIC_WRITE, 1500, false));
+	}
+
+	/**
+	 * Tests the PostgreSQL lock clauses for the lock wait policies.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testLockSqlPostgreSql() {
+		final PostgreSqlAdaptor adaptor = new PostgreSqlAdaptor();
+
+		Assert.assertEquals(LockHintTest.SQL + "\nFOR UPDATE SKIP LOCKED", adaptor.applyLock(LockHintTest.SQL, LockModeType.PESSIMISTIC_WRITE, null, true));
+		Assert.assertEquals(LockHintTest.SQL + "\nFOR SHARE SKIP LOCKED", adaptor.applyLock(LockHintTest.SQL, LockModeType.PESSIMISTIC_READ, null, true));
+		Assert.assertEquals(LockHintTest.SQL + "\nFOR UPDATE NOWAIT", adaptor.applyLock(LockHintTest.SQL, LockModeType.PESSIMISTIC_WRITE, 0, false));
+		Assert.assertEquals(LockHintTest.SQL + "\nFOR SHARE NOWAIT", adaptor.applyLock(LockHintTest.SQL, LockModeType.PESSIMISTIC_READ, 0, false));
+	}
+
+	/**
+	 * Tests that the lock timeout hint is ignored by the databases that do not support per statement lock timeouts.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testLockTimeout() {
+		if (!this.isEmbedded()) {
+			return;
+		}
+
+		final Foo foo = new Foo();
+		foo.setValue("test");
+		this.persist(foo);
+
+		this.commit();
+
+		this.begin();
+
+		final Foo foo2 = this.cq("select f from Foo f", Foo.class)//
+			.setLockMode(LockModeType.PESSIMISTIC_WRITE)//
+			.setHint(JPASettings.LOCK_TIMEOUT, 0)//
+			.getSingleResult();
+		Assert.assertEquals(foo.getId(), foo2.getId());
+
+		this.commit();
+	}
+
+	/**
+	 * Tests that skipping the locked rows fails clearly on the databases that do not support it.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testSkipLocked() {
+		if (!this.isEmbedded()) {
+			return;
+		}
+
+		this.begin();
+
+		try {
+			this.cq("select f from Foo f", Foo.class)//
+				.setLockMode(LockModeType.PESSIMISTIC_WRITE)//
+				.setHint(BJPASettings.SKIP_LOCKED, true)//
+				.getResultList();
+
+			Assert.fail("Skip locked is not supported by the embedded databases");
+		}
+		catch (final PersistenceException e) {
+			// expected
+		}
+	}
+}
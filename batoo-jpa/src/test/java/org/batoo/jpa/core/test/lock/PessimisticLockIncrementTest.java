@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.test.lock;
+
+import javax.persistence.LockModeType;
+
+import junit.framework.Assert;
+
+import org.batoo.jpa.core.impl.criteria.CriteriaQueryImpl;
+import org.batoo.jpa.core.impl.criteria.QueryImpl;
+import org.batoo.jpa.core.test.BaseCoreTest;
+import org.junit.Test;
+
+/**
+ * Tests the version increments of the PESSIMISTIC_FORCE_INCREMENT locks.
+ * 
+ * @author hceylan
+ * 
+ * @since 2.0.1
+ */
+public class PessimisticLockIncrementTest extends BaseCoreTest {
+
+	private Foo newFoo() {
+		final Foo foo = new Foo();
+
+		foo.setValue("test");
+
+		this.persist(foo);
+		this.commit();
+		this.close();
+
+		return foo;
+	}
+
+	/**
+	 * Tests that locking a clean managed instance increments its version.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testLockForceIncrement() {
+		final Foo foo = this.newFoo();
+		final Integer version = this.find(Foo.class, foo.getId()).getVersion();
+		this.close();
+
+		this.begin();
+
+		final Foo foo2 = this.find(Foo.class, foo.getId());
+		this.em().lock(foo2, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+
+		this.commit();
+		this.close();
+
+		Assert.assertEquals(version + 1, this.find(Foo.class, foo.getId()).getVersion().intValue());
+	}
+
+	/**
+	 * Tests that the query with PESSIMISTIC_FORCE_INCREMENT locks the rows in the select and increments the versions.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testQueryForceIncrement() {
+		final Foo foo = this.newFoo();
+		final Integer version = this.find(Foo.class, foo.getId()).getVersion();
+		this.close();
+
+		this.begin();
+
+		final QueryImpl<Foo> q = (QueryImpl<Foo>) this.cq("select f from Foo f", Foo.class);
+		q.setLockMode(LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+		q.getSingleResult();
+
+		final String sql = ((CriteriaQueryImpl<Foo>) q.getCriteriaQuery()).getSql();
+		Assert.assertEquals(this.em().getJdbcAdaptor().applyLock(sql, LockModeType.PESSIMISTIC_FORCE_INCREMENT, null, false), q.getExecutedSql());
+
+		this.commit();
+		this.close();
+
+		Assert.assertEquals(version + 1, this.find(Foo.class, foo.getId()).getVersion().intValue());
+	}
+}
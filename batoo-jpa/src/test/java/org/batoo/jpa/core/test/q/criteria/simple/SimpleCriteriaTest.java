@@ -285,6 +285,45 @@ public class SimpleCriteriaTest extends BaseCoreTest {
 		Assert.assertEquals(1, resultList.size());
 	}
 
+	/**
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testKeyset() {
+		this.persist(this.person());
+		this.persist(this.person());
+		this.commit();
+
+		this.close();
+
+		final CriteriaBuilderImpl cb = this.em().getCriteriaBuilder();
+
+		final CriteriaQueryImpl<Address> q1 = cb.createQuery(Address.class);
+		final RootImpl<Address> r1 = q1.from(Address.class);
+		q1.orderBy(cb.asc(r1.get("city")), cb.asc(r1.get("id")));
+
+		final List<Address> all = this.em().createQuery(q1).getResultList();
+		Assert.assertEquals(6, all.size());
+
+		final CriteriaQueryImpl<Address> q2 = cb.createQuery(Address.class);
+		final RootImpl<Address> r2 = q2.from(Address.class);
+		q2.orderBy(cb.asc(r2.get("city")), cb.asc(r2.get("id")));
+
+		final ParameterExpressionImpl<String> city = cb.parameter(String.class);
+		final ParameterExpressionImpl<Integer> id = cb.parameter(Integer.class);
+		q2.where(cb.keyset(q2.getOrderList(), city, id));
+
+		for (int i = 1; i < 5; i += 2) {
+			final QueryImpl<Address> q = this.em().createQuery(q2);
+			q.setMaxResults(2);
+			q.setParameter(city, all.get(i).getCity());
+			q.setParameter(id, all.get(i).getId());
+
+			Assert.assertEquals(all.subList(i + 1, i + 3), q.getResultList());
+		}
+	}
+
 	/**
 	 * 
 	 * @since 2.0.0
@@ -27,14 +27,19 @@ import java.util.Comparator;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import javax.persistence.LockModeType;
 import javax.persistence.PersistenceException;
 import javax.persistence.TemporalType;
 import javax.persistence.TypedQuery;
 
 import junit.framework.Assert;
 
+import org.apache.commons.lang.StringUtils;
+import org.batoo.jpa.BJPASettings;
+import org.batoo.jpa.core.impl.criteria.QueryImpl;
 import org.batoo.jpa.core.test.BaseCoreTest;
 import org.batoo.jpa.core.test.q.Address;
 import org.batoo.jpa.core.test.q.Country;
@@ -42,6 +47,8 @@ import org.batoo.jpa.core.test.q.HomePhone;
 import org.batoo.jpa.core.test.q.Person;
 import org.batoo.jpa.core.test.q.SimpleCity;
 import org.batoo.jpa.core.test.q.WorkPhone;
+import org.batoo.jpa.parser.AbstractLocator;
+import org.batoo.jpa.parser.metadata.NamedQueryMetadata;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -447,6 +454,26 @@ public class SimpleJpqlTest extends BaseCoreTest {
 		Assert.assertEquals(2, q.getResultList().size());
 	}
 
+	/**
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testInListPadding() {
+		final List<String> codeList = Lists.newArrayList(SimpleJpqlTest.TR.getCode(), SimpleJpqlTest.UK.getCode(), SimpleJpqlTest.USA.getCode());
+		final String[] excludedArr = { SimpleJpqlTest.UK.getCode() };
+
+		final TypedQuery<Country> q = this.cq("select c from Country c where c.code in (:codeList) and c.code not in (:excludedArr)", Country.class)//
+		.setParameter("codeList", codeList)//
+		.setParameter("excludedArr", excludedArr)//
+		.setHint(BJPASettings.IN_LIST_PADDING, true);
+
+		Assert.assertEquals(2, q.getResultList().size());
+
+		// three codes are padded to four placeholders, the single excluded code is not padded
+		Assert.assertEquals(5, StringUtils.countMatches(((QueryImpl<Country>) q).getExecutedSql(), "?"));
+	}
+
 	/**
 	 * 
 	 * @since 2.0.0
@@ -504,6 +531,57 @@ public class SimpleJpqlTest extends BaseCoreTest {
 		Assert.assertEquals(40, this.em().createNamedQuery("theOldestGuys", Person.class).setMaxResults(1).getSingleResult().getAge());
 	}
 
+	/**
+	 * Tests that a named query cannot replace a named query deferred to its first use.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testNamedQueryDeferredDuplicate() {
+		this.emf().addNamedQuery(new NamedQueryMetadata() {
+
+			@Override
+			public Map<String, Object> getHints() {
+				return Collections.emptyMap();
+			}
+
+			@Override
+			public AbstractLocator getLocator() {
+				return null;
+			}
+
+			@Override
+			public LockModeType getLockMode() {
+				return null;
+			}
+
+			@Override
+			public String getName() {
+				return "theYoungestGuys";
+			}
+
+			@Override
+			public String getQuery() {
+				return "select p from Person p order by p.age";
+			}
+		});
+
+		try {
+			this.emf().addNamedQuery("theYoungestGuys", this.cq("select p from Person p order by p.age desc", Person.class));
+
+			Assert.fail("Duplicate named query accepted");
+		}
+		catch (final IllegalArgumentException e) {
+			// expected
+		}
+
+		this.persist(this.person(40));
+		this.persist(this.person(35));
+		this.commit();
+
+		Assert.assertEquals(35, this.em().createNamedQuery("theYoungestGuys", Person.class).setMaxResults(1).getSingleResult().getAge());
+	}
+
 	/**
 	 * 
 	 * @since 2.0.0
@@ -586,6 +664,33 @@ public class SimpleJpqlTest extends BaseCoreTest {
 		Assert.assertEquals(1l, this.cq("select c from Country c", Country.class).setFirstResult(3).setMaxResults(2).getResultList().size());
 	}
 
+	/**
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testPaginationSameQuery() {
+		final TypedQuery<String> q = this.cq("select c.name from Country c order by c.name", String.class).setMaxResults(2);
+
+		final List<String> page1 = q.getResultList();
+
+		final List<String> page2 = q.setFirstResult(2).getResultList();
+		final String sql2 = ((QueryImpl<String>) q).getExecutedSql();
+
+		final List<String> page3 = q.setFirstResult(3).setMaxResults(5).getResultList();
+		final String sql3 = ((QueryImpl<String>) q).getExecutedSql();
+
+		Assert.assertEquals(2, page1.size());
+		Assert.assertEquals(2, page2.size());
+		Assert.assertEquals(1, page3.size());
+		Assert.assertEquals(page2.get(1), page3.get(0));
+
+		// the offset and the limit are bound as parameters so the pages share the SQL
+		if (this.em().getJdbcAdaptor().parameterizedPagination()) {
+			Assert.assertEquals(sql2, sql3);
+		}
+	}
+
 	/**
 	 * 
 	 * @since 2.0.0
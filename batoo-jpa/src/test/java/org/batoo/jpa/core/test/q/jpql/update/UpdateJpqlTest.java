@@ -21,6 +21,8 @@ package org.batoo.jpa.core.test.q.jpql.update;
 
 import java.util.Date;
 
+import javax.persistence.FlushModeType;
+
 import junit.framework.Assert;
 
 import org.batoo.jpa.core.test.BaseCoreTest;
@@ -83,6 +85,34 @@ public class UpdateJpqlTest extends BaseCoreTest {
 		Assert.assertEquals((Long) 3l, this.cq("select count(c) from Country c", Long.class).getSingleResult());
 	}
 
+	/**
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testDeleteManagedWithPendingChanges() {
+		final Country country = this.find(Country.class, UpdateJpqlTest.COUNTRY_CODE_TR);
+		final Country other = this.find(Country.class, UpdateJpqlTest.COUNTRY_CODE_UK);
+
+		this.begin();
+
+		this.em().setFlushMode(FlushModeType.COMMIT);
+		country.setName("Republic of Turkey");
+		other.setName("Great Britain");
+
+		this.cu("delete from Country c where c.name = :name").setParameter("name", UpdateJpqlTest.COUNTRY_TR).executeUpdate();
+
+		Assert.assertFalse(this.contains(country));
+		Assert.assertTrue(this.contains(other));
+
+		this.commit();
+		this.close();
+
+		Assert.assertNull(this.find(Country.class, UpdateJpqlTest.COUNTRY_CODE_TR));
+		Assert.assertEquals("Great Britain", this.find(Country.class, UpdateJpqlTest.COUNTRY_CODE_UK).getName());
+		Assert.assertEquals((Long) 3l, this.cq("select count(c) from Country c", Long.class).getSingleResult());
+	}
+
 	/**
 	 * 
 	 * @since 2.0.0
@@ -121,4 +151,64 @@ public class UpdateJpqlTest extends BaseCoreTest {
 
 		this.commit();
 	}
+
+	/**
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testUpdateMarksManagedStale() {
+		final Country country = this.find(Country.class, UpdateJpqlTest.COUNTRY_CODE_TR);
+
+		this.begin();
+
+		this.cu("update Country c set c.name = :name where c.name = :oldName").setParameter("oldName", UpdateJpqlTest.COUNTRY_TR).setParameter("name", "TURKEY").executeUpdate();
+
+		this.commit();
+
+		Assert.assertTrue(this.contains(country));
+		Assert.assertSame(country, this.find(Country.class, UpdateJpqlTest.COUNTRY_CODE_TR));
+		Assert.assertEquals("TURKEY", country.getName());
+	}
+
+	/**
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testUpdateManagedById() {
+		final Country country = this.find(Country.class, UpdateJpqlTest.COUNTRY_CODE_TR);
+
+		this.begin();
+
+		this.cu("update Country c set c.name = :name where c.code = :code").setParameter("code", UpdateJpqlTest.COUNTRY_CODE_TR).setParameter("name", "TURKEY").executeUpdate();
+
+		this.commit();
+
+		Assert.assertTrue(this.contains(country));
+		Assert.assertEquals("TURKEY", country.getName());
+	}
+
+	/**
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testUpdateManagedByIdKeepsPendingChanges() {
+		final Country country = this.find(Country.class, UpdateJpqlTest.COUNTRY_CODE_TR);
+
+		this.begin();
+
+		this.em().setFlushMode(FlushModeType.COMMIT);
+		country.setName("Republic of Turkey");
+
+		this.cu("update Country c set c.name = :name where c.code = :code").setParameter("code", UpdateJpqlTest.COUNTRY_CODE_TR).setParameter("name", "TURKEY").executeUpdate();
+
+		Assert.assertEquals("Republic of Turkey", country.getName());
+
+		this.commit();
+		this.close();
+
+		Assert.assertEquals("Republic of Turkey", this.find(Country.class, UpdateJpqlTest.COUNTRY_CODE_TR).getName());
+	}
 }
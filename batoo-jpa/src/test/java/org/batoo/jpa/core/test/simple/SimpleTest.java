@@ -19,7 +19,9 @@
 
 package org.batoo.jpa.core.test.simple;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.Set;
 
 import javax.persistence.EntityManager;
@@ -30,6 +32,8 @@ import javax.sql.DataSource;
 
 import junit.framework.Assert;
 
+import org.batoo.jpa.BJPASettings;
+import org.batoo.jpa.core.impl.manager.QueryCache;
 import org.batoo.jpa.core.test.BaseCoreTest;
 import org.batoo.jpa.core.test.NullResultSetHandler;
 import org.batoo.jpa.jdbc.dbutils.QueryRunner;
@@ -51,6 +55,41 @@ public class SimpleTest extends BaseCoreTest {
 		return foo;
 	}
 
+	/**
+	 * Tests that the connection is released after the queries outside transactions and after the transactions.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testConnectionRelease() {
+		final Foo foo = this.newFoo();
+		this.persist(foo);
+
+		this.commit();
+
+		this.close();
+
+		final EntityManager em = this.emf().createEntityManager(
+			Collections.<String, Object> singletonMap(BJPASettings.CONNECTION_RELEASE_MODE, "after_statement"));
+		try {
+			Assert.assertEquals("test", em.find(Foo.class, foo.getId()).getValue());
+			Assert.assertNull(em.unwrap(Connection.class));
+
+			em.getTransaction().begin();
+			em.createQuery("select f from Foo f", Foo.class).getSingleResult().setValue("changed");
+			Assert.assertNotNull(em.unwrap(Connection.class));
+
+			em.getTransaction().commit();
+			Assert.assertNull(em.unwrap(Connection.class));
+
+			em.clear();
+			Assert.assertEquals("changed", em.find(Foo.class, foo.getId()).getValue());
+		}
+		finally {
+			em.close();
+		}
+	}
+
 	/**
 	 * Tests {@link EntityManager#contains(Object)}.
 	 * 
@@ -206,4 +245,164 @@ public class SimpleTest extends BaseCoreTest {
 		Assert.assertEquals(1,
 			new QueryRunner(this.em().unwrap(DataSource.class)).query("SELECT COUNT(*) FROM Foo", new SingleValueHandler<Number>()).intValue());
 	}
+
+	/**
+	 * Tests that the results of a cached query are served from the cache until the table is modified.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testQueryCache() {
+		final Foo foo = this.newFoo();
+		this.persist(foo);
+
+		this.commit();
+
+		this.close();
+
+		final QueryCache queryCache = this.emf().getQueryCache();
+		final long hits = queryCache.getHits();
+
+		Assert.assertEquals("test", this.cq("select f.value from Foo f", String.class).setHint(BJPASettings.QUERY_CACHE, true).getSingleResult());
+		Assert.assertEquals("test", this.cq("select f.value from Foo f", String.class).setHint(BJPASettings.QUERY_CACHE, true).getSingleResult());
+		Assert.assertEquals(hits + 1, queryCache.getHits());
+
+		this.begin();
+		this.find(Foo.class, foo.getId()).setValue("changed");
+		this.commit();
+
+		Assert.assertEquals("changed",
+			this.cq("select f.value from Foo f", String.class).setHint(BJPASettings.QUERY_CACHE, true).getSingleResult());
+		Assert.assertEquals(hits + 1, queryCache.getHits());
+	}
+
+	/**
+	 * Tests that changing the result of a cached query does not change the cached rows.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testQueryCacheCopiesRows() {
+		final Foo foo = this.newFoo();
+		this.persist(foo);
+
+		this.commit();
+
+		this.close();
+
+		final QueryCache queryCache = this.emf().getQueryCache();
+		final long hits = queryCache.getHits();
+
+		final Object[] row = this.cq("select f.id, f.value from Foo f", Object[].class).setHint(BJPASettings.QUERY_CACHE, true).getSingleResult();
+		Assert.assertEquals("test", row[1]);
+
+		row[1] = "mutated";
+
+		final Object[] cachedRow = this.cq("select f.id, f.value from Foo f", Object[].class).setHint(BJPASettings.QUERY_CACHE, true).getSingleResult();
+		Assert.assertEquals(hits + 1, queryCache.getHits());
+		Assert.assertNotSame(row, cachedRow);
+		Assert.assertEquals("test", cachedRow[1]);
+	}
+
+	/**
+	 * Tests that the cached results are not used once the transaction has flushed changes to the tables of the query.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testQueryCacheReadOwnWrites() {
+		final Foo foo = this.newFoo();
+		this.persist(foo);
+
+		this.commit();
+
+		this.close();
+
+		final QueryCache queryCache = this.emf().getQueryCache();
+		final long hits = queryCache.getHits();
+
+		Assert.assertEquals(1, this.cq("select f.value from Foo f", String.class).setHint(BJPASettings.QUERY_CACHE, true).getResultList().size());
+		Assert.assertEquals(1, this.cq("select f.value from Foo f", String.class).setHint(BJPASettings.QUERY_CACHE, true).getResultList().size());
+		Assert.assertEquals(hits + 1, queryCache.getHits());
+
+		this.begin();
+
+		this.persist(this.newFoo());
+		this.em().flush();
+
+		Assert.assertEquals(2, this.cq("select f.value from Foo f", String.class).setHint(BJPASettings.QUERY_CACHE, true).getResultList().size());
+		Assert.assertEquals(hits + 1, queryCache.getHits());
+
+		this.commit();
+	}
+
+	/**
+	 * Tests that the changes to the entities loaded by a read only query are not flushed.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testReadOnlyQuery() {
+		final Foo foo = this.newFoo();
+		this.persist(foo);
+
+		this.commit();
+
+		this.close();
+
+		this.begin();
+
+		final Foo foo2 = this.cq("select f from Foo f", Foo.class).setHint(BJPASettings.READ_ONLY, true).getSingleResult();
+		foo2.setValue("changed");
+
+		this.commit();
+
+		this.close();
+
+		Assert.assertEquals("test", this.find(Foo.class, foo.getId()).getValue());
+	}
+
+	/**
+	 * Tests that the rollback restores the auto commit of the connection before it is reused.
+	 * 
+	 * @throws SQLException
+	 *             thrown in case of an underlying SQL error
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testRollbackRestoresAutoCommit() throws SQLException {
+		final EntityManager em = this.emf().createEntityManager(
+			Collections.<String, Object> singletonMap(BJPASettings.CONNECTION_RELEASE_MODE, "after_transaction"));
+		try {
+			em.getTransaction().begin();
+			em.persist(this.newFoo());
+			em.flush();
+			em.getTransaction().rollback();
+			Assert.assertNull(em.unwrap(Connection.class));
+
+			Assert.assertEquals(0, em.createQuery("select f from Foo f", Foo.class).getResultList().size());
+			Assert.assertTrue(em.unwrap(Connection.class).getAutoCommit());
+		}
+		finally {
+			em.close();
+		}
+
+		this.begin();
+		this.persist(this.newFoo());
+		this.flush();
+		this.rollback();
+
+		Assert.assertTrue(this.em().unwrap(Connection.class).getAutoCommit());
+
+		this.close();
+
+		final Foo foo = this.newFoo();
+		this.persist(foo);
+		this.commit();
+
+		this.close();
+
+		Assert.assertNotNull(this.find(Foo.class, foo.getId()));
+	}
 }
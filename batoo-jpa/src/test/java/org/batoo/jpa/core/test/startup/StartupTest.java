@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+
+package org.batoo.jpa.core.test.startup;
+
+import java.io.IOException;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManagerFactory;
+
+import junit.framework.Assert;
+
+import org.batoo.jpa.core.test.BaseCoreTest;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * Tests that the startup of the entity manager factory is free of network activity and leaves no threads behind.
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+public class StartupTest extends BaseCoreTest {
+
+	private static final String DEPLOYMENT_THREAD = "Deployment Manager";
+	private static final String ID_GENERATOR_THREAD = "Id Generator";
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 */
+	@Override
+	protected boolean lazySetup() {
+		return true;
+	}
+
+	/**
+	 * Tests that creating and closing the entity manager factory makes no outbound connections and leaves no threads running.
+	 * <p>
+	 * Every URL and socket connection consults the default {@link ProxySelector}, which records the attempts. The threads of the
+	 * deployment and id generator executors are waited upon until they terminate, a thread that never terminates fails the test by its
+	 * timeout. Any other non-daemon thread started during the startup must not be running after the factory is closed.
+	 * 
+	 * @throws InterruptedException
+	 *             thrown if interrupted while waiting for the threads to terminate
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test(timeout = 60000)
+	public void testNoNetworkNoThreads() throws InterruptedException {
+		final ProxySelector oldSelector = ProxySelector.getDefault();
+		final List<URI> connections = Collections.synchronizedList(Lists.<URI> newArrayList());
+
+		ProxySelector.setDefault(new ProxySelector() {
+
+			@Override
+			public void connectFailed(URI uri, SocketAddress sa, IOException ioe) {
+				// noop
+			}
+
+			@Override
+			public List<Proxy> select(URI uri) {
+				connections.add(uri);
+
+				return Collections.singletonList(Proxy.NO_PROXY);
+			}
+		});
+
+		final Set<Thread> threadsBefore = Sets.newHashSet(Thread.getAllStackTraces().keySet());
+
+		try {
+			final EntityManagerFactory emf = this.setupEmf();
+
+			Assert.assertTrue(emf.isOpen());
+
+			emf.close();
+		}
+		finally {
+			ProxySelector.setDefault(oldSelector);
+		}
+
+		Assert.assertEquals("Outbound connections made: " + connections, 0, connections.size());
+
+		final List<Thread> leftOvers = Lists.newArrayList();
+		for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (threadsBefore.contains(thread)) {
+				continue;
+			}
+
+			// the executors are shut down by close(), so their threads must terminate
+			if (thread.getName().startsWith(StartupTest.DEPLOYMENT_THREAD) || thread.getName().startsWith(StartupTest.ID_GENERATOR_THREAD)) {
+				thread.join();
+			}
+			else if (!thread.isDaemon() && thread.isAlive()) {
+				leftOvers.add(thread);
+			}
+		}
+
+		Assert.assertEquals("Threads left running: " + leftOvers, 0, leftOvers.size());
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.test.stateless;
+
+import javax.persistence.Basic;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Version;
+
+/**
+ * 
+ * @author hceylan
+ * @since 2.0.1
+ */
+@Entity
+public class Foo {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.TABLE)
+	private Integer id;
+
+	@Version
+	private Integer version;
+
+	private String value;
+
+	@Basic(fetch = FetchType.LAZY)
+	private String description;
+
+	/**
+	 * Returns the description of the Foo.
+	 * 
+	 * @return the description of the Foo
+	 * 
+	 * @since 2.0.1
+	 */
+	public String getDescription() {
+		return this.description;
+	}
+
+	/**
+	 * Returns the id of the Foo.
+	 * 
+	 * @return the id of the Foo
+	 * 
+	 * @since 2.0.1
+	 */
+	public Integer getId() {
+		return this.id;
+	}
+
+	/**
+	 * Returns the value of the Foo.
+	 * 
+	 * @return the value of the Foo
+	 * 
+	 * @since 2.0.1
+	 */
+	public String getValue() {
+		return this.value;
+	}
+
+	/**
+	 * Returns the version of the Foo.
+	 * 
+	 * @return the version of the Foo
+	 * 
+	 * @since 2.0.1
+	 */
+	public Integer getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Sets the description of the Foo.
+	 * 
+	 * @param description
+	 *            the description to set for Foo
+	 * 
+	 * @since 2.0.1
+	 */
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	/**
+	 * Sets the value of the Foo.
+	 * 
+	 * @param value
+	 *            the value to set for Foo
+	 * 
+	 * @since 2.0.1
+	 */
+	public void setValue(String value) {
+		this.value = value;
+	}
+}
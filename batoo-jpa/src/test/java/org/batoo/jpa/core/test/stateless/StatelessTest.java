@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2012-2013, Batu Alp Ceylan
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.batoo.jpa.core.test.stateless;
+
+import junit.framework.Assert;
+
+import org.batoo.jpa.core.impl.manager.StatelessEntityManager;
+import org.batoo.jpa.core.test.BaseCoreTest;
+import org.junit.Test;
+
+/**
+ * @author hceylan
+ * 
+ * @since 2.0.1
+ */
+public class StatelessTest extends BaseCoreTest {
+
+	private static final int COUNT = 25;
+
+	/**
+	 * Tests insert, get, update and delete with the stateless entity manager.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testStateless() {
+		final StatelessEntityManager sem = this.emf().createStatelessEntityManager();
+		try {
+			sem.getTransaction().begin();
+
+			Foo last = null;
+			for (int i = 0; i < StatelessTest.COUNT; i++) {
+				last = new Foo();
+				last.setValue("Foo" + i);
+
+				sem.insert(last);
+			}
+
+			sem.getTransaction().commit();
+
+			Assert.assertEquals(StatelessTest.COUNT, this.cq("select count(f) from Foo f", Long.class).getSingleResult().intValue());
+
+			final Foo foo = sem.get(Foo.class, last.getId());
+			Assert.assertEquals("Foo" + (StatelessTest.COUNT - 1), foo.getValue());
+
+			sem.getTransaction().begin();
+
+			foo.setValue("Updated");
+			sem.update(foo);
+
+			sem.getTransaction().commit();
+
+			final Foo foo2 = sem.get(Foo.class, last.getId());
+			Assert.assertEquals("Updated", foo2.getValue());
+			Assert.assertEquals(foo.getVersion(), foo2.getVersion());
+
+			sem.getTransaction().begin();
+
+			sem.delete(foo2);
+
+			sem.getTransaction().commit();
+
+			Assert.assertNull(sem.get(Foo.class, last.getId()));
+		}
+		finally {
+			sem.close();
+		}
+	}
+
+	/**
+	 * Tests that the update of an entity returned by get keeps its lazy attributes.
+	 * 
+	 * @since 2.0.1
+	 */
+	@Test
+	public void testUpdateLazy() {
+		final StatelessEntityManager sem = this.emf().createStatelessEntityManager();
+		try {
+			sem.getTransaction().begin();
+
+			final Foo foo = new Foo();
+			foo.setValue("Foo");
+			foo.setDescription("Description");
+
+			sem.insert(foo);
+
+			sem.getTransaction().commit();
+
+			final Foo foo2 = sem.get(Foo.class, foo.getId());
+
+			sem.getTransaction().begin();
+
+			foo2.setValue("Updated");
+			sem.update(foo2);
+
+			sem.getTransaction().commit();
+
+			final Foo foo3 = sem.get(Foo.class, foo.getId());
+			Assert.assertEquals("Updated", foo3.getValue());
+			Assert.assertEquals("Description", foo3.getDescription());
+		}
+		finally {
+			sem.close();
+		}
+	}
+}
@@ -19,6 +19,7 @@
 package org.batoo.jpa.mojo;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -27,13 +28,27 @@ import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+
+import javax.persistence.Embeddable;
+import javax.persistence.Entity;
+import javax.persistence.MappedSuperclass;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.PersistenceException;
 
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
+import org.batoo.jpa.core.impl.criteria.jpql.JpqlQuery;
 import org.batoo.jpa.core.impl.instance.Enhancer;
+import org.batoo.jpa.core.impl.instance.Weaver;
+import org.batoo.jpa.parser.impl.acl.PersistenceIndex;
 import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+
+import com.google.common.collect.Maps;
 
 /**
  * Generates the enhanced classes.
@@ -72,6 +87,15 @@ public class BatooEnhancerMojo extends AbstractMojo {
 	 */
 	private String excludes;
 
+	/**
+	 * Generate the persistence index so that the persistence root is not scanned at deployment. The index lists all the persistent classes
+	 * of the persistence root regardless of the includes and excludes. An index older than the classes of the persistence root is ignored
+	 * at deployment, so the index must be regenerated with every build of the persistence root.
+	 * 
+	 * @parameter expression="${batoojpa.index}" default-value="false"
+	 */
+	private boolean index;
+
 	/**
 	 * Comma seperated representation of includes.
 	 * 
@@ -79,6 +103,14 @@ public class BatooEnhancerMojo extends AbstractMojo {
 	 */
 	private String includes;
 
+	/**
+	 * Verify the syntax of the named queries and record them in the persistence index so that they are compiled on first use rather than
+	 * at deployment. The queries are not checked against the metamodel at build time.
+	 * 
+	 * @parameter expression="${batoojpa.precompileNamedQueries}" default-value="false"
+	 */
+	private boolean precompileNamedQueries;
+
 	/**
 	 * The maven project.
 	 * 
@@ -95,6 +127,13 @@ public class BatooEnhancerMojo extends AbstractMojo {
 	 */
 	private boolean skip;
 
+	/**
+	 * Weave the persistent classes in place so that the changes to their fields are tracked without snapshot comparisons.
+	 * 
+	 * @parameter expression="${batoojpa.weave}" default-value="false"
+	 */
+	private boolean weave;
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -106,9 +145,15 @@ public class BatooEnhancerMojo extends AbstractMojo {
 			return;
 		}
 
+		final List<File> classes = this.findEntityClassFiles();
+
+		// weave before the classes are loaded so that the enhanced classes extend the woven classes
+		if (this.weave) {
+			this.weaveClasses(classes);
+		}
+
 		final URLClassLoader cl = this.extendRealmClasspath();
 
-		final List<File> classes = this.findEntityClassFiles();
 		final int classRootLength = this.classes.toString().length() + 1;
 
 		for (final File classPath : classes) {
@@ -141,6 +186,10 @@ public class BatooEnhancerMojo extends AbstractMojo {
 				throw new MojoExecutionException("Enhancement failed for " + classPath.getName());
 			}
 		}
+
+		if (this.index || this.precompileNamedQueries) {
+			this.writeIndex(cl);
+		}
 	}
 
 	/**
@@ -189,6 +238,50 @@ public class BatooEnhancerMojo extends AbstractMojo {
 		return files;
 	}
 
+	/**
+	 * Returns all the persistent classes of the persistence root regardless of the includes and excludes.
+	 * 
+	 * @param cl
+	 *            the class loader to load the classes
+	 * @return the persistent classes
+	 * @throws MojoExecutionException
+	 *             if the persistence root cannot be scanned
+	 * 
+	 * @since 2.0.1
+	 */
+	private List<Class<?>> findPersistentClasses(ClassLoader cl) throws MojoExecutionException {
+		final List<Class<?>> persistentClasses = new ArrayList<Class<?>>();
+
+		final List<File> files;
+		try {
+			files = FileUtils.getFiles(this.getEntityClasses(), "**/*.class", "**/*" + Enhancer.SUFFIX_ENHANCED + ".class");
+		}
+		catch (final IOException e) {
+			throw new MojoExecutionException("Error while scanning for persistent classes in '" + this.getEntityClasses().getAbsolutePath() + "'.", e);
+		}
+
+		final int classRootLength = this.classes.toString().length() + 1;
+		for (final File file : files) {
+			final String absolutePath = file.getAbsolutePath();
+			final String className = absolutePath.substring(classRootLength, absolutePath.length() - 6).replace('\\', '.').replace('/', '.');
+
+			try {
+				final Class<?> clazz = cl.loadClass(className);
+
+				if ((clazz.getAnnotation(Entity.class) != null) || //
+					(clazz.getAnnotation(MappedSuperclass.class) != null) || //
+					(clazz.getAnnotation(Embeddable.class) != null)) {
+					persistentClasses.add(clazz);
+				}
+			}
+			catch (final Exception e) {
+				throw new MojoExecutionException("Unable to load " + className + " for the persistence index", e);
+			}
+		}
+
+		return persistentClasses;
+	}
+
 	/**
 	 * Returns File location for the persistence classes.
 	 * 
@@ -198,6 +291,146 @@ public class BatooEnhancerMojo extends AbstractMojo {
 		return this.classes;
 	}
 
+	/**
+	 * Verifies the syntax of the named queries declared on the persistent classes.
+	 * 
+	 * @param persistentClasses
+	 *            the persistent classes
+	 * @return the map of named query names to queries
+	 * @throws MojoExecutionException
+	 *             if a named query cannot be parsed or its name is not unique
+	 * 
+	 * @since 2.0.1
+	 */
+	private Map<String, String> verifyNamedQueries(List<Class<?>> persistentClasses) throws MojoExecutionException {
+		final Map<String, String> namedQueries = Maps.newHashMap();
+
+		for (final Class<?> clazz : persistentClasses) {
+			final List<NamedQuery> queries = new ArrayList<NamedQuery>();
+
+			if (clazz.getAnnotation(NamedQuery.class) != null) {
+				queries.add(clazz.getAnnotation(NamedQuery.class));
+			}
+
+			if (clazz.getAnnotation(NamedQueries.class) != null) {
+				for (final NamedQuery namedQuery : clazz.getAnnotation(NamedQueries.class).value()) {
+					queries.add(namedQuery);
+				}
+			}
+
+			for (final NamedQuery namedQuery : queries) {
+				this.getLog().info("Verifying: " + namedQuery.name());
+
+				try {
+					JpqlQuery.checkSyntax(namedQuery.query());
+				}
+				catch (final PersistenceException e) {
+					throw new MojoExecutionException("Named query " + namedQuery.name() + " on " + clazz.getName() + " cannot be parsed", e);
+				}
+
+				if (namedQueries.containsKey(namedQuery.name())) {
+					throw new MojoExecutionException("A named query with the same name already exists: " + namedQuery.name());
+				}
+
+				namedQueries.put(namedQuery.name(), namedQuery.query());
+			}
+		}
+
+		return namedQueries;
+	}
+
+	/**
+	 * Weaves the persistent classes in place.
+	 * 
+	 * @param classes
+	 *            the class files
+	 * @throws MojoExecutionException
+	 *             if a class cannot be woven
+	 * 
+	 * @since 2.0.1
+	 */
+	private void weaveClasses(List<File> classes) throws MojoExecutionException {
+		for (final File classPath : classes) {
+			if (classPath.getName().endsWith("$Enhanced.class")) {
+				continue;
+			}
+
+			try {
+				final FileInputStream is = new FileInputStream(classPath);
+				final byte[] byteCode;
+				try {
+					byteCode = IOUtil.toByteArray(is);
+				}
+				finally {
+					is.close();
+				}
+
+				final byte[] weaved = Weaver.weave(byteCode);
+				if (weaved == null) {
+					continue;
+				}
+
+				this.getLog().info("Weaving  : " + classPath.getAbsolutePath());
+
+				final FileOutputStream os = new FileOutputStream(classPath);
+				try {
+					os.write(weaved);
+				}
+				finally {
+					os.close();
+				}
+			}
+			catch (final IOException e) {
+				throw new MojoExecutionException("Weaving failed for " + classPath.getName(), e);
+			}
+		}
+	}
+
+	/**
+	 * Writes the persistence index for the persistent classes of the persistence root.
+	 * 
+	 * @param cl
+	 *            the class loader to load the classes
+	 * @throws MojoExecutionException
+	 *             if the index cannot be written
+	 * 
+	 * @since 2.0.1
+	 */
+	private void writeIndex(ClassLoader cl) throws MojoExecutionException {
+		final List<Class<?>> persistentClasses = this.findPersistentClasses(cl);
+
+		// without the index of the classes the index only carries the named queries and the persistence root is still scanned
+		List<String> classNames = null;
+		if (this.index) {
+			classNames = new ArrayList<String>();
+			for (final Class<?> clazz : persistentClasses) {
+				classNames.add(clazz.getName());
+			}
+		}
+
+		final Map<String, String> namedQueries = this.precompileNamedQueries ? //
+			this.verifyNamedQueries(persistentClasses) : //
+			Maps.<String, String> newHashMap();
+
+		final File indexFile = new File(this.classes, PersistenceIndex.INDEX_FILE);
+		indexFile.getParentFile().mkdirs();
+
+		this.getLog().info("Writing  : " + indexFile.getAbsolutePath());
+
+		try {
+			final FileOutputStream os = new FileOutputStream(indexFile);
+			try {
+				PersistenceIndex.write(os, classNames, namedQueries);
+			}
+			finally {
+				os.close();
+			}
+		}
+		catch (final IOException e) {
+			throw new MojoExecutionException("Unable to write the persistence index " + indexFile.getAbsolutePath(), e);
+		}
+	}
+
 	/**
 	 * Returns if the execution should be skipped.
 	 * 
@@ -0,0 +1,49 @@
+package javax.persistence;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Specifies the conversion of a Basic field or property. It is not necessary to use the <code>Basic</code> annotation or corresponding XML
+ * element to specify the basic type.
+ * 
+ * <pre>
+ * 
+ *   Example:
+ * 
+ *   &#064;Convert(converter=BooleanToIntegerConverter.class)
+ *   boolean fullTime;
+ * 
+ * </pre>
+ * 
+ * @see Converter
+ * @see AttributeConverter
+ * 
+ * @since Java Persistence 2.1
+ */
+@Target({ METHOD, FIELD, TYPE })
+@Retention(RUNTIME)
+public @interface Convert {
+
+	/**
+	 * The name of the attribute to which the conversion is applied when the annotation is applied to an embedded attribute or the type.
+	 */
+	String attributeName() default "";
+
+	/**
+	 * Specifies the converter to be applied. A value for this element must be specified if multiple converters would otherwise apply.
+	 */
+	@SuppressWarnings("rawtypes")
+	Class converter() default void.class;
+
+	/**
+	 * Used to disable an auto-apply or inherited converter. If disableConversion is true, the <code>converter</code> element should not be
+	 * specified.
+	 */
+	boolean disableConversion() default false;
+}
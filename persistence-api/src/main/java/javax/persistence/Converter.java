@@ -0,0 +1,26 @@
+package javax.persistence;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Specifies that the annotated class is a converter and defines its scope. A converter class must be annotated with the
+ * <code>Converter</code> annotation or defined in the object/relational mapping descriptor.
+ * 
+ * @see Convert
+ * @see AttributeConverter
+ * 
+ * @since Java Persistence 2.1
+ */
+@Target({ TYPE })
+@Retention(RUNTIME)
+public @interface Converter {
+
+	/**
+	 * Specifies whether the annotated converter should be applied automatically to all mapped attributes of the specified target type.
+	 */
+	boolean autoApply() default false;
+}